@@ -0,0 +1,53 @@
+package bstreemap;
+
+/**
+ * Class for an AVLNode containing a key-value mapping. Each node contains a
+ * reference to the left child, right child, and parent, as well as the height
+ * of the subtree rooted at the node.
+ * @version 1.0 October 18, 2026
+ */
+public class AVLNode<K, V> extends Node<K, V> {
+    int height;  // Used only in AVLTreeMap, 0 for a leaf.
+
+    /**
+     * Creates a node with a key-value mapping.
+     * @param key   the specified key to uniquely represent this Node
+     * @param value the specified value to associate with the key
+     */
+    public AVLNode(K key, V value) {
+        super(key, value);
+    }
+
+    /**
+     * Returns a reference to the left child of this Node.
+     * @return a reference to the left child of this Node
+     */
+    public final AVLNode<K, V> getLeft() {
+        return (AVLNode<K, V>)super.getLeft();
+    }
+
+    /**
+     * Returns a reference to the right child of this Node.
+     * @return a reference to the right child of this Node
+     */
+    public final AVLNode<K, V> getRight() {
+        return (AVLNode<K, V>)super.getRight();
+    }
+
+    /**
+     * Returns a reference to the parent of this Node.
+     * @return a reference to the parent of this Node
+     */
+    public final AVLNode<K, V> getParent() {
+        return (AVLNode<K, V>)super.getParent();
+    }
+
+    /**
+     * Returns a String representation of the Node with the key and value
+     * inside angled brackets.
+     * @return a String representation of the Node
+     */
+    public String toString() {
+        return "<" + key + ", " + value + ", " + height + ">";
+    }
+}
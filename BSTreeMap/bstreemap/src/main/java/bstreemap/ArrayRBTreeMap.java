@@ -0,0 +1,545 @@
+package bstreemap;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a red-black tree map whose nodes are slots in parallel arrays
+ * rather than objects. Slot i holds its key in keys[i], its value in
+ * values[i], the slots of its children and parent in left[i], right[i], and
+ * parent[i], and its color in color[i]. The algorithms are those of
+ * RBTreeMap, from Cormen et al., "Introduction to Algorithms", chapter 13,
+ * with slot 0 as the black sentinel NIL that stands for every leaf and for
+ * the root's parent.
+ * <p>
+ * A mapping costs two references, three ints, and one byte, about 21 bytes
+ * with compressed references, against about 40 bytes for an RBNode, whose
+ * object header, key, value, three links, color, and subtree size are padded
+ * to a multiple of 8. A search reads the int arrays instead of following
+ * references into objects scattered across the heap. Removed slots go on a
+ * free list, linked through right[], and are reused by later insertions; the
+ * arrays grow by half when no slot is free.
+ * @version 1.1 October 18, 2026
+ */
+public class ArrayRBTreeMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, TreeStatistics {
+    private static final int NIL = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] keys, values;
+    private int[] left, right, parent;
+    private byte[] color;
+    private int root = NIL;
+    private int size;
+    private int slotsUsed = 1;     // Slots ever handed out, counting NIL.
+    private int freeList = NIL;    // First free slot, or NIL if none.
+
+    /**
+     * Creates an empty array-backed red-black tree map.
+     */
+    public ArrayRBTreeMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty array-backed red-black tree map with room for the
+     * given number of mappings before its arrays grow.
+     * @param initialCapacity the number of mappings to make room for
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ArrayRBTreeMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be "
+                    + "nonnegative, got " + initialCapacity + ".");
+        }
+        allocateArrays(initialCapacity + 1);
+        color[NIL] = RBNode.BLACK;
+    }
+
+    /**
+     * Creates an array-backed red-black tree map from the array of key-value
+     * pairs, inserted in the order they appear.
+     * @param elements an array of key-value pairs
+     */
+    public ArrayRBTreeMap(Pair<K, V>[] elements) {
+        this(elements.length);
+        for (Pair<K, V> pair : elements) {
+            put(pair.key, pair.value);
+        }
+    }
+
+    private void allocateArrays(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        color = new byte[capacity];
+    }
+
+    /**
+     * Returns the number of slots the arrays have room for, including NIL.
+     * @return the length of the arrays
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int slot) {
+        return (K)keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        return (V)values[slot];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        return value(iterativeSearch(key));
+    }
+
+    /**
+     * Returns the slot holding the key, or NIL if the key is not in the tree.
+     */
+    private int iterativeSearch(K key) {
+        int x = root;
+        while (x != NIL) {
+            int cmp = key.compareTo(key(x));
+            if (cmp == 0) {
+                return x;
+            }
+            x = cmp < 0 ? left[x] : right[x];
+        }
+        return NIL;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        int y = NIL, x = root, cmp = 0;
+        while (x != NIL) {
+            y = x;
+            cmp = key.compareTo(key(x));
+            if (cmp == 0) {
+                V old = value(x);
+                values[x] = value;
+                return old;
+            }
+            x = cmp < 0 ? left[x] : right[x];
+        }
+        int z = allocateSlot(key, value);
+        parent[z] = y;
+        if (y == NIL) {
+            root = z;
+        } else if (cmp < 0) {
+            left[y] = z;
+        } else {
+            right[y] = z;
+        }
+        size++;
+        insertFixup(z);
+        return null;
+    }
+
+    /**
+     * Takes a slot from the free list, or the next unused slot, growing the
+     * arrays if there is none, and sets it up as a red leaf.
+     */
+    private int allocateSlot(K key, V value) {
+        int z;
+        if (freeList != NIL) {
+            z = freeList;
+            freeList = right[z];
+        } else {
+            if (slotsUsed == keys.length) {
+                grow();
+            }
+            z = slotsUsed++;
+        }
+        keys[z] = key;
+        values[z] = value;
+        left[z] = NIL;
+        right[z] = NIL;
+        color[z] = RBNode.RED;
+        return z;
+    }
+
+    private void grow() {
+        int capacity = keys.length;
+        if (capacity == Integer.MAX_VALUE) {
+            throw new IllegalStateException("ArrayRBTreeMap is full.");
+        }
+        // Sum as a long, since growing by half overflows an int once the
+        // capacity passes about 1.4 billion.
+        int newCapacity = (int)Math.min(Integer.MAX_VALUE,
+                Math.max(capacity + (long)(capacity >> 1), DEFAULT_CAPACITY));
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        parent = Arrays.copyOf(parent, newCapacity);
+        color = Arrays.copyOf(color, newCapacity);
+    }
+
+    /**
+     * Clears a removed slot, so its key and value can be collected, and puts
+     * it on the free list.
+     */
+    private void freeSlot(int z) {
+        keys[z] = null;
+        values[z] = null;
+        left[z] = NIL;
+        parent[z] = NIL;
+        right[z] = freeList;
+        freeList = z;
+    }
+
+    private void insertFixup(int z) {
+        while (color[parent[z]] == RBNode.RED) {
+            int p = parent[z], g = parent[p];
+            if (p == left[g]) {
+                int y = right[g];
+                if (color[y] == RBNode.RED) {
+                    color[p] = RBNode.BLACK;
+                    color[y] = RBNode.BLACK;
+                    color[g] = RBNode.RED;
+                    z = g;
+                } else {
+                    if (z == right[p]) {
+                        z = p;
+                        leftRotate(z);
+                        p = parent[z];
+                    }
+                    color[p] = RBNode.BLACK;
+                    color[g] = RBNode.RED;
+                    rightRotate(g);
+                }
+            } else {
+                int y = left[g];
+                if (color[y] == RBNode.RED) {
+                    color[p] = RBNode.BLACK;
+                    color[y] = RBNode.BLACK;
+                    color[g] = RBNode.RED;
+                    z = g;
+                } else {
+                    if (z == left[p]) {
+                        z = p;
+                        rightRotate(z);
+                        p = parent[z];
+                    }
+                    color[p] = RBNode.BLACK;
+                    color[g] = RBNode.RED;
+                    leftRotate(g);
+                }
+            }
+        }
+        color[root] = RBNode.BLACK;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        int z = iterativeSearch(key);
+        if (z == NIL) {
+            return null;
+        }
+        V old = value(z);
+        int y = z, x;
+        byte yOriginalColor = color[y];
+        if (left[z] == NIL) {
+            x = right[z];
+            transplant(z, right[z]);
+        } else if (right[z] == NIL) {
+            x = left[z];
+            transplant(z, left[z]);
+        } else {
+            y = treeMinimum(right[z]);
+            yOriginalColor = color[y];
+            x = right[y];
+            if (parent[y] == z) {
+                parent[x] = y;
+            } else {
+                transplant(y, right[y]);
+                right[y] = right[z];
+                parent[right[y]] = y;
+            }
+            transplant(z, y);
+            left[y] = left[z];
+            parent[left[y]] = y;
+            color[y] = color[z];
+        }
+        if (yOriginalColor == RBNode.BLACK) {
+            deleteFixup(x);
+        }
+        parent[NIL] = NIL;
+        freeSlot(z);
+        size--;
+        return old;
+    }
+
+    private void deleteFixup(int x) {
+        while (x != root && color[x] == RBNode.BLACK) {
+            int p = parent[x];
+            if (x == left[p]) {
+                int w = right[p];
+                if (color[w] == RBNode.RED) {
+                    color[w] = RBNode.BLACK;
+                    color[p] = RBNode.RED;
+                    leftRotate(p);
+                    w = right[p];
+                }
+                if (color[left[w]] == RBNode.BLACK
+                        && color[right[w]] == RBNode.BLACK) {
+                    color[w] = RBNode.RED;
+                    x = p;
+                } else {
+                    if (color[right[w]] == RBNode.BLACK) {
+                        color[left[w]] = RBNode.BLACK;
+                        color[w] = RBNode.RED;
+                        rightRotate(w);
+                        w = right[p];
+                    }
+                    color[w] = color[p];
+                    color[p] = RBNode.BLACK;
+                    color[right[w]] = RBNode.BLACK;
+                    leftRotate(p);
+                    x = root;
+                }
+            } else {
+                int w = left[p];
+                if (color[w] == RBNode.RED) {
+                    color[w] = RBNode.BLACK;
+                    color[p] = RBNode.RED;
+                    rightRotate(p);
+                    w = left[p];
+                }
+                if (color[left[w]] == RBNode.BLACK
+                        && color[right[w]] == RBNode.BLACK) {
+                    color[w] = RBNode.RED;
+                    x = p;
+                } else {
+                    if (color[left[w]] == RBNode.BLACK) {
+                        color[right[w]] = RBNode.BLACK;
+                        color[w] = RBNode.RED;
+                        leftRotate(w);
+                        w = left[p];
+                    }
+                    color[w] = color[p];
+                    color[p] = RBNode.BLACK;
+                    color[left[w]] = RBNode.BLACK;
+                    rightRotate(p);
+                    x = root;
+                }
+            }
+        }
+        color[x] = RBNode.BLACK;
+    }
+
+    /**
+     * Replaces the subtree at u with the subtree at v. Sets parent[v] even
+     * when v is NIL, as deleteFixup() starts from there.
+     */
+    private void transplant(int u, int v) {
+        if (parent[u] == NIL) {
+            root = v;
+        } else if (u == left[parent[u]]) {
+            left[parent[u]] = v;
+        } else {
+            right[parent[u]] = v;
+        }
+        parent[v] = parent[u];
+    }
+
+    private void leftRotate(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        if (left[y] != NIL) {
+            parent[left[y]] = x;
+        }
+        parent[y] = parent[x];
+        if (parent[x] == NIL) {
+            root = y;
+        } else if (x == left[parent[x]]) {
+            left[parent[x]] = y;
+        } else {
+            right[parent[x]] = y;
+        }
+        left[y] = x;
+        parent[x] = y;
+    }
+
+    private void rightRotate(int x) {
+        int y = left[x];
+        left[x] = right[y];
+        if (right[y] != NIL) {
+            parent[right[y]] = x;
+        }
+        parent[y] = parent[x];
+        if (parent[x] == NIL) {
+            root = y;
+        } else if (x == right[parent[x]]) {
+            right[parent[x]] = y;
+        } else {
+            left[parent[x]] = y;
+        }
+        right[y] = x;
+        parent[x] = y;
+    }
+
+    private int treeMinimum(int x) {
+        while (left[x] != NIL) {
+            x = left[x];
+        }
+        return x;
+    }
+
+    private int successor(int x) {
+        if (right[x] != NIL) {
+            return treeMinimum(right[x]);
+        }
+        int p = parent[x];
+        while (p != NIL && x == right[p]) {
+            x = p;
+            p = parent[p];
+        }
+        return p;
+    }
+
+    /**
+     * Returns the height of the tree. If the tree is null, the height is -1.
+     * @return the height of the tree
+     */
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    private int height(int x) {
+        if (x == NIL) {
+            return -1;
+        }
+        return 1 + Math.max(height(left[x]), height(right[x]));
+    }
+
+    private long sumLevels(int x, int level) {
+        if (x == NIL) {
+            return 0;
+        }
+        return level + sumLevels(left[x], level + 1)
+                + sumLevels(right[x], level + 1);
+    }
+
+    private long sumNullLevels(int x, int level) {
+        if (x == NIL) {
+            return level;
+        }
+        return sumNullLevels(left[x], level + 1)
+                + sumNullLevels(right[x], level + 1);
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key in
+     * the tree, computed as in BSTreeMap.
+     * @return the average cost of a successful search
+     */
+    @Override
+    public double successfulSearchCost() {
+        return size == 0 ? 0 : 1 + (double)sumLevels(root, 0) / size;
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key that
+     * is not in the tree, computed as in BSTreeMap.
+     * @return the average cost of an unsuccessful search
+     */
+    @Override
+    public double unsuccessfulSearchCost() {
+        return (double)sumNullLevels(root, 0) / (size + 1);
+    }
+
+    /**
+     * Returns an iterator over the Entries in this map in ascending key
+     * order, following parent slots from each slot to its successor.
+     * @return an iterator over the Entries in this map
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new ArrayTreeItr();
+    }
+
+    /**
+     * Returns a String of the key-value pairs in key order.
+     * @return a String representation of the map
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            builder.append(iter.next());
+            if (iter.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    private class ArrayTreeItr implements Iterator<Entry<K, V>> {
+        private int next = root == NIL ? NIL : treeMinimum(root);
+
+        @Override
+        public boolean hasNext() {
+            return next != NIL;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == NIL) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new Entry<>(key(next), value(next));
+            next = successor(next);
+            return entry;
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package bstreemap;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.Stack;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
 
 /**
  * Class that implements a binary search tree which implements the MyMap
  * interface.
  * @author Brian S. Borowski
- * @version 1.1.1 October 17, 2024
+ * @version 1.5.2 October 18, 2026
  */
-public class BSTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+public class BSTreeMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, TreeStatistics {
     public static final int PREORDER = 1, INORDER = 2, POSTORDER = 3;
+    // Smallest subtree that a balanced build hands to a separate ForkJoin
+    // task.
+    static final int PARALLEL_BUILD_THRESHOLD = 1 << 13;
     public Node<K, V> root;
     protected int size;
 
@@ -37,45 +46,30 @@ public class BSTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         if (!sorted) {
             insertElements(elements);
         } else {
-            root = createBST(elements, 0, elements.length - 1);
+            rebuild(elements);
         }
     }
 
     /**
-     * Recursively constructs a balanced binary search tree by inserting the
-     * elements via a divide-snd-conquer approach. The middle element in the
-     * array becomes the root. The middle of the left half becomes the root's
-     * left child. The middle element of the right half becomes the root's right
+     * Recursively constructs a balanced binary search tree of pairs[low..high]
+     * via a divide-and-conquer approach. The middle element in the range
+     * becomes the root. The middle of the left half becomes the root's left
+     * child. The middle element of the right half becomes the root's right
      * child. This process continues until low > high, at which point the
-     * method returns a null Node.
+     * method returns a null Node. The nodes come from newNode() and are
+     * linked by attach(), so subclasses get their own kind of node, and large
+     * ranges are built in parallel. The tree itself is left unchanged.
      * @param pairs an array of <K, V> pairs sorted by key
      * @param low   the low index of the array of elements
      * @param high  the high index of the array of elements
      * @return      the root of the balanced tree of pairs
      */
-    protected Node<K, V> createBST(Pair<K, V>[] pairs, int low, int high) 
-    {
-        if (low > high) 
-        {
-            return null;
-        }
-        else
-        {
-            int mid = low + (high - low) / 2;
-            Node<K, V> node = new Node<>(pairs[mid].key, pairs[mid].value);
-            Node<K, V> leftNode = createBST(pairs, low, mid - 1);
-            node.setLeft(leftNode);
-            if (leftNode != null) {
-                leftNode.setParent(node);
-            }
-            Node<K, V> rightNode = createBST(pairs, mid + 1, high);
-            node.setRight(rightNode);
-            if (rightNode != null) {
-                rightNode.setParent(node);
-            }
-            size++;
-            return node;
-        }
+    protected Node<K, V> createBST(Pair<K, V>[] pairs, int low, int high) {
+        int count = Math.max(high - low + 1, 0);
+        return count < PARALLEL_BUILD_THRESHOLD
+                ? buildTree(pairs, low, high, 0, count)
+                : ForkJoinPool.commonPool().invoke(
+                        new BuildTask(pairs, low, high, 0, count));
     }
 
     /**
@@ -397,6 +391,267 @@ public class BSTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return null;
     }
 
+    /**
+     * Associates each key with the value of its pair, as if put() were called
+     * for each pair in order. The batch is sorted by key first. A batch that
+     * is large next to the tree is merged with the tree's entries in a single
+     * in-order pass, and the tree is rebuilt balanced from the result with
+     * createBST(), which takes O(n + m) time for n entries and m pairs instead
+     * of O(m log(n + m)) for m separate descents. A smaller batch is inserted
+     * one pair at a time in key order, so that consecutive descents follow
+     * mostly the same path.
+     * @param pairs the key-value pairs, none with a null key
+     */
+    @Override
+    public void putAll(Pair<K, V>[] pairs) {
+        Pair<K, V>[] batch = sortedBatch(pairs);
+        if (!mergeIsCheaper(batch.length)) {
+            for (Pair<K, V> pair : batch) {
+                put(pair.key, pair.value);
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Pair<K, V>[] merged = new Pair[size + batch.length];
+        int count = 0, i = 0;
+        Iterator<Entry<K, V>> iter = iterator();
+        Entry<K, V> entry = iter.hasNext() ? iter.next() : null;
+        while (entry != null || i < batch.length) {
+            int cmp = entry == null ? 1 : i == batch.length ? -1
+                    : entry.key.compareTo(batch[i].key);
+            if (cmp < 0) {
+                merged[count++] = new Pair<>(entry.key, entry.value);
+            } else {
+                merged[count++] = batch[i++];
+            }
+            if (cmp <= 0) {
+                entry = iter.hasNext() ? iter.next() : null;
+            }
+        }
+        rebuild(Arrays.copyOf(merged, count));
+    }
+
+    /**
+     * Looks up every key and stores the value to which it is mapped, or null,
+     * at the same index of values. The keys are looked up in sorted order,
+     * and a batch that is large next to the tree is answered by a single
+     * in-order pass over the tree.
+     * @param keys   the keys to look up, none of them null
+     * @param values the array to receive the values, as long as keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @Override
+    public void getAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Got " + keys.length
+                    + " keys but " + values.length + " values.");
+        }
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> keys[i]));
+        if (!mergeIsCheaper(keys.length)) {
+            for (int i : order) {
+                values[i] = get(keys[i]);
+            }
+            return;
+        }
+        Iterator<Entry<K, V>> iter = iterator();
+        Entry<K, V> entry = iter.hasNext() ? iter.next() : null;
+        for (int i : order) {
+            while (entry != null && entry.key.compareTo(keys[i]) < 0) {
+                entry = iter.hasNext() ? iter.next() : null;
+            }
+            values[i] = entry != null && entry.key.compareTo(keys[i]) == 0
+                    ? entry.value : null;
+        }
+    }
+
+    /**
+     * Removes the mappings for all of the keys that are present. A batch that
+     * is large next to the tree is removed in a single in-order pass, after
+     * which the tree is rebuilt balanced with createBST().
+     * @param keys the keys whose mappings are to be removed, none of them null
+     * @return the number of mappings removed
+     */
+    @Override
+    public int removeAll(K[] keys) {
+        int oldSize = size;
+        K[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        if (!mergeIsCheaper(sorted.length)) {
+            for (K key : sorted) {
+                remove(key);
+            }
+            return oldSize - size;
+        }
+        @SuppressWarnings("unchecked")
+        Pair<K, V>[] kept = new Pair[size];
+        int count = 0, i = 0;
+        Iterator<Entry<K, V>> iter = iterator();
+        while (iter.hasNext()) {
+            Entry<K, V> entry = iter.next();
+            while (i < sorted.length && sorted[i].compareTo(entry.key) < 0) {
+                i++;
+            }
+            if (i == sorted.length || sorted[i].compareTo(entry.key) != 0) {
+                kept[count++] = new Pair<>(entry.key, entry.value);
+            }
+        }
+        rebuild(Arrays.copyOf(kept, count));
+        return oldSize - size;
+    }
+
+    /**
+     * Returns a copy of the pairs stably sorted by key, keeping only the last
+     * pair of each key. Large arrays are sorted in parallel. Pairs already in
+     * strictly increasing key order are returned as they are, uncopied.
+     */
+    private Pair<K, V>[] sortedBatch(Pair<K, V>[] pairs) {
+        int ascending = 1;
+        while (ascending < pairs.length && pairs[ascending - 1].key
+                .compareTo(pairs[ascending].key) < 0) {
+            ascending++;
+        }
+        if (ascending >= pairs.length) {
+            return pairs;
+        }
+        Pair<K, V>[] sorted = pairs.clone();
+        Arrays.parallelSort(sorted, (a, b) -> a.key.compareTo(b.key));
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i + 1 == sorted.length
+                    || sorted[i].key.compareTo(sorted[i + 1].key) != 0) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Returns true if handling a batch of the given size with one pass over
+     * the whole tree costs less than a separate descent for each element,
+     * that is, if batchSize * lg(size) is at least size.
+     */
+    private boolean mergeIsCheaper(int batchSize) {
+        int depth = 32 - Integer.numberOfLeadingZeros(size);
+        return (long)batchSize * Math.max(depth, 1) >= size;
+    }
+
+    /**
+     * Replaces the contents of the tree with a balanced tree of the given
+     * pairs, which must be sorted by key with no duplicates. Large arrays are
+     * built in parallel.
+     * @param pairs an array of <K, V> pairs sorted by key
+     */
+    protected void rebuild(Pair<K, V>[] pairs) {
+        root = createBST(pairs, 0, pairs.length - 1);
+        size = pairs.length;
+    }
+
+    /**
+     * Replaces the contents of this map with the given key-value pairs, in
+     * any order, and builds a balanced tree of them. As with putAll(), the
+     * last pair of each key wins. The pairs are sorted with
+     * Arrays.parallelSort(), and subtrees of at least
+     * PARALLEL_BUILD_THRESHOLD pairs are built as separate tasks on the
+     * common ForkJoinPool, so loading a large array uses every core.
+     * @param pairs the key-value pairs, none with a null key
+     */
+    public void bulkLoad(Pair<K, V>[] pairs) {
+        rebuild(sortedBatch(pairs));
+    }
+
+    /**
+     * Builds a balanced subtree of pairs[low..high] on the calling thread
+     * and returns its root, which sits at the given depth of a tree of count
+     * nodes.
+     */
+    private Node<K, V> buildTree(Pair<K, V>[] pairs, int low, int high,
+                                 int depth, int count) {
+        if (low > high) {
+            return null;
+        }
+        int mid = low + (high - low) / 2;
+        Node<K, V> node = newNode(pairs[mid].key, pairs[mid].value, depth,
+                                  count);
+        attach(node, buildTree(pairs, low, mid - 1, depth + 1, count),
+               buildTree(pairs, mid + 1, high, depth + 1, count));
+        return node;
+    }
+
+    /**
+     * Builds the two halves of a large range as parallel tasks. Each task
+     * writes only the nodes it creates, and join() publishes them to the
+     * task that links them.
+     */
+    private class BuildTask extends RecursiveTask<Node<K, V>> {
+        private static final long serialVersionUID = 1L;
+        private final Pair<K, V>[] pairs;
+        private final int low, high, depth, count;
+
+        BuildTask(Pair<K, V>[] pairs, int low, int high, int depth,
+                  int count) {
+            this.pairs = pairs;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.count = count;
+        }
+
+        @Override
+        protected Node<K, V> compute() {
+            if (high - low + 1 < PARALLEL_BUILD_THRESHOLD) {
+                return buildTree(pairs, low, high, depth, count);
+            }
+            int mid = low + (high - low) / 2;
+            Node<K, V> node = newNode(pairs[mid].key, pairs[mid].value, depth,
+                                      count);
+            BuildTask left =
+                    new BuildTask(pairs, low, mid - 1, depth + 1, count);
+            left.fork();
+            Node<K, V> right = new BuildTask(pairs, mid + 1, high, depth + 1,
+                                             count).compute();
+            attach(node, left.join(), right);
+            return node;
+        }
+    }
+
+    /**
+     * Creates the node for one pair of a balanced build. Subclasses return their
+     * own kind of node and may set it up from its depth in a balanced tree
+     * of count nodes.
+     * @param key   the key of the node
+     * @param value the value of the node
+     * @param depth the depth of the node, 0 for the root
+     * @param count the number of nodes in the whole tree
+     * @return a new node with no children
+     */
+    protected Node<K, V> newNode(K key, V value, int depth, int count) {
+        return new Node<>(key, value);
+    }
+
+    /**
+     * Links a node of a balanced build to its finished subtrees, either of
+     * which may be null. Subclasses extend this to compute what they keep
+     * about each subtree.
+     * @param node  the parent
+     * @param left  the root of the left subtree
+     * @param right the root of the right subtree
+     */
+    protected void attach(Node<K, V> node, Node<K, V> left,
+                          Node<K, V> right) {
+        node.setLeft(left);
+        node.setRight(right);
+        if (left != null) {
+            left.setParent(node);
+        }
+        if (right != null) {
+            right.setParent(node);
+        }
+    }
+
     protected void transplant(Node<K,V> u, Node<K,V> v)
     {
         if (u.getParent() == null)
@@ -431,6 +686,202 @@ public class BSTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return x;
     }
 
+    /**
+     * Returns a reference to the Node whose key value is the maximum key in the
+     * tree.
+     * @param x the Node at which to start the traversal
+     * @return a reference to the Node whose key value is the maximum key in the
+     *         tree
+     */
+    protected Node<K, V> treeMaximum(Node<K, V> x) {
+        while (x.getRight() != null) {
+            x = x.getRight();
+        }
+        return x;
+    }
+
+    /**
+     * Returns the Node with the next larger key, or null if x has the largest
+     * key. Climbs parent references instead of keeping a stack.
+     * @param x a Node of this tree
+     * @return the in-order successor of x
+     */
+    protected Node<K, V> successor(Node<K, V> x) {
+        if (x.getRight() != null) {
+            return treeMinimum(x.getRight());
+        }
+        Node<K, V> parent = x.getParent();
+        while (parent != null && x == parent.getRight()) {
+            x = parent;
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the Node with the next smaller key, or null if x has the
+     * smallest key. The mirror image of successor.
+     * @param x a Node of this tree
+     * @return the in-order predecessor of x
+     */
+    protected Node<K, V> predecessor(Node<K, V> x) {
+        if (x.getLeft() != null) {
+            return treeMaximum(x.getLeft());
+        }
+        Node<K, V> parent = x.getParent();
+        while (parent != null && x == parent.getLeft()) {
+            x = parent;
+            parent = parent.getParent();
+        }
+        return parent;
+    }
+
+    /**
+     * Returns the Node with the smallest key greater than key, or equal to it
+     * if inclusive is true, or null if there is none.
+     * @param key       the key to search for
+     * @param inclusive whether a Node with key itself qualifies
+     * @return the Node found by a single descent from the root
+     */
+    protected Node<K, V> ceilingNode(K key, boolean inclusive) {
+        Node<K, V> current = root, best = null;
+        while (current != null) {
+            int cmp = current.key.compareTo(key);
+            if (cmp > 0 || (cmp == 0 && inclusive)) {
+                best = current;
+                if (cmp == 0) {
+                    return best;
+                }
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the Node with the largest key less than key, or equal to it if
+     * inclusive is true, or null if there is none.
+     * @param key       the key to search for
+     * @param inclusive whether a Node with key itself qualifies
+     * @return the Node found by a single descent from the root
+     */
+    protected Node<K, V> floorNode(K key, boolean inclusive) {
+        Node<K, V> current = root, best = null;
+        while (current != null) {
+            int cmp = current.key.compareTo(key);
+            if (cmp < 0 || (cmp == 0 && inclusive)) {
+                best = current;
+                if (cmp == 0) {
+                    return best;
+                }
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return best;
+    }
+
+    private static <K> K keyOf(Node<K, ?> node) {
+        return node != null ? node.key : null;
+    }
+
+    /**
+     * Returns the smallest key in this map, or null if the map is empty.
+     * @return the smallest key in this map
+     */
+    public K firstKey() {
+        return root != null ? treeMinimum(root).key : null;
+    }
+
+    /**
+     * Returns the largest key in this map, or null if the map is empty.
+     * @return the largest key in this map
+     */
+    public K lastKey() {
+        return root != null ? treeMaximum(root).key : null;
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key, or null if
+     * there is no such key.
+     * @param key the key to search for
+     * @return the largest key less than or equal to key
+     */
+    public K floorKey(K key) {
+        return keyOf(floorNode(key, true));
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key, or null
+     * if there is no such key.
+     * @param key the key to search for
+     * @return the smallest key greater than or equal to key
+     */
+    public K ceilingKey(K key) {
+        return keyOf(ceilingNode(key, true));
+    }
+
+    /**
+     * Returns the largest key strictly less than the given key, or null if
+     * there is no such key.
+     * @param key the key to search for
+     * @return the largest key less than key
+     */
+    public K lowerKey(K key) {
+        return keyOf(floorNode(key, false));
+    }
+
+    /**
+     * Returns the smallest key strictly greater than the given key, or null if
+     * there is no such key.
+     * @param key the key to search for
+     * @return the smallest key greater than key
+     */
+    public K higherKey(K key) {
+        return keyOf(ceilingNode(key, false));
+    }
+
+    /**
+     * Returns a view of the mappings whose keys range from fromKey, inclusive,
+     * to toKey, exclusive. The view is backed by this map, and its iterator
+     * starts with one descent to fromKey and then visits only the keys in the
+     * range, so a scan of k mappings takes O(log n + k) time.
+     * @param fromKey the low end of the range, inclusive
+     * @param toKey   the high end of the range, exclusive
+     * @return a view of the mappings with keys in the range
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    public SubMap<K, V> subMap(K fromKey, K toKey) {
+        if (fromKey.compareTo(toKey) > 0) {
+            throw new IllegalArgumentException(
+                    "fromKey " + fromKey + " is greater than toKey " + toKey);
+        }
+        return new SubMap<>(this, fromKey, toKey);
+    }
+
+    /**
+     * Returns a view of the mappings whose keys are less than toKey.
+     * @param toKey the high end of the range, exclusive
+     * @return a view of the mappings with keys less than toKey
+     */
+    public SubMap<K, V> headMap(K toKey) {
+        return new SubMap<>(this, null, toKey);
+    }
+
+    /**
+     * Returns a view of the mappings whose keys are greater than or equal to
+     * fromKey.
+     * @param fromKey the low end of the range, inclusive
+     * @return a view of the mappings with keys greater than or equal to
+     *         fromKey
+     */
+    public SubMap<K, V> tailMap(K fromKey) {
+        return new SubMap<>(this, fromKey, null);
+    }
+
     /**
      * Returns a String representation of the tree, where the Nodes are visited
      * with an inorder traversal.
@@ -469,40 +920,62 @@ public class BSTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
     }
 
     /**
-     * Returns an iterator over the Entries in this map in the order
-     * in which they appear.
+     * Returns an iterator over the Entries in this map in ascending key
+     * order. The iterator follows parent references from node to node, so
+     * it keeps no stack and allocates nothing after it is created.
      * @return an iterator over the Entries in this map
      */
     public Iterator<Entry<K, V>> iterator() {
-        return new BinaryTreeItr();
+        return new BinaryTreeItr(root != null ? treeMinimum(root) : null,
+                                 true);
+    }
+
+    /**
+     * Returns an iterator over the Entries in this map in descending key
+     * order.
+     * @return an iterator over the Entries in this map, largest key first
+     */
+    public Iterator<Entry<K, V>> descendingIterator() {
+        return new BinaryTreeItr(root != null ? treeMaximum(root) : null,
+                                 false);
+    }
+
+    /**
+     * Performs the given action on each key-value mapping in ascending key
+     * order, walking the tree in place without allocating.
+     * @param action the action to be performed on each mapping
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root == null) {
+            return;
+        }
+        for (Node<K, V> x = treeMinimum(root); x != null; x = successor(x)) {
+            action.accept(x.key, x.value);
+        }
     }
 
     private class BinaryTreeItr implements Iterator<Entry<K, V>> {
-        private Node<K, V> current;
-        private final Stack<Node<K, V>> parentStack = new Stack<>();
+        private Node<K, V> next;
+        private final boolean ascending;
 
-        BinaryTreeItr() {
-            current = root;
+        BinaryTreeItr(Node<K, V> first, boolean ascending) {
+            next = first;
+            this.ascending = ascending;
         }
 
         @Override
         public boolean hasNext() {
-            return !parentStack.isEmpty() || current != null;
+            return next != null;
         }
 
         @Override
         public Entry<K, V> next() {
-            while (hasNext()) {
-                if (current != null) {
-                    parentStack.push(current);
-                    current = current.getLeft();
-                } else {
-                    Node<K, V> toReturn = parentStack.pop();
-                    current = toReturn.getRight();
-                    return toReturn;
-                }
+            if (next == null) {
+                throw new NoSuchElementException();
             }
-            return null;
+            Node<K, V> toReturn = next;
+            next = ascending ? successor(next) : predecessor(next);
+            return toReturn;
         }
 
         @Override
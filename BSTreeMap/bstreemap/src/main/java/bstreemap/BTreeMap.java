@@ -0,0 +1,525 @@
+package bstreemap;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class that implements a B-tree which implements the MyMap interface.
+ * <p>
+ * Each node holds between t - 1 and 2t - 1 keys, for a minimum degree t of
+ * 32 unless another is given, in a sorted array searched by binary search,
+ * with the values in a parallel array and the children in a third. A node of
+ * up to 63 keys takes a handful of cache lines, so a lookup in a tree of ten
+ * million keys visits 4 or 5 nodes instead of the 25 or so of a binary
+ * tree, and most of its comparisons read neighbouring array slots. All leaves
+ * are at the same depth.
+ * <p>
+ * put() and remove() work in a single pass down the tree, as in CLRS,
+ * chapter 18: put() splits each full node it meets, and remove() makes sure
+ * each node it descends into has at least t keys, by borrowing from or
+ * merging with a sibling, so neither ever has to walk back up.
+ * @version 1.0 October 18, 2026
+ */
+public class BTreeMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, TreeStatistics {
+    public static final int DEFAULT_MIN_DEGREE = 32;
+    // Returned by delete() when the key is absent, since a value can be null.
+    private static final Object NOT_FOUND = new Object();
+
+    private final int minDegree;
+    private BNode root;
+    private int size;
+
+    /**
+     * Node of the tree. Slots past n are null.
+     */
+    private static final class BNode {
+        final Object[] keys, values;
+        final BNode[] children;
+        int n;
+
+        BNode(int minDegree, boolean leaf) {
+            keys = new Object[2 * minDegree - 1];
+            values = new Object[2 * minDegree - 1];
+            children = leaf ? null : new BNode[2 * minDegree];
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+    }
+
+    /**
+     * Creates an empty B-tree map with the default minimum degree.
+     */
+    public BTreeMap() {
+        this(DEFAULT_MIN_DEGREE);
+    }
+
+    /**
+     * Creates an empty B-tree map whose nodes hold from minDegree - 1 to
+     * 2 * minDegree - 1 keys.
+     * @param minDegree the minimum degree of the tree, at least 2
+     */
+    public BTreeMap(int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException(
+                    "Minimum degree must be at least 2: " + minDegree);
+        }
+        this.minDegree = minDegree;
+    }
+
+    /**
+     * Creates a B-tree map of the given key-value pairs with the default
+     * minimum degree, inserting the pairs in the order they are received.
+     * @param elements an array of key-value pairs
+     */
+    public BTreeMap(Pair<K, V>[] elements) {
+        this(DEFAULT_MIN_DEGREE);
+        for (Pair<K, V> pair : elements) {
+            put(pair.key, pair.value);
+        }
+    }
+
+    /**
+     * Returns the minimum degree of this tree.
+     * @return the minimum degree of this tree
+     */
+    public int getMinDegree() {
+        return minDegree;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(BNode node, int i) {
+        return (K)node.keys[i];
+    }
+
+    /**
+     * Returns the index of key in node, or -(insertion point) - 1 if the node
+     * does not hold it.
+     */
+    private int search(BNode node, K key) {
+        int low = 0, high = node.n - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keyAt(node, mid).compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        BNode node = root;
+        while (node != null) {
+            int i = search(node, key);
+            if (i >= 0) {
+                return (V)node.values[i];
+            }
+            node = node.isLeaf() ? null : node.children[-i - 1];
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (root == null) {
+            root = new BNode(minDegree, true);
+        } else if (root.n == 2 * minDegree - 1) {
+            BNode newRoot = new BNode(minDegree, false);
+            newRoot.children[0] = root;
+            root = newRoot;
+            splitChild(newRoot, 0);
+        }
+        BNode node = root;
+        while (true) {
+            int i = search(node, key);
+            if (i >= 0) {
+                V oldValue = (V)node.values[i];
+                node.values[i] = value;
+                return oldValue;
+            }
+            i = -i - 1;
+            if (node.isLeaf()) {
+                System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+                System.arraycopy(node.values, i, node.values, i + 1,
+                                 node.n - i);
+                node.keys[i] = key;
+                node.values[i] = value;
+                node.n++;
+                size++;
+                return null;
+            }
+            if (node.children[i].n == 2 * minDegree - 1) {
+                splitChild(node, i);
+                int cmp = key.compareTo(keyAt(node, i));
+                if (cmp == 0) {
+                    V oldValue = (V)node.values[i];
+                    node.values[i] = value;
+                    return oldValue;
+                }
+                if (cmp > 0) {
+                    i++;
+                }
+            }
+            node = node.children[i];
+        }
+    }
+
+    /**
+     * Splits the full child i of parent around its median key, which moves
+     * up into parent.
+     */
+    private void splitChild(BNode parent, int i) {
+        int t = minDegree;
+        BNode left = parent.children[i];
+        BNode right = new BNode(t, left.isLeaf());
+        System.arraycopy(left.keys, t, right.keys, 0, t - 1);
+        System.arraycopy(left.values, t, right.values, 0, t - 1);
+        if (!left.isLeaf()) {
+            System.arraycopy(left.children, t, right.children, 0, t);
+            clear(left.children, t, 2 * t);
+        }
+        right.n = t - 1;
+        System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.n - i);
+        System.arraycopy(parent.values, i, parent.values, i + 1,
+                         parent.n - i);
+        System.arraycopy(parent.children, i + 1, parent.children, i + 2,
+                         parent.n - i);
+        parent.keys[i] = left.keys[t - 1];
+        parent.values[i] = left.values[t - 1];
+        parent.children[i + 1] = right;
+        parent.n++;
+        left.n = t - 1;
+        clear(left.keys, t - 1, 2 * t - 1);
+        clear(left.values, t - 1, 2 * t - 1);
+    }
+
+    private static void clear(Object[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = null;
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        if (root == null) {
+            return null;
+        }
+        Object oldValue = delete(root, key);
+        if (root.n == 0) {
+            root = root.isLeaf() ? null : root.children[0];
+        }
+        return oldValue == NOT_FOUND ? null : (V)oldValue;
+    }
+
+    /**
+     * Deletes key from the subtree at node, which must have at least t keys
+     * unless it is the root, and returns its value or NOT_FOUND.
+     */
+    private Object delete(BNode node, K key) {
+        int t = minDegree;
+        while (true) {
+            int i = search(node, key);
+            if (i >= 0) {
+                Object oldValue = node.values[i];
+                if (node.isLeaf()) {
+                    removeFromLeaf(node, i);
+                    size--;
+                    return oldValue;
+                }
+                BNode left = node.children[i], right = node.children[i + 1];
+                if (left.n >= t) {
+                    // Replace the key with its predecessor, then delete that.
+                    BNode pred = left;
+                    while (!pred.isLeaf()) {
+                        pred = pred.children[pred.n];
+                    }
+                    K predKey = keyAt(pred, pred.n - 1);
+                    node.values[i] = delete(left, predKey);
+                    node.keys[i] = predKey;
+                    return oldValue;
+                }
+                if (right.n >= t) {
+                    BNode succ = right;
+                    while (!succ.isLeaf()) {
+                        succ = succ.children[0];
+                    }
+                    K succKey = keyAt(succ, 0);
+                    node.values[i] = delete(right, succKey);
+                    node.keys[i] = succKey;
+                    return oldValue;
+                }
+                merge(node, i);
+                node = left;
+                continue;
+            }
+            if (node.isLeaf()) {
+                return NOT_FOUND;
+            }
+            i = -i - 1;
+            if (node.children[i].n == t - 1) {
+                if (i > 0 && node.children[i - 1].n >= t) {
+                    borrowFromLeft(node, i);
+                } else if (i < node.n && node.children[i + 1].n >= t) {
+                    borrowFromRight(node, i);
+                } else if (i < node.n) {
+                    merge(node, i);
+                } else {
+                    merge(node, --i);
+                }
+            }
+            node = node.children[i];
+        }
+    }
+
+    private void removeFromLeaf(BNode leaf, int i) {
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.n - i - 1);
+        leaf.n--;
+        leaf.keys[leaf.n] = null;
+        leaf.values[leaf.n] = null;
+    }
+
+    /**
+     * Merges child i + 1 of parent and the key between them into child i.
+     */
+    private void merge(BNode parent, int i) {
+        BNode left = parent.children[i], right = parent.children[i + 1];
+        left.keys[left.n] = parent.keys[i];
+        left.values[left.n] = parent.values[i];
+        System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+        System.arraycopy(right.values, 0, left.values, left.n + 1, right.n);
+        if (!left.isLeaf()) {
+            System.arraycopy(right.children, 0, left.children, left.n + 1,
+                             right.n + 1);
+        }
+        left.n += right.n + 1;
+        System.arraycopy(parent.keys, i + 1, parent.keys, i,
+                         parent.n - i - 1);
+        System.arraycopy(parent.values, i + 1, parent.values, i,
+                         parent.n - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1,
+                         parent.n - i - 1);
+        parent.n--;
+        parent.keys[parent.n] = null;
+        parent.values[parent.n] = null;
+        parent.children[parent.n + 1] = null;
+    }
+
+    /**
+     * Moves the separating key down into child i of parent and the last key
+     * of its left sibling up in its place.
+     */
+    private void borrowFromLeft(BNode parent, int i) {
+        BNode child = parent.children[i], sibling = parent.children[i - 1];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+        System.arraycopy(child.values, 0, child.values, 1, child.n);
+        child.keys[0] = parent.keys[i - 1];
+        child.values[0] = parent.values[i - 1];
+        if (!child.isLeaf()) {
+            System.arraycopy(child.children, 0, child.children, 1,
+                             child.n + 1);
+            child.children[0] = sibling.children[sibling.n];
+            sibling.children[sibling.n] = null;
+        }
+        child.n++;
+        sibling.n--;
+        parent.keys[i - 1] = sibling.keys[sibling.n];
+        parent.values[i - 1] = sibling.values[sibling.n];
+        sibling.keys[sibling.n] = null;
+        sibling.values[sibling.n] = null;
+    }
+
+    /**
+     * Moves the separating key down into child i of parent and the first key
+     * of its right sibling up in its place.
+     */
+    private void borrowFromRight(BNode parent, int i) {
+        BNode child = parent.children[i], sibling = parent.children[i + 1];
+        child.keys[child.n] = parent.keys[i];
+        child.values[child.n] = parent.values[i];
+        parent.keys[i] = sibling.keys[0];
+        parent.values[i] = sibling.values[0];
+        if (!child.isLeaf()) {
+            child.children[child.n + 1] = sibling.children[0];
+            System.arraycopy(sibling.children, 1, sibling.children, 0,
+                             sibling.n);
+            sibling.children[sibling.n] = null;
+        }
+        child.n++;
+        removeFromLeaf(sibling, 0);
+    }
+
+    /**
+     * Returns the height of the tree, the number of edges from the root to a
+     * leaf. If the tree is empty, the height is -1.
+     * @return the height of the tree
+     */
+    @Override
+    public int height() {
+        int height = -1;
+        for (BNode node = root; node != null;
+                node = node.isLeaf() ? null : node.children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key in
+     * the tree, one more than the average depth of the node holding the key.
+     * Each visit costs a binary search of up to lg(2t) comparisons.
+     * @return the average cost of a successful search
+     */
+    @Override
+    public double successfulSearchCost() {
+        return size == 0 ? 0 : (double)sumDepths(root, 1) / size;
+    }
+
+    private long sumDepths(BNode node, int depth) {
+        long sum = (long)node.n * depth;
+        if (!node.isLeaf()) {
+            for (int i = 0; i <= node.n; i++) {
+                sum += sumDepths(node.children[i], depth + 1);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key that
+     * is not in the tree. Every such search ends at a leaf, and all leaves
+     * are at the same depth, so this is one more than the height.
+     * @return the average cost of an unsuccessful search
+     */
+    @Override
+    public double unsuccessfulSearchCost() {
+        return root == null ? 0 : height() + 1;
+    }
+
+    /**
+     * Returns a String of the key-value pairs in key order.
+     * @return a String representation of the tree
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            builder.append(iter.next());
+            if (iter.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * Returns an iterator over the Entries in this map in key order.
+     * @return an iterator over the Entries in this map
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new BTreeItr();
+    }
+
+    /**
+     * In-order iterator that keeps the path from the root to the current
+     * node, with the index of the next key in each node.
+     */
+    private class BTreeItr implements Iterator<Entry<K, V>> {
+        private final BNode[] nodes = new BNode[height() + 1];
+        private final int[] indexes = new int[nodes.length];
+        private int depth;
+
+        BTreeItr() {
+            if (root != null) {
+                pushLeftmost(root);
+            }
+        }
+
+        private void pushLeftmost(BNode node) {
+            while (true) {
+                nodes[depth] = node;
+                indexes[depth++] = 0;
+                if (node.isLeaf()) {
+                    return;
+                }
+                node = node.children[0];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (depth == 0) {
+                throw new NoSuchElementException();
+            }
+            BNode node = nodes[depth - 1];
+            int i = indexes[depth - 1]++;
+            Entry<K, V> entry = new Entry<>(keyAt(node, i), (V)node.values[i]);
+            if (!node.isLeaf()) {
+                pushLeftmost(node.children[i + 1]);
+            } else {
+                while (depth > 0 && indexes[depth - 1] == nodes[depth - 1].n) {
+                    depth--;
+                }
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package bstreemap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for a thread-safe ordered map built on a lock-free skip list, after
+ * Herlihy and Shavit, "The Art of Multiprocessor Programming", section 14.4,
+ * and java.util.concurrent.ConcurrentSkipListMap.
+ * <p>
+ * Each node links into a random number of levels, each level with half as
+ * many nodes as the one below, so a search skips along the sparse upper
+ * levels and descends, visiting O(log n) nodes on average. Searches start
+ * at the highest level any node has reached rather than at MAX_LEVEL, so they
+ * do not walk the empty upper links of the head. Every link is updated with
+ * compare-and-set, and no operation ever takes a lock.
+ * <ul>
+ * <li>get() only reads links, except that on meeting a deleted node with its
+ *     key it helps unlink the node and searches again, since a put still
+ *     raising that node may have linked it above a newer node with the same
+ *     key.</li>
+ * <li>put() of a new key links the node into the bottom level with one CAS,
+ *     which is the moment the mapping appears, then into the upper levels.
+ *     put() of an existing key CASes the node's value.</li>
+ * <li>remove() first deletes logically, by CASing the node's value to null,
+ *     which is the moment the mapping disappears. It then marks each of the
+ *     node's links by replacing it with a marker node, so that no thread can
+ *     link a new node behind it, and finally unlinks the node physically.
+ *     Any thread whose search meets a marked node helps unlink it.</li>
+ * </ul>
+ * The iterator walks the bottom level and is weakly consistent: it never
+ * throws ConcurrentModificationException, returns each key at most once in
+ * order, and reflects some but not necessarily all of the changes made
+ * after it was created.
+ * @version 1.2 October 18, 2026
+ */
+public class ConcurrentSkipListMyMap<K extends Comparable<K>, V>
+        implements MyMap<K, V> {
+    private static final int MAX_LEVEL = 32;
+    // Stored in place of a null value, since null marks a deleted node.
+    private static final Object NULL_VALUE = new Object();
+    private static final VarHandle NEXT =
+            MethodHandles.arrayElementVarHandle(SkipNode[].class);
+    private static final VarHandle VALUE, MAX_LEVELS;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(
+                    SkipNode.class, "value", Object.class);
+            MAX_LEVELS = MethodHandles.lookup().findVarHandle(
+                    ConcurrentSkipListMyMap.class, "maxLevels", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final SkipNode head = new SkipNode(null, null, MAX_LEVEL);
+    private final LongAdder count = new LongAdder();
+    // The most levels any node has been given. It never falls, and a put
+    // raises it before linking its node, so a search that starts below it
+    // misses no node.
+    private volatile int maxLevels = 1;
+
+    /**
+     * Node of the skip list, with one link per level it belongs to. The key
+     * and the number of levels never change.
+     */
+    static class SkipNode {
+        final Object key;
+        volatile Object value;
+        final SkipNode[] next;
+
+        SkipNode(Object key, Object value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = new SkipNode[levels];
+        }
+    }
+
+    /**
+     * Stands in for the link of a deleted node at one level and holds the
+     * node that link pointed to, so a CAS that expects the old successor
+     * fails.
+     */
+    static final class Marker extends SkipNode {
+        Marker(SkipNode successor) {
+            super(null, null, 1);
+            next[0] = successor;
+        }
+    }
+
+    /**
+     * Creates an empty map.
+     */
+    public ConcurrentSkipListMyMap() { }
+
+    /**
+     * Returns the number of key-value mappings in this map. The count is
+     * exact only when no updates are in progress.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return (int)Math.min(count.sum(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.sum() == 0;
+    }
+
+    private static SkipNode next(SkipNode node, int level) {
+        return (SkipNode)NEXT.getVolatile(node.next, level);
+    }
+
+    private static boolean casNext(SkipNode node, int level, SkipNode expected,
+                                   SkipNode update) {
+        return NEXT.compareAndSet(node.next, level, expected, update);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(SkipNode node, K key) {
+        return ((K)node.key).compareTo(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return value == NULL_VALUE ? null : (V)value;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key. Never blocks, and writes only to
+     * help unlink a deleted node with the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        retry:
+        while (true) {
+            SkipNode pred = head;
+            for (int level = maxLevels - 1; level >= 0; level--) {
+                SkipNode curr = next(pred, level);
+                while (curr != null) {
+                    if (curr instanceof Marker) {
+                        // pred was deleted under us; its old successor is
+                        // still a valid place to continue from.
+                        curr = curr.next[0];
+                        continue;
+                    }
+                    int cmp = compare(curr, key);
+                    if (cmp == 0) {
+                        Object value = curr.value;
+                        if (value != null) {
+                            return unmask(value);
+                        }
+                        // Deleted, but a live node with the key may sit
+                        // behind it: finish unlinking it and start over.
+                        markAll(curr);
+                        find(key, new SkipNode[MAX_LEVEL],
+                             new SkipNode[MAX_LEVEL]);
+                        continue retry;
+                    }
+                    if (cmp > 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = next(curr, level);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Finds, at every level, the last node with a key less than key and the
+     * node after it, unlinking every marked node on the way. Returns the
+     * node with the key, which may have been deleted logically, or null.
+     */
+    private SkipNode find(K key, SkipNode[] preds, SkipNode[] succs) {
+        retry:
+        while (true) {
+            SkipNode pred = head;
+            for (int level = maxLevels - 1; level >= 0; level--) {
+                SkipNode curr = next(pred, level);
+                if (curr instanceof Marker) {
+                    continue retry;
+                }
+                while (curr != null) {
+                    SkipNode succ = next(curr, level);
+                    if (succ instanceof Marker) {
+                        // curr is deleted at this level: unlink it.
+                        SkipNode after = succ.next[0];
+                        if (!casNext(pred, level, curr, after)) {
+                            continue retry;
+                        }
+                        curr = after;
+                        continue;
+                    }
+                    if (compare(curr, key) >= 0) {
+                        break;
+                    }
+                    pred = curr;
+                    curr = succ;
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            SkipNode found = succs[0];
+            return found != null && compare(found, key) == 0 ? found : null;
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        Object masked = value == null ? NULL_VALUE : value;
+        SkipNode[] preds = new SkipNode[MAX_LEVEL];
+        SkipNode[] succs = new SkipNode[MAX_LEVEL];
+        int levels = randomLevels();
+        raiseMaxLevels(levels);
+        while (true) {
+            SkipNode found = find(key, preds, succs);
+            if (found != null) {
+                Object old = found.value;
+                if (old == null) {
+                    // Deleted but still linked: finish its removal first.
+                    markAll(found);
+                    continue;
+                }
+                if (VALUE.compareAndSet(found, old, masked)) {
+                    return unmask(old);
+                }
+                continue;
+            }
+            SkipNode node = new SkipNode(key, masked, levels);
+            for (int level = 0; level < levels; level++) {
+                node.next[level] = succs[level];
+            }
+            if (!casNext(preds[0], 0, succs[0], node)) {
+                continue;
+            }
+            count.increment();
+            for (int level = 1; level < levels; level++) {
+                while (true) {
+                    SkipNode link = next(node, level);
+                    if (link instanceof Marker) {
+                        // Removed already; stop raising it.
+                        return null;
+                    }
+                    if (link != succs[level]
+                            && !casNext(node, level, link, succs[level])) {
+                        continue;
+                    }
+                    if (casNext(preds[level], level, succs[level], node)) {
+                        break;
+                    }
+                    if (find(key, preds, succs) != node) {
+                        return null;
+                    }
+                }
+                if (node.value == null) {
+                    // Removed while being raised, and maybe just linked at
+                    // this level after its removal unlinked it: unlink it
+                    // again so that no search meets it.
+                    find(key, preds, succs);
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        SkipNode[] preds = new SkipNode[MAX_LEVEL];
+        SkipNode[] succs = new SkipNode[MAX_LEVEL];
+        SkipNode found = find(key, preds, succs);
+        if (found == null) {
+            return null;
+        }
+        Object old;
+        do {
+            old = found.value;
+            if (old == null) {
+                return null;
+            }
+        } while (!VALUE.compareAndSet(found, old, null));
+        count.decrement();
+        markAll(found);
+        find(key, preds, succs);
+        return unmask(old);
+    }
+
+    /**
+     * Marks every link of a logically deleted node, from the top level down,
+     * so that searches unlink it and no node is linked in after it.
+     */
+    private static void markAll(SkipNode node) {
+        for (int level = node.next.length - 1; level >= 0; level--) {
+            while (true) {
+                SkipNode succ = next(node, level);
+                if (succ instanceof Marker
+                        || casNext(node, level, succ, new Marker(succ))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Raises maxLevels to at least the given number.
+     */
+    private void raiseMaxLevels(int n) {
+        int current = maxLevels;
+        while (current < n && !MAX_LEVELS.compareAndSet(this, current, n)) {
+            current = maxLevels;
+        }
+    }
+
+    /**
+     * Returns a number of levels from 1 to MAX_LEVEL, each level half as
+     * likely as the one below.
+     */
+    private static int randomLevels() {
+        int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(1 + Integer.numberOfTrailingZeros(~bits), MAX_LEVEL);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the Entries in this map in
+     * key order. Each Entry holds the value its key had when the iterator
+     * reached it.
+     * @return an iterator over the Entries in this map
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new SkipListItr();
+    }
+
+    /**
+     * Returns a String of the key-value pairs in key order.
+     * @return a String representation of the map
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            builder.append(iter.next());
+            if (iter.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    private class SkipListItr implements Iterator<Entry<K, V>> {
+        private SkipNode node = head;
+        private Entry<K, V> next;
+
+        SkipListItr() {
+            advance();
+        }
+
+        /**
+         * Moves to the next node along the bottom level that has not been
+         * deleted, and captures its mapping.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (true) {
+                SkipNode succ = ConcurrentSkipListMyMap.next(node, 0);
+                while (succ instanceof Marker) {
+                    succ = succ.next[0];
+                }
+                if (succ == null) {
+                    return;
+                }
+                node = succ;
+                Object value = succ.value;
+                if (value != null) {
+                    next = new Entry<>((K)succ.key, unmask(value));
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
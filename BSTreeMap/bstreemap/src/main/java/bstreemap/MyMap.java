@@ -4,7 +4,7 @@ import java.util.Iterator;
 /**
  * Interface for a collection that maps keys to values.
  * @author Brian S. Borowski
- * @version 1.0 October 19, 2022
+ * @version 1.1 October 18, 2026
  */
 public interface MyMap<K, V> {
 
@@ -54,4 +54,47 @@ public interface MyMap<K, V> {
      * @return an iterator over the Entries in this map
      */
     Iterator<Entry<K, V>> iterator();
+
+    /**
+     * Associates each key with the value of its pair, as if put() were called
+     * for each pair in order, so a key that appears more than once ends up
+     * mapped to its last value. Implementations may process the batch in a
+     * different order as long as the result is the same.
+     * @param pairs the key-value pairs, none with a null key
+     */
+    default void putAll(Pair<K, V>[] pairs) {
+        for (Pair<K, V> pair : pairs) {
+            put(pair.key, pair.value);
+        }
+    }
+
+    /**
+     * Looks up every key and stores the value to which it is mapped, or null,
+     * at the same index of values.
+     * @param keys   the keys to look up, none of them null
+     * @param values the array to receive the values, as long as keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    default void getAll(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Got " + keys.length
+                    + " keys but " + values.length + " values.");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = get(keys[i]);
+        }
+    }
+
+    /**
+     * Removes the mappings for all of the keys that are present.
+     * @param keys the keys whose mappings are to be removed, none of them null
+     * @return the number of mappings removed
+     */
+    default int removeAll(K[] keys) {
+        int oldSize = size();
+        for (K key : keys) {
+            remove(key);
+        }
+        return oldSize - size();
+    }
 }
@@ -0,0 +1,440 @@
+package bstreemap;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a persistent red-black tree map. Nodes are immutable and have no
+ * parent references; put() and remove() copy only the nodes on the path from
+ * the root to the change, and the new root shares every other subtree with
+ * the old one. Every root is therefore a complete, unchanging version of the
+ * map.
+ * <p>
+ * The tree is a left-leaning red-black tree (Sedgewick, "Left-leaning
+ * Red-Black Trees", 2008), in which a red node is always a left child. Its
+ * insertion and deletion rebalance on the way back up a recursive descent,
+ * so, unlike RBTreeMap's fixups, they never need a node's parent. The height
+ * is still at most 2 lg(n + 1).
+ * <ul>
+ * <li>snapshot() takes O(1) time: it returns a map that starts from the
+ *     current root.</li>
+ * <li>Reads load the root once and never lock, so a reader sees one version
+ *     from start to finish however many writes happen meanwhile.</li>
+ * <li>Writers lock the map so that no update is lost, then publish the new
+ *     root in a volatile field.</li>
+ * </ul>
+ * Each node also records the size of its subtree, so size() takes O(1) time
+ * on any version.
+ * @version 1.0 October 18, 2026
+ */
+public class PersistentRBTreeMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, TreeStatistics {
+    private static final boolean RED = true, BLACK = false;
+
+    private volatile PNode<K, V> root;
+
+    /**
+     * Immutable node of the tree.
+     */
+    private static final class PNode<K, V> {
+        final K key;
+        final V value;
+        final PNode<K, V> left, right;
+        final boolean color;
+        final int size;
+
+        PNode(K key, V value, PNode<K, V> left, PNode<K, V> right,
+              boolean color) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.color = color;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        PNode<K, V> withChildren(PNode<K, V> left, PNode<K, V> right) {
+            return new PNode<>(key, value, left, right, color);
+        }
+
+        PNode<K, V> withColor(boolean color) {
+            return new PNode<>(key, value, left, right, color);
+        }
+    }
+
+    /**
+     * Creates an empty persistent red-black tree map.
+     */
+    public PersistentRBTreeMap() { }
+
+    /**
+     * Creates a persistent red-black tree map from the array of key-value
+     * pairs, inserted in the order they appear.
+     * @param elements an array of key-value pairs
+     */
+    public PersistentRBTreeMap(Pair<K, V>[] elements) {
+        for (Pair<K, V> pair : elements) {
+            put(pair.key, pair.value);
+        }
+    }
+
+    private PersistentRBTreeMap(PNode<K, V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns a map holding the current contents of this one, in O(1) time.
+     * Later changes to either map do not show in the other.
+     * @return a point-in-time copy of this map
+     */
+    public PersistentRBTreeMap<K, V> snapshot() {
+        return new PersistentRBTreeMap<>(root);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    private static int size(PNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static boolean isRed(PNode<?, ?> node) {
+        return node != null && node.color == RED;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        PNode<K, V> node = find(root, key);
+        return node != null ? node.value : null;
+    }
+
+    private PNode<K, V> find(PNode<K, V> node, K key) {
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value. Snapshots taken earlier are not affected.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public synchronized V put(K key, V value) {
+        PNode<K, V> old = find(root, key);
+        PNode<K, V> newRoot = insert(root, key, value);
+        root = isRed(newRoot) ? newRoot.withColor(BLACK) : newRoot;
+        return old != null ? old.value : null;
+    }
+
+    /**
+     * Returns the root of a copy of the subtree at h with key mapped to value.
+     */
+    private PNode<K, V> insert(PNode<K, V> h, K key, V value) {
+        if (h == null) {
+            return new PNode<>(key, value, null, null, RED);
+        }
+        int cmp = key.compareTo(h.key);
+        if (cmp < 0) {
+            h = h.withChildren(insert(h.left, key, value), h.right);
+        } else if (cmp > 0) {
+            h = h.withChildren(h.left, insert(h.right, key, value));
+        } else {
+            return new PNode<>(key, value, h.left, h.right, h.color);
+        }
+        return balance(h);
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. Snapshots
+     * taken earlier are not affected.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public synchronized V remove(K key) {
+        PNode<K, V> old = find(root, key);
+        if (old == null) {
+            return null;
+        }
+        PNode<K, V> h = root;
+        if (!isRed(h.left) && !isRed(h.right)) {
+            h = h.withColor(RED);
+        }
+        h = delete(h, key);
+        root = isRed(h) ? h.withColor(BLACK) : h;
+        return old.value;
+    }
+
+    /**
+     * Returns the root of a copy of the subtree at h without key, which must
+     * be in it. On the way down, a red link is pushed ahead of the search, so
+     * that the node finally removed is never a lone black node.
+     */
+    private PNode<K, V> delete(PNode<K, V> h, K key) {
+        if (key.compareTo(h.key) < 0) {
+            if (!isRed(h.left) && !isRed(h.left.left)) {
+                h = moveRedLeft(h);
+            }
+            h = h.withChildren(delete(h.left, key), h.right);
+        } else {
+            if (isRed(h.left)) {
+                h = rotateRight(h);
+            }
+            if (key.compareTo(h.key) == 0 && h.right == null) {
+                return null;
+            }
+            if (!isRed(h.right) && !isRed(h.right.left)) {
+                h = moveRedRight(h);
+            }
+            if (key.compareTo(h.key) == 0) {
+                PNode<K, V> min = h.right;
+                while (min.left != null) {
+                    min = min.left;
+                }
+                h = new PNode<>(min.key, min.value, h.left,
+                                deleteMin(h.right), h.color);
+            } else {
+                h = h.withChildren(h.left, delete(h.right, key));
+            }
+        }
+        return balance(h);
+    }
+
+    private PNode<K, V> deleteMin(PNode<K, V> h) {
+        if (h.left == null) {
+            return null;
+        }
+        if (!isRed(h.left) && !isRed(h.left.left)) {
+            h = moveRedLeft(h);
+        }
+        return balance(h.withChildren(deleteMin(h.left), h.right));
+    }
+
+    /**
+     * Restores the left-leaning invariants at h after a change below it.
+     */
+    private PNode<K, V> balance(PNode<K, V> h) {
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            h = flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Given that h is red and both its children are black, makes its left
+     * child or one of that child's children red.
+     */
+    private PNode<K, V> moveRedLeft(PNode<K, V> h) {
+        h = flipColors(h);
+        if (isRed(h.right.left)) {
+            h = rotateLeft(h.withChildren(h.left, rotateRight(h.right)));
+            h = flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Given that h is red and both its children are black, makes its right
+     * child or one of that child's children red.
+     */
+    private PNode<K, V> moveRedRight(PNode<K, V> h) {
+        h = flipColors(h);
+        if (isRed(h.left.left)) {
+            h = flipColors(rotateRight(h));
+        }
+        return h;
+    }
+
+    private PNode<K, V> rotateLeft(PNode<K, V> h) {
+        PNode<K, V> x = h.right;
+        PNode<K, V> newLeft = new PNode<>(h.key, h.value, h.left, x.left, RED);
+        return new PNode<>(x.key, x.value, newLeft, x.right, h.color);
+    }
+
+    private PNode<K, V> rotateRight(PNode<K, V> h) {
+        PNode<K, V> x = h.left;
+        PNode<K, V> newRight =
+                new PNode<>(h.key, h.value, x.right, h.right, RED);
+        return new PNode<>(x.key, x.value, x.left, newRight, h.color);
+    }
+
+    private PNode<K, V> flipColors(PNode<K, V> h) {
+        return new PNode<>(h.key, h.value,
+                           h.left.withColor(!h.left.color),
+                           h.right.withColor(!h.right.color), !h.color);
+    }
+
+    /**
+     * Returns the height of the tree. If the tree is null, the height is -1.
+     * @return the height of the tree
+     */
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    private int height(PNode<K, V> node) {
+        if (node == null) {
+            return -1;
+        }
+        return 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Returns the sum of the levels of each non-null node in the tree starting
+     * at the root, as BSTreeMap.sumLevels() does.
+     * @return the sum of the levels of each non-null node in the tree
+     */
+    public long sumLevels() {
+        return sumLevels(root, 0);
+    }
+
+    private long sumLevels(PNode<K, V> node, int level) {
+        if (node == null) {
+            return 0;
+        }
+        return level + sumLevels(node.left, level + 1)
+                + sumLevels(node.right, level + 1);
+    }
+
+    /**
+     * Returns the sum of the levels of each null node in the tree starting at
+     * the root, as BSTreeMap.sumNullLevels() does.
+     * @return the sum of the levels of each null node in the tree
+     */
+    public long sumNullLevels() {
+        return sumNullLevels(root, 0);
+    }
+
+    private long sumNullLevels(PNode<K, V> node, int level) {
+        if (node == null) {
+            return level;
+        }
+        return sumNullLevels(node.left, level + 1)
+                + sumNullLevels(node.right, level + 1);
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key in
+     * the tree, computed as in BSTreeMap.
+     * @return the average cost of a successful search
+     */
+    @Override
+    public double successfulSearchCost() {
+        PNode<K, V> r = root;
+        return r == null ? 0 : 1 + (double)sumLevels(r, 0) / r.size;
+    }
+
+    /**
+     * Returns the average number of nodes visited by a search for a key that
+     * is not in the tree, computed as in BSTreeMap. A tree of n nodes has
+     * n + 1 null references.
+     * @return the average cost of an unsuccessful search
+     */
+    @Override
+    public double unsuccessfulSearchCost() {
+        PNode<K, V> r = root;
+        return (double)sumNullLevels(r, 0) / (size(r) + 1);
+    }
+
+    /**
+     * Returns an iterator over the Entries in this map in ascending key
+     * order. The iterator walks the version that was current when it was
+     * created and is unaffected by later writes.
+     * @return an iterator over the Entries in this map
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new PersistentItr(root);
+    }
+
+    /**
+     * Returns a String of the key-value pairs in key order.
+     * @return a String representation of the map
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            builder.append(iter.next());
+            if (iter.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * In-order iterator that keeps the path of unvisited ancestors on a
+     * stack, since the nodes have no parent references.
+     */
+    private class PersistentItr implements Iterator<Entry<K, V>> {
+        private final Deque<PNode<K, V>> path = new ArrayDeque<>();
+
+        PersistentItr(PNode<K, V> root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(PNode<K, V> node) {
+            for (; node != null; node = node.left) {
+                path.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !path.isEmpty();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            PNode<K, V> node = path.pop();
+            pushLeft(node.right);
+            return new Entry<>(node.key, node.value);
+        }
+    }
+}
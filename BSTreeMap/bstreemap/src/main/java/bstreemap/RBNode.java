@@ -5,13 +5,14 @@ package bstreemap;
  * reference to the left child, right child, and parent, as well as a field
  * containing the color of the node.
  * @author Brian S. Borowski
- * @version 1.0 February 17, 2024
+ * @version 1.1 October 18, 2026
  */
 public class RBNode<K, V> extends Node<K, V> {
     public final static byte BLACK = 0, RED = 1;
     public final static String[] COLOR = {"B", "R"};
 
     byte color = RED;  // Used only in RBTreeMap, defaults to red.
+    int size = 1;      // Number of nodes in the subtree rooted here.
 
     /**
      * Creates a node with a key-value mapping.
@@ -2,8 +2,11 @@ package bstreemap;
 
 /**
  * Class that implements a red-black tree which implements the MyMap interface.
+ * Each node also records the size of its subtree, which the rotations and
+ * both fixups keep up to date, so that rank(), select(), and countInRange()
+ * take O(log n) time.
  * @author Brian S. Borowski
- * @version 1.2.1 March 5, 2024
+ * @version 1.4.2 October 18, 2026
  */
 public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
         implements MyMap<K, V> {
@@ -33,53 +36,46 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
         if (!sorted) {
             insertElements(elements);
         } else {
-            root = createBST(elements, 0, elements.length - 1);
+            rebuild(elements);
         }
     }
 
     /**
-     * Recursively constructs a balanced binary search tree by inserting the
-     * elements via a divide-snd-conquer approach. The middle element in the
-     * array becomes the root. The middle of the left half becomes the root's
-     * left child. The middle element of the right half becomes the root's right
-     * child. This process continues until low > high, at which point the
-     * method returns a null Node.
-     * All nodes in the tree are black down to and including the deepest full
-     * level. Nodes below that deepest full level are red. This scheme ensures
-     * that all paths from the root to the nulls contain the same number of
-     * black nodes.
-     * @param pairs an array of <K, V> pairs sorted by key
-     * @param low   the low index of the array of elements
-     * @param high  the high index of the array of elements
-     * @return      the root of the balanced tree of pairs
+     * Returns floor(lg count), the number of levels from the root that are
+     * full in a balanced tree of count nodes and so can be black. Computed
+     * from the bits of count, since Math.log can round down at a power of
+     * two.
      */
-    protected Node<K, V> createBST(Pair<K, V>[] pairs, int low, int high) {
-        int max = (int)(Math.log(pairs.length) / Math.log(2));
-        return createBSTHelper(pairs, low, high, max, 0);
+    private static int blackLevels(int count) {
+        return 31 - Integer.numberOfLeadingZeros(count);
     }
 
-    private Node<K, V> createBSTHelper(Pair<K, V>[] pairs, int low, int high, int maxLevel, int curLevel)
-    {
-        if (low > high)
-            return null;
-        int mid = low + (high - low) / 2;
-        RBNode<K,V> node = new RBNode<>(pairs[mid].key, pairs[mid].value);
-        size++;
-        if (curLevel == 0)
-            root = node;
-        if (curLevel < maxLevel)
-            node.color = RBNode.BLACK;
-        else
-            node.color = RBNode.RED;
-        node.setLeft(createBSTHelper(pairs, low, mid - 1, maxLevel, curLevel + 1));
-        node.setRight(createBSTHelper(pairs, mid + 1, high, maxLevel, curLevel + 1));
-        if (node.getLeft() != null)
-            node.getLeft().setParent(node);
-        if (node.getRight() != null)
-            node.getRight().setParent(node);
+    /**
+     * Creates the RBNode for one pair of a balanced build. All nodes in the
+     * tree are black down to and including the deepest full level. Nodes
+     * below that deepest full level are red. This scheme ensures that all
+     * paths from the root to the nulls contain the same number of black
+     * nodes. The root is black even when it is the only node.
+     */
+    @Override
+    protected Node<K, V> newNode(K key, V value, int depth, int count) {
+        RBNode<K, V> node = new RBNode<>(key, value);
+        node.color = depth == 0 || depth < blackLevels(count)
+                ? RBNode.BLACK : RBNode.RED;
         return node;
     }
 
+    /**
+     * Links a node of a balanced build to its subtrees and records the size
+     * of its own subtree.
+     */
+    @Override
+    protected void attach(Node<K, V> node, Node<K, V> left,
+                          Node<K, V> right) {
+        super.attach(node, left, right);
+        ((RBNode<K, V>)node).size = 1 + size(left) + size(right);
+    }
+
     /**
      * Associates the specified value with the specified key in this map. If the
      * map previously contained a mapping for the key, the old value is replaced
@@ -133,6 +129,9 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
             prev.setRight(node);
             node.setParent(prev);
         }
+        for (RBNode<K, V> p = prev; p != null; p = p.getParent()) {
+            p.size++;
+        }
         insertFixup(node);
         size++;
         return null;
@@ -175,6 +174,9 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
             r.value = s.value;
             r = s;
         }
+        for (Node<K, V> p = r.getParent(); p != null; p = p.getParent()) {
+            ((RBNode<K, V>)p).size--;
+        }
         Node<K,V> repl = (r.getLeft() != null) ? r.getLeft() : r.getRight();
         if (repl != null)
         {
@@ -205,6 +207,9 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
         }
         else
         {
+            // r stays in place as a phantom during the fixup, so it must not
+            // count toward the sizes that the rotations recompute.
+            ((RBNode<K,V>) r).size = 0;
             if (((RBNode<K,V>) r).color == RBNode.BLACK)
             {
                 deleteFixup((RBNode<K,V>) r);
@@ -476,6 +481,9 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
             x.getParent().setRight(y);
         y.setLeft(x);
         x.setParent(y);
+        y.size = ((RBNode<K, V>)x).size;
+        ((RBNode<K, V>)x).size =
+                1 + size(x.getLeft()) + size(x.getRight());
     }
 
     /**
@@ -495,5 +503,74 @@ public class RBTreeMap<K extends Comparable<K>, V> extends BSTreeMap<K, V>
             x.getParent().setLeft(y);
         y.setRight(x);
         x.setParent(y);
+        y.size = ((RBNode<K, V>)x).size;
+        ((RBNode<K, V>)x).size =
+                1 + size(x.getLeft()) + size(x.getRight());
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : ((RBNode<?, ?>)node).size;
+    }
+
+    /**
+     * Returns the number of keys in this map that are less than the given
+     * key, which is the index the key has, or would have, in key order.
+     * @param key the key to rank
+     * @return the number of keys less than key
+     */
+    public int rank(K key) {
+        int rank = 0;
+        Node<K, V> current = root;
+        while (current != null) {
+            if (key.compareTo(current.key) <= 0) {
+                current = current.getLeft();
+            } else {
+                rank += size(current.getLeft()) + 1;
+                current = current.getRight();
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the key with the given index in key order, so that select(0) is
+     * the smallest key and rank(select(i)) == i.
+     * @param index the index of the key, from 0 to size() - 1
+     * @return the key with the given index
+     * @throws IllegalArgumentException if index is out of range
+     */
+    public K select(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index " + index
+                    + " out of range for size " + size);
+        }
+        Node<K, V> current = root;
+        while (true) {
+            int leftSize = size(current.getLeft());
+            if (index < leftSize) {
+                current = current.getLeft();
+            } else if (index == leftSize) {
+                return current.key;
+            } else {
+                index -= leftSize + 1;
+                current = current.getRight();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys from lo, inclusive, to hi, exclusive, the
+     * same keys as subMap(lo, hi) holds.
+     * @param lo the low end of the range, inclusive
+     * @param hi the high end of the range, exclusive
+     * @return the number of keys in the range
+     * @throws IllegalArgumentException if lo is greater than hi
+     */
+    public int countInRange(K lo, K hi) {
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException(
+                    "lo " + lo + " is greater than hi " + hi);
+        }
+        return rank(hi) - rank(lo);
     }
 }
@@ -0,0 +1,193 @@
+package bstreemap;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a view of the mappings of a BSTreeMap whose keys fall in a range,
+ * from a low key, inclusive, to a high key, exclusive. A null bound leaves
+ * that end of the range open. The view holds no mappings of its own: every
+ * operation goes to the tree, so changes to either show in the other.
+ * Iteration starts with a single descent to the first key in the range and
+ * then follows parent references from node to node, so it never visits a
+ * node outside the range beyond the one that ends it.
+ * @version 1.1 October 18, 2026
+ */
+public class SubMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+    private final BSTreeMap<K, V> tree;
+    private final K fromKey, toKey;
+
+    /**
+     * Creates a view of the mappings of tree with keys in the given range.
+     * @param tree    the backing tree
+     * @param fromKey the low end of the range, inclusive, or null if there is
+     *                none
+     * @param toKey   the high end of the range, exclusive, or null if there is
+     *                none
+     */
+    SubMap(BSTreeMap<K, V> tree, K fromKey, K toKey) {
+        this.tree = tree;
+        this.fromKey = fromKey;
+        this.toKey = toKey;
+    }
+
+    /**
+     * Returns true if key lies in the range of this view.
+     * @param key the key to test
+     * @return true if key lies in the range of this view
+     */
+    public boolean inRange(K key) {
+        return (fromKey == null || key.compareTo(fromKey) >= 0)
+                && (toKey == null || key.compareTo(toKey) < 0);
+    }
+
+    private Node<K, V> firstNode() {
+        Node<K, V> node = fromKey == null
+                ? (tree.root != null ? tree.treeMinimum(tree.root) : null)
+                : tree.ceilingNode(fromKey, true);
+        return node != null && inRange(node.key) ? node : null;
+    }
+
+    private Node<K, V> lastNode() {
+        Node<K, V> node = toKey == null
+                ? (tree.root != null ? tree.treeMaximum(tree.root) : null)
+                : tree.floorNode(toKey, false);
+        return node != null && inRange(node.key) ? node : null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this view. Over an
+     * RBTreeMap this is a difference of ranks, which takes O(log n) time.
+     * Otherwise the mappings are counted one by one, which takes O(log n + k)
+     * time for k mappings.
+     * @return the number of key-value mappings in this view
+     */
+    @Override
+    public int size() {
+        if (tree instanceof RBTreeMap<K, V> rbTree) {
+            int high = toKey == null ? rbTree.size() : rbTree.rank(toKey);
+            int low = fromKey == null ? 0 : rbTree.rank(fromKey);
+            return Math.max(high - low, 0);
+        }
+        int count = 0;
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            iter.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if this view contains no key-value mappings.
+     * @return true if this view contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return firstNode() == null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if the
+     * key is outside the range or the tree has no mapping for it.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null
+     */
+    @Override
+    public V get(K key) {
+        return inRange(key) ? tree.get(key) : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in the tree.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     * @throws IllegalArgumentException if key is outside the range
+     */
+    @Override
+    public V put(K key, V value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("Key out of range: " + key);
+        }
+        return tree.put(key, value);
+    }
+
+    /**
+     * Removes the mapping for a key from the tree if it is present and in
+     * the range.
+     * @param key the key whose mapping is to be removed
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key in this view
+     */
+    @Override
+    public V remove(K key) {
+        return inRange(key) ? tree.remove(key) : null;
+    }
+
+    /**
+     * Returns the smallest key in this view, or null if it is empty.
+     * @return the smallest key in this view
+     */
+    public K firstKey() {
+        Node<K, V> node = firstNode();
+        return node != null ? node.key : null;
+    }
+
+    /**
+     * Returns the largest key in this view, or null if it is empty.
+     * @return the largest key in this view
+     */
+    public K lastKey() {
+        Node<K, V> node = lastNode();
+        return node != null ? node.key : null;
+    }
+
+    /**
+     * Returns an iterator over the Entries in this view in key order.
+     * @return an iterator over the Entries in this view
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new RangeItr();
+    }
+
+    /**
+     * Returns a String of the key-value pairs in this view in key order.
+     * @return a String of the key-value pairs in this view
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Iterator<Entry<K, V>> iter = iterator(); iter.hasNext(); ) {
+            builder.append(iter.next());
+            if (iter.hasNext()) {
+                builder.append(", ");
+            }
+        }
+        return builder.append("]").toString();
+    }
+
+    private class RangeItr implements Iterator<Entry<K, V>> {
+        private Node<K, V> next = firstNode();
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> current = next;
+            next = tree.successor(current);
+            if (next != null && toKey != null
+                    && next.key.compareTo(toKey) >= 0) {
+                next = null;
+            }
+            return current;
+        }
+    }
+}
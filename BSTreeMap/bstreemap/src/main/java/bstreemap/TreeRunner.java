@@ -3,14 +3,16 @@ package bstreemap;
 import java.lang.reflect.InvocationTargetException;
 
 /**
- * Class for testing BSTreeMap, AVLTreeMap, and RBTreeMap in a generic manner.
+ * Class for testing BSTreeMap, AVLTreeMap, RBTreeMap, BTreeMap,
+ * PersistentRBTreeMap, and ArrayRBTreeMap in a generic manner.
  * @author Brian S. Borowski
- * @version 1.0.2 March 5, 2024
+ * @version 1.3.0 October 18, 2026
  */
 public class TreeRunner<E extends Comparable<E>> {
-    private static final String[] TREE_CL_ARG = { "bst", "avl", "rbt" };
-    private static final String[] TREE_CLASSNAME =
-            { "BSTreeMap", "AVLTreeMap", "RBTreeMap" };
+    private static final String[] TREE_CL_ARG =
+            { "bst", "avl", "rbt", "btree", "prbt", "arbt" };
+    private static final String[] TREE_CLASSNAME = { "BSTreeMap", "AVLTreeMap",
+            "RBTreeMap", "BTreeMap", "PersistentRBTreeMap", "ArrayRBTreeMap" };
     private final int classIndex;
 
     public TreeRunner(int classIndex) {
@@ -29,32 +31,46 @@ public class TreeRunner<E extends Comparable<E>> {
             pairs[i] = new Pair<>(array[i], array[i]);
         }
 
-        Class<?> cl = Class.forName(TREE_CLASSNAME[classIndex]);
+        Class<?> cl = Class.forName(TreeRunner.class.getPackageName() + "."
+                                    + TREE_CLASSNAME[classIndex]);
         @SuppressWarnings("unchecked")
-        BSTreeMap<E, E> treeMap =
-            (BSTreeMap<E, E>)
+        MyMap<E, E> map =
+            (MyMap<E, E>)
             cl.getDeclaredConstructor(Pair[].class).newInstance((Object)pairs);
-        System.out.println(treeMap.toAsciiDrawing());
+        TreeStatistics stats = (TreeStatistics)map;
+        System.out.println(draw(map));
         System.out.println();
-        System.out.println("Height:                   " + treeMap.height());
-        System.out.println("Total nodes:              " + treeMap.size());
+        System.out.println("Height:                   " + stats.height());
+        System.out.println("Total keys:               " + stats.size());
         System.out.printf("Successful search cost:   %.3f\n",
-                treeMap.successfulSearchCost());
+                stats.successfulSearchCost());
         System.out.printf("Unsuccessful search cost: %.3f\n",
-                treeMap.unsuccessfulSearchCost());
-        treeMap.printTraversal(BSTreeMap.PREORDER);
-        treeMap.printTraversal(BSTreeMap.INORDER);
-        treeMap.printTraversal(BSTreeMap.POSTORDER);
+                stats.unsuccessfulSearchCost());
+        if (map instanceof BSTreeMap<E, E> treeMap) {
+            treeMap.printTraversal(BSTreeMap.PREORDER);
+            treeMap.printTraversal(BSTreeMap.INORDER);
+            treeMap.printTraversal(BSTreeMap.POSTORDER);
+        }
         for (E element: array) {
             System.out.println("\nTree after deleting key " + element + ":");
-            treeMap.remove(element);
-            System.out.println(treeMap.toAsciiDrawing());
+            map.remove(element);
+            System.out.println(draw(map));
         }
     }
 
+    /**
+     * Returns an ASCII drawing of a binary tree, or the keys in order for a
+     * tree with wider nodes.
+     */
+    private static String draw(MyMap<?, ?> map) {
+        return map instanceof BSTreeMap<?, ?> treeMap ? treeMap.toAsciiDrawing()
+                                                     : map.toString();
+    }
+
     /**
      * Main method to facilitate testing your code.
-     * The first argument must be the string bst, avl, or rbt.
+     * The first argument must be the string bst, avl, rbt, btree, prbt, or
+     * arbt.
      * If the second command line argument parses to an int, the map will be of
      * type <Integer, Integer>, else it will be of type <String, String>.
      * @param args tree type followed by the values to insert into the tree
@@ -62,7 +78,7 @@ public class TreeRunner<E extends Comparable<E>> {
     public static void main(String[] args) throws Exception {
         if (args.length < 1) {
             System.err.println(
-                "Usage: java TreeRunner <bst|avl|rbt> key1, key2, ..., keyn");
+                "Usage: java TreeRunner <bst|avl|rbt|btree|prbt|arbt> key1, key2, ..., keyn");
             System.exit(1);
         }
         int index = -1;
@@ -0,0 +1,35 @@
+package bstreemap;
+
+/**
+ * Interface for the shape diagnostics that TreeRunner prints for every kind
+ * of search tree, so trees of different node layouts can be compared.
+ * @version 1.0 October 18, 2026
+ */
+public interface TreeStatistics {
+
+    /**
+     * Returns the number of key-value mappings in the tree.
+     * @return the number of key-value mappings in the tree
+     */
+    int size();
+
+    /**
+     * Returns the height of the tree, -1 if it is empty.
+     * @return the height of the tree
+     */
+    int height();
+
+    /**
+     * Returns the average number of nodes visited by a search for a key in
+     * the tree.
+     * @return the average cost of a successful search
+     */
+    double successfulSearchCost();
+
+    /**
+     * Returns the average number of nodes visited by a search for a key that
+     * is not in the tree.
+     * @return the average cost of an unsuccessful search
+     */
+    double unsuccessfulSearchCost();
+}
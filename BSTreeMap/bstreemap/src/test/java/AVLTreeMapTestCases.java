@@ -0,0 +1,146 @@
+/**
+ * Test cases for AVLTreeMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import bstreemap.AVLTreeMap;
+import bstreemap.Entry;
+import bstreemap.Node;
+import bstreemap.Pair;
+import bstreemap.RBTreeMap;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("unchecked")
+public class AVLTreeMapTestCases {
+
+    /**
+     * Returns the height of the subtree at node, failing if any node in it
+     * has subtrees whose heights differ by more than one or a child whose
+     * parent reference is wrong.
+     */
+    private static int checkBalance(Node<Integer, Integer> node) {
+        if (node == null) {
+            return -1;
+        }
+        for (Node<Integer, Integer> child
+                : new Node[] { node.getLeft(), node.getRight() }) {
+            if (child != null) {
+                assertSame(node, child.getParent());
+            }
+        }
+        int left = checkBalance(node.getLeft());
+        int right = checkBalance(node.getRight());
+        assertTrue(Math.abs(left - right) <= 1,
+                   "unbalanced at " + node.key);
+        return 1 + Math.max(left, right);
+    }
+
+    @Test
+    public void testPut01() {
+        AVLTreeMap<Integer, Integer> map = new AVLTreeMap<>();
+        for (int i = 1; i <= 7; i++) {
+            assertNull(map.put(i, i));
+        }
+        assertEquals(7, map.put(7, 70));
+        assertEquals("[<4, 4, 2>, <2, 2, 1>, <1, 1, 0>, <3, 3, 0>, "
+                     + "<6, 6, 1>, <5, 5, 0>, <7, 70, 0>]", map.preorder());
+        assertEquals(2, map.height());
+        assertEquals(7, map.size());
+        // Double rotations: 3, 1, 2 and 1, 3, 2.
+        map = new AVLTreeMap<>();
+        map.put(3, 3);
+        map.put(1, 1);
+        map.put(2, 2);
+        assertEquals("[<2, 2, 1>, <1, 1, 0>, <3, 3, 0>]", map.preorder());
+        map = new AVLTreeMap<>();
+        map.put(1, 1);
+        map.put(3, 3);
+        map.put(2, 2);
+        assertEquals("[<2, 2, 1>, <1, 1, 0>, <3, 3, 0>]", map.preorder());
+    }
+
+    @Test
+    public void testRemove01() {
+        Random random = new Random(3);
+        AVLTreeMap<Integer, Integer> map = new AVLTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        for (int round = 0; round < 20000; round++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(5) < 2) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, round), map.put(key, round));
+            }
+            if (round % 500 == 0) {
+                assertEquals(checkBalance(map.root), map.height());
+            }
+        }
+        assertEquals(checkBalance(map.root), map.height());
+        assertEquals(expected.size(), map.size());
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getKey(), iter.next().key);
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertFalse(iter.hasNext());
+        for (Integer key : expected.keySet()) {
+            map.remove(key);
+        }
+        assertTrue(map.isEmpty());
+        assertNull(map.root);
+    }
+
+    @Test
+    public void testBulk01() {
+        Pair<Integer, Integer>[] pairs = new Pair[1000];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new Pair<>(i, i);
+        }
+        AVLTreeMap<Integer, Integer> map = new AVLTreeMap<>(pairs, true);
+        assertEquals(1000, map.size());
+        assertEquals(checkBalance(map.root), map.height());
+        assertEquals(9, map.height());
+        Integer[] keys = new Integer[500];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 2;
+        }
+        assertEquals(500, map.removeAll(keys));
+        assertEquals(checkBalance(map.root), map.height());
+        map.put(-1, -1);
+        map.put(2000, 2000);
+        assertEquals(checkBalance(map.root), map.height());
+        assertEquals(-1, map.firstKey());
+        assertEquals(999, map.lowerKey(2000));
+    }
+
+    /**
+     * Random insertions leave an AVL tree no taller than a red-black tree of
+     * the same keys, and with no greater average search cost.
+     */
+    @Test
+    public void testCosts01() {
+        Random random = new Random(9);
+        AVLTreeMap<Integer, Integer> avl = new AVLTreeMap<>();
+        RBTreeMap<Integer, Integer> rbt = new RBTreeMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt();
+            avl.put(key, i);
+            rbt.put(key, i);
+        }
+        assertEquals(rbt.size(), avl.size());
+        assertTrue(avl.height() <= rbt.height());
+        assertTrue(avl.successfulSearchCost() <= rbt.successfulSearchCost());
+        // Sequential keys are the worst case for an unbalanced tree.
+        avl = new AVLTreeMap<>();
+        for (int i = 0; i < 100000; i++) {
+            avl.put(i, i);
+        }
+        assertEquals(16, avl.height());
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Test cases for ArrayRBTreeMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import bstreemap.ArrayRBTreeMap;
+import bstreemap.Entry;
+import bstreemap.RBNode;
+import bstreemap.RBTreeMap;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayRBTreeMapTestCases {
+
+    /**
+     * Checks the arrays of the map. NIL must be a black slot with no key
+     * whose links all point back to NIL, so that removals leave nothing
+     * behind in it. The tree under root must obey the red-black rules, with
+     * parent links that match the child links, and its keys and values, in
+     * order, must be those of expected, as must the keys that iterator()
+     * returns. Every other slot handed out so far must be on the free list,
+     * cleared, and every slot past those must be unused.
+     */
+    private static void assertValidArrays(Map<Integer, Integer> expected,
+            ArrayRBTreeMap<Integer, Integer> map)
+            throws ReflectiveOperationException {
+        Object[] keys = (Object[])field(map, "keys");
+        Object[] values = (Object[])field(map, "values");
+        int[] left = (int[])field(map, "left");
+        int[] right = (int[])field(map, "right");
+        int[] parent = (int[])field(map, "parent");
+        byte[] color = (byte[])field(map, "color");
+        int root = (int)field(map, "root");
+        int slotsUsed = (int)field(map, "slotsUsed");
+        assertEquals(RBNode.BLACK, color[0]);
+        assertNull(keys[0]);
+        assertNull(values[0]);
+        assertEquals(0, left[0]);
+        assertEquals(0, right[0]);
+        assertEquals(0, parent[0]);
+        assertEquals(0, parent[root]);
+        assertEquals(RBNode.BLACK, color[root]);
+
+        // Walks the tree in order, checking each black height against the
+        // first one found.
+        Iterator<Map.Entry<Integer, Integer>> wanted =
+                expected.entrySet().iterator();
+        boolean[] seen = new boolean[keys.length];
+        int[] stack = new int[2 * 64];
+        int[] blacks = new int[stack.length];
+        int depth = 0, pathBlacks = 0, leafBlacks = -1;
+        for (int x = root; x != 0 || depth > 0; ) {
+            if (x != 0) {
+                assertFalse(seen[x], "slot " + x + " linked twice");
+                seen[x] = true;
+                if (color[x] == RBNode.RED) {
+                    assertEquals(RBNode.BLACK, color[parent[x]]);
+                } else {
+                    pathBlacks++;
+                }
+                for (int child : new int[] {left[x], right[x]}) {
+                    if (child != 0) {
+                        assertEquals(x, parent[child]);
+                    } else if (leafBlacks < 0) {
+                        leafBlacks = pathBlacks;
+                    } else {
+                        assertEquals(leafBlacks, pathBlacks);
+                    }
+                }
+                stack[depth] = x;
+                blacks[depth++] = pathBlacks;
+                x = left[x];
+            } else {
+                x = stack[--depth];
+                Map.Entry<Integer, Integer> e = wanted.next();
+                assertEquals(e.getKey(), keys[x]);
+                assertEquals(e.getValue(), values[x]);
+                pathBlacks = blacks[depth];
+                x = right[x];
+            }
+        }
+        assertFalse(wanted.hasNext());
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, iter.next().key);
+        }
+        assertFalse(iter.hasNext());
+        assertEquals(expected.size(), map.size());
+
+        int free = 0;
+        for (int x = (int)field(map, "freeList"); x != 0; x = right[x]) {
+            assertTrue(x < slotsUsed, "free slot " + x + " never used");
+            assertFalse(seen[x], "slot " + x + " both linked and free");
+            seen[x] = true;
+            assertNull(keys[x]);
+            assertNull(values[x]);
+            assertEquals(0, left[x]);
+            assertEquals(0, parent[x]);
+            free++;
+        }
+        assertEquals(slotsUsed - 1, expected.size() + free);
+        for (int x = slotsUsed; x < keys.length; x++) {
+            assertNull(keys[x]);
+        }
+    }
+
+    private static Object field(Object object, String name)
+            throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    @Test
+    public void testBasics01() {
+        ArrayRBTreeMap<Integer, Integer> map = new ArrayRBTreeMap<>(0);
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.height());
+        assertEquals("[]", map.toString());
+        assertNull(map.put(2, 20));
+        assertNull(map.put(1, 10));
+        assertNull(map.put(3, null));
+        assertEquals(20, map.put(2, 21));
+        assertEquals("[<1, 10>, <2, 21>, <3, null>]", map.toString());
+        assertEquals(1, map.height());
+        assertNull(map.remove(3));
+        assertNull(map.remove(3));
+        assertEquals(10, map.remove(1));
+        assertEquals(1, map.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ArrayRBTreeMap<Integer, Integer>(-1));
+    }
+
+    /**
+     * Runs the same random insertions and removals on ArrayRBTreeMap and
+     * RBTreeMap. Both follow the same algorithms, so the trees must have the
+     * same shape, and hence the same height and search costs, at every step.
+     */
+    @Test
+    public void testMatchesRBTreeMap01() throws ReflectiveOperationException {
+        Random random = new Random(25);
+        ArrayRBTreeMap<Integer, Integer> map = new ArrayRBTreeMap<>();
+        RBTreeMap<Integer, Integer> rbt = new RBTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        for (int round = 0; round < 50000; round++) {
+            int key = random.nextInt(3000);
+            if (random.nextInt(5) < 2) {
+                assertEquals(expected.remove(key), map.remove(key));
+                rbt.remove(key);
+            } else {
+                assertEquals(expected.put(key, round), map.put(key, round));
+                rbt.put(key, round);
+            }
+            if (round % 500 == 0) {
+                assertValidArrays(expected, map);
+                assertEquals(rbt.height(), map.height());
+                assertEquals(rbt.successfulSearchCost(),
+                             map.successfulSearchCost(), 1e-9);
+                assertEquals(rbt.unsuccessfulSearchCost(),
+                             map.unsuccessfulSearchCost(), 1e-9);
+            }
+        }
+        assertValidArrays(expected, map);
+    }
+
+    /**
+     * Removed slots must be reused before the arrays grow, and each removal
+     * must give its slot back to the free list and leave NIL as it was.
+     */
+    @Test
+    public void testFreeList01() throws ReflectiveOperationException {
+        ArrayRBTreeMap<Integer, Integer> map = new ArrayRBTreeMap<>(1000);
+        Map<Integer, Integer> expected = new TreeMap<>();
+        int capacity = map.getCapacity();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 1000; i++) {
+                map.put(round * 1000 + i, i);
+                expected.put(round * 1000 + i, i);
+            }
+            assertValidArrays(expected, map);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, map.remove(round * 1000 + i));
+                expected.remove(round * 1000 + i);
+                if (i % 100 == 0) {
+                    assertValidArrays(expected, map);
+                }
+            }
+            assertTrue(map.isEmpty());
+            assertValidArrays(expected, map);
+        }
+        assertEquals(capacity, map.getCapacity());
+        for (int i = 0; i < 1001; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.getCapacity() > capacity);
+    }
+}
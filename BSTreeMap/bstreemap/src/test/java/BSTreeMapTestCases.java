@@ -10,6 +10,11 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -303,4 +308,149 @@ public class BSTreeMapTestCases {
         assertEquals(2.333333333333333, map.successfulSearchCost(), DELTA);
         assertEquals(2.857142857142857, map.unsuccessfulSearchCost(), DELTA);
     }
+
+    /**
+     * Applies batches of every size, from a few keys to several times the
+     * size of the tree, so that both the one-at-a-time and the merging paths
+     * run, and checks the tree against java.util.TreeMap after each batch.
+     */
+    @Test
+    public void testBulk01() {
+        BSTreeMap<Integer, Integer> map = new BSTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            int batchSize = 1 << random.nextInt(12);
+            Pair<Integer, Integer>[] pairs = new Pair[batchSize];
+            Integer[] keys = new Integer[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                int key = random.nextInt(5000);
+                pairs[i] = new Pair<>(key, round * 10000 + i);
+                expected.put(key, round * 10000 + i);
+                keys[i] = random.nextInt(5000);
+            }
+            map.putAll(pairs);
+            assertEquals(expected.size(), map.size());
+
+            Integer[] values = new Integer[batchSize];
+            map.getAll(keys, values);
+            for (int i = 0; i < batchSize; i++) {
+                assertEquals(expected.get(keys[i]), values[i]);
+            }
+
+            if (round % 2 == 0) {
+                int removed = 0;
+                for (Integer key : keys) {
+                    if (expected.remove(key) != null) {
+                        removed++;
+                    }
+                }
+                assertEquals(removed, map.removeAll(keys));
+                assertEquals(expected.size(), map.size());
+            }
+
+            Iterator<Entry<Integer, Integer>> iter = map.iterator();
+            for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+                assertEquals(e.getKey(), iter.next().key);
+                assertEquals(e.getValue(), map.get(e.getKey()));
+            }
+            assertFalse(iter.hasNext());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> map.getAll(new Integer[2], new Integer[1]));
+    }
+
+    /**
+     * Checks the navigation methods and the range views against
+     * java.util.TreeMap on random trees, including after removals.
+     */
+    @Test
+    public void testRange01() {
+        BSTreeMap<Integer, Integer> map = new BSTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        assertNull(map.firstKey());
+        assertNull(map.lastKey());
+        assertNull(map.floorKey(5));
+        assertTrue(map.subMap(0, 10).isEmpty());
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(1000) * 2;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            int key = random.nextInt(1000) * 2;
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertEquals(expected.firstKey(), map.firstKey());
+        assertEquals(expected.lastKey(), map.lastKey());
+        for (int key = -3; key < 2003; key++) {
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+            assertEquals(expected.lowerKey(key), map.lowerKey(key));
+            assertEquals(expected.higherKey(key), map.higherKey(key));
+        }
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(2100) - 50, hi = lo + random.nextInt(300);
+            assertRange(expected.subMap(lo, hi), map.subMap(lo, hi));
+            assertRange(expected.headMap(hi), map.headMap(hi));
+            assertRange(expected.tailMap(lo), map.tailMap(lo));
+        }
+
+        SubMap<Integer, Integer> view = map.subMap(100, 200);
+        assertNull(view.put(101, -1));
+        assertEquals(-1, map.get(101));
+        assertEquals(-1, view.remove(101));
+        assertNull(map.get(101));
+        assertNull(view.get(expected.ceilingKey(200)));
+        assertNull(view.remove(expected.ceilingKey(200)));
+        assertThrows(IllegalArgumentException.class, () -> view.put(200, 0));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(2, 1));
+    }
+
+    /**
+     * createBST() builds and returns a subtree of the given range without
+     * touching the map's own root or size.
+     */
+    @Test
+    public void testCreateBST03() throws NoSuchMethodException,
+            InvocationTargetException, IllegalAccessException {
+        BSTreeMap<Integer, Integer> map = new BSTreeMap<>();
+        map.put(100, 100);
+        map.put(200, 200);
+        Node<Integer, Integer> root = map.root;
+        Pair<Integer, Integer>[] pairs = new Pair[10];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new Pair<>(i, i * 10);
+        }
+        Method createBST = BSTreeMap.class.getDeclaredMethod("createBST",
+                Pair[].class, int.class, int.class);
+        createBST.setAccessible(true);
+        Node<Integer, Integer> subtree =
+                (Node<Integer, Integer>)createBST.invoke(map, pairs, 2, 6);
+        assertEquals(4, subtree.key);
+        assertEquals(2, subtree.getLeft().key);
+        assertEquals(5, subtree.getRight().key);
+        assertNull(subtree.getParent());
+        assertSame(root, map.root);
+        assertEquals(2, map.size());
+        assertNull(createBST.invoke(map, pairs, 3, 2));
+    }
+
+    private static void assertRange(SortedMap<Integer, Integer> expected,
+                                    SubMap<Integer, Integer> view) {
+        assertEquals(expected.size(), view.size());
+        assertEquals(expected.isEmpty(), view.isEmpty());
+        assertEquals(expected.isEmpty() ? null : expected.firstKey(),
+                     view.firstKey());
+        assertEquals(expected.isEmpty() ? null : expected.lastKey(),
+                     view.lastKey());
+        Iterator<Entry<Integer, Integer>> iter = view.iterator();
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            Entry<Integer, Integer> entry = iter.next();
+            assertEquals(e.getKey(), entry.key);
+            assertEquals(e.getValue(), view.get(entry.key));
+        }
+        assertFalse(iter.hasNext());
+    }
 }
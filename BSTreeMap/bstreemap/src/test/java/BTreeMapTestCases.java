@@ -0,0 +1,170 @@
+/**
+ * Test cases for BTreeMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import bstreemap.BTreeMap;
+import bstreemap.Entry;
+import bstreemap.Pair;
+import bstreemap.RBTreeMap;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("unchecked")
+public class BTreeMapTestCases {
+
+    /**
+     * Walks the nodes of the tree and checks that the root holds at least
+     * one key and every other node from t - 1 to 2t - 1, that the slots past
+     * the last key are empty, and that every leaf is at depth height(). The
+     * keys, read in order, must be those of expected, with the same values,
+     * and iterator() must return them in the same order.
+     */
+    private static void assertValidBTree(Map<Integer, Integer> expected,
+                                         BTreeMap<Integer, Integer> map)
+            throws ReflectiveOperationException {
+        Iterator<Map.Entry<Integer, Integer>> wanted =
+                expected.entrySet().iterator();
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        Object root = field(map, "root");
+        if (root == null) {
+            assertEquals(-1, map.height());
+        } else {
+            assertValidNode(root, 0, map, wanted, iter);
+        }
+        assertFalse(wanted.hasNext());
+        assertFalse(iter.hasNext());
+        assertEquals(expected.size(), map.size());
+    }
+
+    private static void assertValidNode(Object node, int depth,
+            BTreeMap<Integer, Integer> map,
+            Iterator<Map.Entry<Integer, Integer>> wanted,
+            Iterator<Entry<Integer, Integer>> iter)
+            throws ReflectiveOperationException {
+        Object[] keys = (Object[])field(node, "keys");
+        Object[] values = (Object[])field(node, "values");
+        Object[] children = (Object[])field(node, "children");
+        int n = (int)field(node, "n");
+        int t = map.getMinDegree();
+        assertTrue(n >= (depth == 0 ? 1 : t - 1) && n <= 2 * t - 1,
+                   n + " keys at depth " + depth);
+        for (int i = n; i < keys.length; i++) {
+            assertNull(keys[i]);
+            assertNull(values[i]);
+        }
+        if (children == null) {
+            assertEquals(map.height(), depth);
+        } else {
+            for (int i = n + 1; i < children.length; i++) {
+                assertNull(children[i]);
+            }
+        }
+        for (int i = 0; i <= n; i++) {
+            if (children != null) {
+                assertValidNode(children[i], depth + 1, map, wanted, iter);
+            }
+            if (i < n) {
+                Map.Entry<Integer, Integer> e = wanted.next();
+                assertEquals(e.getKey(), keys[i]);
+                assertEquals(e.getValue(), values[i]);
+                assertEquals(e.getKey(), iter.next().key);
+            }
+        }
+    }
+
+    private static Object field(Object object, String name)
+            throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    @Test
+    public void testBasics01() {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>(2);
+        assertEquals(-1, map.height());
+        assertEquals("[]", map.toString());
+        assertEquals(0, map.successfulSearchCost());
+        assertFalse(map.iterator().hasNext());
+        for (int i = 1; i <= 3; i++) {
+            assertNull(map.put(i, i));
+        }
+        assertEquals(0, map.height());
+        // Splits the full root.
+        assertNull(map.put(4, 4));
+        assertEquals(1, map.height());
+        assertEquals(4, map.put(4, 40));
+        assertNull(map.put(5, null));
+        assertNull(map.remove(5));
+        assertNull(map.remove(5));
+        assertEquals("[<1, 1>, <2, 2>, <3, 3>, <4, 40>]", map.toString());
+        assertEquals(1.75, map.successfulSearchCost(), 1e-9);
+        assertEquals(2, map.unsuccessfulSearchCost(), 1e-9);
+        for (int i = 1; i <= 4; i++) {
+            assertNotNull(map.remove(i));
+        }
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.height());
+        assertThrows(IllegalArgumentException.class, () -> new BTreeMap<>(1));
+    }
+
+    /**
+     * Mixes insertions and removals on trees of several degrees, so every
+     * case of splitting, borrowing, and merging runs at every level, and
+     * checks the tree against java.util.TreeMap.
+     */
+    @Test
+    public void testRandom01() throws ReflectiveOperationException {
+        for (int degree : new int[] { 2, 3, 4, 32 }) {
+            Random random = new Random(degree);
+            BTreeMap<Integer, Integer> map = new BTreeMap<>(degree);
+            Map<Integer, Integer> expected = new TreeMap<>();
+            for (int round = 0; round < 30000; round++) {
+                int key = random.nextInt(3000);
+                if (random.nextInt(2) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.put(key, round),
+                                 map.put(key, round));
+                }
+                if (round % 3000 == 0) {
+                    assertValidBTree(expected, map);
+                }
+            }
+            assertValidBTree(expected, map);
+            // A B-tree of minimum degree t and n keys has height at most
+            // log_t((n + 1) / 2).
+            double bound = Math.log((map.size() + 1) / 2.0) / Math.log(degree);
+            assertTrue(map.height() <= bound + 1e-9);
+            assertEquals(map.height() + 1, map.unsuccessfulSearchCost());
+            for (Integer key : expected.keySet().toArray(new Integer[0])) {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertTrue(map.isEmpty());
+            assertEquals(-1, map.height());
+        }
+    }
+
+    @Test
+    public void testCosts01() {
+        Pair<Integer, Integer>[] pairs = new Pair[100000];
+        Random random = new Random(1);
+        for (int i = 0; i < pairs.length; i++) {
+            int key = random.nextInt();
+            pairs[i] = new Pair<>(key, key);
+        }
+        BTreeMap<Integer, Integer> btree = new BTreeMap<>(pairs);
+        RBTreeMap<Integer, Integer> rbt = new RBTreeMap<>(pairs);
+        assertEquals(rbt.size(), btree.size());
+        assertEquals(2, btree.height());
+        assertTrue(btree.successfulSearchCost() < 3);
+        assertTrue(rbt.successfulSearchCost() > 15);
+    }
+}
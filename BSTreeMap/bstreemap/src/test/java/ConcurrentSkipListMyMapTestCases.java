@@ -0,0 +1,327 @@
+/**
+ * Test cases for ConcurrentSkipListMyMap. The stress tests run several
+ * threads against one map and check the results against java.util.TreeMap
+ * run on a single thread.
+ */
+import org.junit.jupiter.api.Test;
+
+import bstreemap.ConcurrentSkipListMyMap;
+import bstreemap.Entry;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentSkipListMyMapTestCases {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testBasics01() {
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        assertTrue(map.isEmpty());
+        assertEquals("[]", map.toString());
+        assertNull(map.put(2, 20));
+        assertNull(map.put(1, 10));
+        assertNull(map.put(3, null));
+        assertEquals(20, map.put(2, 21));
+        assertEquals(3, map.size());
+        assertEquals("[<1, 10>, <2, 21>, <3, null>]", map.toString());
+        assertNull(map.get(3));
+        assertNull(map.remove(3));
+        assertNull(map.remove(3));
+        assertEquals(2, map.size());
+        assertEquals(10, map.remove(1));
+        assertNull(map.get(1));
+        assertNull(map.put(1, 11));
+        assertEquals("[<1, 11>, <2, 21>]", map.toString());
+    }
+
+    @Test
+    public void testRandom01() throws ReflectiveOperationException {
+        Random random = new Random(7);
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        for (int round = 0; round < 100000; round++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, round), map.put(key, round));
+            }
+        }
+        assertValidSkipList(expected, map);
+    }
+
+    /**
+     * Each thread runs a random mix of puts and removes over keys that
+     * interleave with every other thread's, so threads contend for the same
+     * links but each key's history is sequential. Each return value must
+     * match what TreeMap returns when the same thread's operations are
+     * replayed on a single thread, and so must the final contents.
+     */
+    @Test
+    public void testInterleavedKeysMatchSequentialReplay() throws Exception {
+        int opsPerThread = 40000, keysPerThread = 2000;
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        int[][] keys = new int[THREADS][opsPerThread];
+        boolean[][] isPut = new boolean[THREADS][opsPerThread];
+        Integer[][] results = new Integer[THREADS][opsPerThread];
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < opsPerThread; i++) {
+                keys[t][i] = random.nextInt(keysPerThread) * THREADS + t;
+                isPut[t][i] = random.nextInt(3) != 0;
+            }
+        }
+        runConcurrently(t -> {
+            for (int i = 0; i < opsPerThread; i++) {
+                results[t][i] = isPut[t][i]
+                        ? map.put(keys[t][i], t * opsPerThread + i)
+                        : map.remove(keys[t][i]);
+            }
+        });
+
+        Map<Integer, Integer> expected = new TreeMap<>();
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < opsPerThread; i++) {
+                Integer result = isPut[t][i]
+                        ? expected.put(keys[t][i], t * opsPerThread + i)
+                        : expected.remove(keys[t][i]);
+                assertEquals(result, results[t][i],
+                        "thread " + t + ", operation " + i);
+            }
+        }
+        assertValidSkipList(expected, map);
+    }
+
+    /**
+     * All threads put unique values into and remove from a small set of shared
+     * keys. In any linearizable history every value written is returned by
+     * exactly one later put or remove on its key, or is still in the map at
+     * the end; none is lost and none is returned twice.
+     */
+    @Test
+    public void testSharedKeysConserveValues() throws Exception {
+        int opsPerThread = 50000, numKeys = 32;
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        List<List<Integer>> returned = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            returned.add(new ArrayList<>());
+        }
+        runConcurrently(t -> {
+            Random random = new Random(100 + t);
+            List<Integer> mine = returned.get(t);
+            for (int i = 0; i < opsPerThread; i++) {
+                int key = random.nextInt(numKeys);
+                Integer result = random.nextInt(2) != 0
+                        ? map.put(key, t * opsPerThread + i)
+                        : map.remove(key);
+                if (result != null) {
+                    mine.add(result);
+                }
+            }
+        });
+
+        Set<Integer> written = new HashSet<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(100 + t);
+            for (int i = 0; i < opsPerThread; i++) {
+                random.nextInt(numKeys);
+                if (random.nextInt(2) != 0) {
+                    written.add(t * opsPerThread + i);
+                }
+            }
+        }
+        Set<Integer> accounted = new HashSet<>();
+        for (List<Integer> values : returned) {
+            for (Integer value : values) {
+                assertTrue(accounted.add(value), "returned twice");
+            }
+        }
+        int remaining = 0;
+        for (int key = 0; key < numKeys; key++) {
+            Integer value = map.get(key);
+            if (value != null) {
+                assertTrue(accounted.add(value), "returned and kept");
+                remaining++;
+            }
+        }
+        assertEquals(written, accounted);
+        assertEquals(remaining, map.size());
+    }
+
+    /**
+     * Iterators running alongside writers must return keys in strictly
+     * increasing order and must see every key that no writer touches.
+     */
+    @Test
+    public void testIteratorsDuringUpdates() throws Exception {
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 10, i);
+        }
+        runConcurrently(t -> {
+            if (t % 2 == 0) {
+                Random random = new Random(t);
+                for (int i = 0; i < 100000; i++) {
+                    int key = random.nextInt(10000) * 10 + 1 + t;
+                    if (random.nextBoolean()) {
+                        map.put(key, i);
+                    } else {
+                        map.remove(key);
+                    }
+                }
+            } else {
+                for (int round = 0; round < 50; round++) {
+                    int previous = Integer.MIN_VALUE, stable = 0;
+                    for (Iterator<Entry<Integer, Integer>> iter =
+                            map.iterator(); iter.hasNext(); ) {
+                        int key = iter.next().key;
+                        assertTrue(key > previous);
+                        previous = key;
+                        if (key % 10 == 0) {
+                            stable++;
+                        }
+                    }
+                    assertEquals(1000, stable);
+                }
+            }
+        });
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, map.get(i * 10));
+        }
+    }
+
+    /**
+     * One thread removes and re-puts a single key while the others keep
+     * putting new nodes for it, so puts are often still raising a node that
+     * has already been removed and replaced. Only the first thread removes,
+     * so the key must be present from the end of each of its puts until its
+     * next remove, however the dead nodes were linked.
+     */
+    @Test
+    public void testGetAfterRemoveAndReput() throws Exception {
+        ConcurrentSkipListMyMap<Integer, Integer> map =
+                new ConcurrentSkipListMyMap<>();
+        for (int i = 0; i < 64; i++) {
+            map.put(i * 2, i);
+        }
+        int key = 63;
+        runConcurrently(t -> {
+            for (int i = 0; i < 100000; i++) {
+                if (t == 0) {
+                    map.remove(key);
+                    map.put(key, i);
+                    assertNotNull(map.get(key), "round " + i);
+                } else if (t % 2 == 1) {
+                    map.put(key, -i);
+                } else {
+                    map.get(key);
+                }
+            }
+        });
+        assertNotNull(map.get(key));
+    }
+
+    /**
+     * Checks the links of a map that no thread is changing. Each level must
+     * hold its keys in increasing order, with no marker or deleted node left
+     * linked, every node of a level must also be linked into the level below,
+     * and the head must have no links at or above maxLevels. The bottom level
+     * must hold exactly the keys of expected, which get() must map to the same
+     * values and iterator() must return in the same order.
+     */
+    private static void assertValidSkipList(Map<Integer, Integer> expected,
+            ConcurrentSkipListMyMap<Integer, Integer> map)
+            throws ReflectiveOperationException {
+        Object head = field(map, "head");
+        Object[] headLinks = (Object[])field(head, "next");
+        int maxLevels = (int)field(map, "maxLevels");
+        for (int level = maxLevels; level < headLinks.length; level++) {
+            assertNull(headLinks[level], "link at level " + level);
+        }
+        Set<Object> below = null;
+        for (int level = 0; level < maxLevels; level++) {
+            Set<Object> linked =
+                    Collections.newSetFromMap(new IdentityHashMap<>());
+            Integer previous = null;
+            for (Object node = headLinks[level]; node != null;
+                    node = ((Object[])field(node, "next"))[level]) {
+                assertEquals("SkipNode", node.getClass().getSimpleName());
+                assertNotNull(field(node, "value"), "deleted node linked");
+                Integer key = (Integer)field(node, "key");
+                assertTrue(previous == null || previous < key,
+                           key + " after " + previous);
+                assertTrue(below == null || below.contains(node),
+                           key + " missing below level " + level);
+                linked.add(node);
+                previous = key;
+            }
+            below = linked;
+        }
+
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        Object node = headLinks[0];
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertEquals(e.getKey(), field(node, "key"));
+            assertEquals(e.getValue(), map.get(e.getKey()));
+            assertEquals(e.getKey(), iter.next().key);
+            node = ((Object[])field(node, "next"))[0];
+        }
+        assertNull(node);
+        assertFalse(iter.hasNext());
+        assertEquals(expected.size(), map.size());
+    }
+
+    private static Object field(Object object, String name)
+            throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        Thread[] threads = new Thread[THREADS];
+        Throwable[] failures = new Throwable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    barrier.await();
+                    worker.run(id);
+                } catch (Throwable e) {
+                    failures[id] = e;
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) {
+            threads[t].join();
+            if (failures[t] != null) {
+                throw new AssertionError("thread " + t + " failed",
+                                         failures[t]);
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Test cases for PersistentRBTreeMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import bstreemap.BSTreeMap;
+import bstreemap.Entry;
+import bstreemap.Pair;
+import bstreemap.PersistentRBTreeMap;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("unchecked")
+public class PersistentRBTreeMapTestCases {
+
+    /**
+     * Walks the nodes of one version of the map and checks the rules of a
+     * left-leaning red-black tree: no red right child, no red node with a red
+     * left child, and as many black nodes on every path from the root to a
+     * null link. Each node must hold the size of its subtree, and the keys
+     * and values, in order, must be those of expected, as must the keys that
+     * iterator() returns.
+     */
+    private static void assertValidTree(Map<Integer, Integer> expected,
+            PersistentRBTreeMap<Integer, Integer> map)
+            throws ReflectiveOperationException {
+        Iterator<Map.Entry<Integer, Integer>> wanted =
+                expected.entrySet().iterator();
+        Object root = field(map, "root");
+        assertFalse(isRed(root));
+        blackHeight(root, wanted);
+        assertFalse(wanted.hasNext());
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, iter.next().key);
+        }
+        assertFalse(iter.hasNext());
+        assertEquals(expected.size(), map.size());
+    }
+
+    private static int blackHeight(Object node,
+            Iterator<Map.Entry<Integer, Integer>> wanted)
+            throws ReflectiveOperationException {
+        if (node == null) {
+            return 0;
+        }
+        Object left = field(node, "left"), right = field(node, "right");
+        assertFalse(isRed(right), "red right child");
+        assertFalse(isRed(node) && isRed(left), "two reds in a row");
+        int leftHeight = blackHeight(left, wanted);
+        Map.Entry<Integer, Integer> e = wanted.next();
+        assertEquals(e.getKey(), field(node, "key"));
+        assertEquals(e.getValue(), field(node, "value"));
+        assertEquals(leftHeight, blackHeight(right, wanted));
+        assertEquals(1 + size(left) + size(right), size(node));
+        return leftHeight + (isRed(node) ? 0 : 1);
+    }
+
+    /**
+     * Returns the nodes of one version of the map in key order.
+     */
+    private static List<Object> nodes(PersistentRBTreeMap<Integer, Integer> map)
+            throws ReflectiveOperationException {
+        List<Object> nodes = new ArrayList<>();
+        addNodes(field(map, "root"), nodes);
+        return nodes;
+    }
+
+    private static void addNodes(Object node, List<Object> nodes)
+            throws ReflectiveOperationException {
+        if (node != null) {
+            addNodes(field(node, "left"), nodes);
+            nodes.add(node);
+            addNodes(field(node, "right"), nodes);
+        }
+    }
+
+    private static boolean isRed(Object node)
+            throws ReflectiveOperationException {
+        return node != null && (boolean)field(node, "color");
+    }
+
+    private static int size(Object node) throws ReflectiveOperationException {
+        return node == null ? 0 : (int)field(node, "size");
+    }
+
+    private static Object field(Object object, String name)
+            throws ReflectiveOperationException {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    @Test
+    public void testBasics01() {
+        PersistentRBTreeMap<Integer, Integer> map =
+                new PersistentRBTreeMap<>();
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.height());
+        assertEquals(0, map.successfulSearchCost());
+        assertEquals(0, map.unsuccessfulSearchCost());
+        assertNull(map.put(2, 20));
+        assertNull(map.put(1, 10));
+        assertNull(map.put(3, null));
+        assertEquals(20, map.put(2, 21));
+        assertEquals("[<1, 10>, <2, 21>, <3, null>]", map.toString());
+        assertNull(map.remove(3));
+        assertNull(map.remove(3));
+        assertEquals(10, map.remove(1));
+        assertEquals(21, map.remove(2));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Random insertions and removals checked against java.util.TreeMap, with
+     * the height kept within the red-black bound of 2 lg(n + 1).
+     */
+    @Test
+    public void testRandom01() throws ReflectiveOperationException {
+        Random random = new Random(24);
+        PersistentRBTreeMap<Integer, Integer> map =
+                new PersistentRBTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        for (int round = 0; round < 60000; round++) {
+            int key = random.nextInt(4000);
+            if (random.nextInt(5) < 2) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, round), map.put(key, round));
+            }
+            if (round % 1000 == 0) {
+                assertValidTree(expected, map);
+                double bound = 2 * Math.log(map.size() + 1) / Math.log(2);
+                assertTrue(map.height() <= bound);
+            }
+        }
+        assertValidTree(expected, map);
+    }
+
+    /**
+     * Every snapshot must keep exactly the nodes it had when it was taken,
+     * however the map and the other snapshots change afterwards, and each
+     * update must copy only a path of the tree, sharing every other node with
+     * the version before it.
+     */
+    @Test
+    public void testSnapshots01() throws ReflectiveOperationException {
+        Random random = new Random(7);
+        PersistentRBTreeMap<Integer, Integer> map =
+                new PersistentRBTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        List<PersistentRBTreeMap<Integer, Integer>> snapshots =
+                new ArrayList<>();
+        List<Map<Integer, Integer>> contents = new ArrayList<>();
+        List<List<Object>> versions = new ArrayList<>();
+        for (int round = 0; round < 20000; round++) {
+            int key = random.nextInt(1000);
+            Set<Object> before = null;
+            if (round % 100 == 0) {
+                before = Collections.newSetFromMap(new IdentityHashMap<>());
+                before.addAll(nodes(map));
+            }
+            if (random.nextBoolean()) {
+                map.put(key, round);
+                expected.put(key, round);
+            } else {
+                map.remove(key);
+                expected.remove(key);
+            }
+            if (before != null) {
+                // The path to the change, and the few nodes that rotations
+                // and color flips rebuild beside it.
+                int copied = 0;
+                for (Object node : nodes(map)) {
+                    if (!before.contains(node)) {
+                        copied++;
+                    }
+                }
+                assertTrue(copied <= 3 * (map.height() + 1),
+                           copied + " nodes copied");
+            }
+            if (round % 500 == 0) {
+                snapshots.add(map.snapshot());
+                contents.add(new TreeMap<>(expected));
+                versions.add(nodes(snapshots.get(snapshots.size() - 1)));
+            }
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            List<Object> nodes = nodes(snapshots.get(i));
+            assertEquals(versions.get(i).size(), nodes.size());
+            for (int j = 0; j < nodes.size(); j++) {
+                assertSame(versions.get(i).get(j), nodes.get(j));
+            }
+            assertValidTree(contents.get(i), snapshots.get(i));
+        }
+        // A snapshot can be changed on its own without touching the map.
+        PersistentRBTreeMap<Integer, Integer> branch = snapshots.get(3);
+        Map<Integer, Integer> branchContents = contents.get(3);
+        for (int key = 0; key < 1000; key += 3) {
+            assertEquals(branchContents.remove(key), branch.remove(key));
+        }
+        assertValidTree(branchContents, branch);
+        assertValidTree(expected, map);
+    }
+
+    /**
+     * The writer inserts 0, 1, 2, ... in order, so every consistent version
+     * holds exactly the keys 0 to size - 1. Readers check that of every
+     * snapshot they take while the writer runs.
+     */
+    @Test
+    public void testReadersDuringWrites() throws Exception {
+        PersistentRBTreeMap<Integer, Integer> map =
+                new PersistentRBTreeMap<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Throwable[] failure = new Throwable[1];
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    PersistentRBTreeMap<Integer, Integer> view = map.snapshot();
+                    int expected = 0;
+                    for (Iterator<Entry<Integer, Integer>> iter =
+                            view.iterator(); iter.hasNext(); ) {
+                        assertEquals(expected++, iter.next().key);
+                    }
+                    assertEquals(expected, view.size());
+                }
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+        }
+        done.set(true);
+        reader.join();
+        assertNull(failure[0]);
+    }
+
+    @Test
+    public void testCosts01() {
+        // Ascending insertions of 2^k - 1 keys give a perfect tree, whose
+        // costs must equal those of BSTreeMap's balanced tree.
+        Pair<Integer, Integer>[] pairs = new Pair[127];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new Pair<>(i, i);
+        }
+        PersistentRBTreeMap<Integer, Integer> map =
+                new PersistentRBTreeMap<>(pairs);
+        BSTreeMap<Integer, Integer> balanced = new BSTreeMap<>(pairs, true);
+        assertEquals(balanced.height(), map.height());
+        assertEquals(balanced.successfulSearchCost(),
+                     map.successfulSearchCost(), 1e-9);
+        assertEquals(balanced.unsuccessfulSearchCost(),
+                     map.unsuccessfulSearchCost(), 1e-9);
+        assertEquals(balanced.sumLevels(), map.sumLevels());
+        assertEquals(balanced.sumNullLevels(), map.sumNullLevels());
+    }
+}
@@ -10,12 +10,20 @@
 
 import org.junit.jupiter.api.Test;
 
+import bstreemap.Entry;
 import bstreemap.Node;
 import bstreemap.Pair;
 import bstreemap.RBTreeMap;
+import bstreemap.SubMap;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -177,4 +185,304 @@ public class RBTreeMapTestCases {
         assertEquals(2.333333333333333, map.successfulSearchCost(), DELTA);
         assertEquals(2.857142857142857, map.unsuccessfulSearchCost(), DELTA);
     }
+
+    /**
+     * Returns the number of black nodes on every path from the node to a
+     * null, or -1 if the paths differ or a red node has a red child.
+     */
+    private int blackHeight(Node<Integer, Integer> node) {
+        if (node == null) {
+            return 0;
+        }
+        boolean red = node.toString().endsWith("R>");
+        int left = blackHeight(node.getLeft());
+        int right = blackHeight(node.getRight());
+        if (left < 0 || left != right || red && (isRed(node.getLeft())
+                || isRed(node.getRight()))) {
+            return -1;
+        }
+        return left + (red ? 0 : 1);
+    }
+
+    private boolean isRed(Node<Integer, Integer> node) {
+        return node != null && node.toString().endsWith("R>");
+    }
+
+    /**
+     * Applies batches of every size, from a few keys to several times the
+     * size of the tree, so that both the one-at-a-time and the merging paths
+     * run, and checks the tree against java.util.TreeMap after each batch.
+     */
+    @Test
+    public void testBulk01() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        Map<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            int batchSize = 1 << random.nextInt(12);
+            Pair<Integer, Integer>[] pairs = new Pair[batchSize];
+            Integer[] keys = new Integer[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                int key = random.nextInt(5000);
+                pairs[i] = new Pair<>(key, round * 10000 + i);
+                expected.put(key, round * 10000 + i);
+                keys[i] = random.nextInt(5000);
+            }
+            map.putAll(pairs);
+            assertEquals(expected.size(), map.size());
+
+            Integer[] values = new Integer[batchSize];
+            map.getAll(keys, values);
+            for (int i = 0; i < batchSize; i++) {
+                assertEquals(expected.get(keys[i]), values[i]);
+            }
+
+            if (round % 2 == 0) {
+                int removed = 0;
+                for (Integer key : keys) {
+                    if (expected.remove(key) != null) {
+                        removed++;
+                    }
+                }
+                assertEquals(removed, map.removeAll(keys));
+                assertEquals(expected.size(), map.size());
+            }
+
+            Iterator<Entry<Integer, Integer>> iter = map.iterator();
+            for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+                assertEquals(e.getKey(), iter.next().key);
+                assertEquals(e.getValue(), map.get(e.getKey()));
+            }
+            assertFalse(iter.hasNext());
+            assertTrue(blackHeight(map.root) >= 0);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> map.getAll(new Integer[2], new Integer[1]));
+    }
+
+    /**
+     * The sorted constructor must give a valid red-black tree with a black
+     * root and correct subtree sizes at every size, including a single node.
+     */
+    @Test
+    public void testSortedConstructor01() {
+        for (int n : new int[] { 0, 1, 2, 3, 7, 8, 100, 8192 }) {
+            Pair<Integer, Integer>[] pairs = new Pair[n];
+            for (int i = 0; i < n; i++) {
+                pairs[i] = new Pair<>(i, i);
+            }
+            RBTreeMap<Integer, Integer> map = new RBTreeMap<>(pairs, true);
+            assertEquals(n, map.size());
+            assertTrue(blackHeight(map.root) >= 0);
+            assertFalse(isRed(map.root));
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, map.select(i));
+            }
+        }
+    }
+
+    /**
+     * Loads unsorted pairs with duplicate keys, at sizes on both sides of
+     * the parallel threshold and at powers of two, and checks the contents,
+     * the red-black properties, and the subtree sizes. Puts and removes
+     * afterwards must still keep the tree valid.
+     */
+    @Test
+    public void testBulkLoad01() {
+        Random random = new Random(23);
+        for (int n : new int[] { 0, 1, 2, 7, 8, 1000, 8192, 65536, 100003 }) {
+            RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+            map.put(-1, -1);
+            Map<Integer, Integer> expected = new TreeMap<>();
+            Pair<Integer, Integer>[] pairs = new Pair[n];
+            for (int i = 0; i < n; i++) {
+                int key = random.nextInt(Math.max(1, n));
+                pairs[i] = new Pair<>(key, i);
+                expected.put(key, i);
+            }
+            map.bulkLoad(pairs);
+            assertEquals(expected.size(), map.size());
+            assertTrue(blackHeight(map.root) >= 0);
+            assertFalse(isRed(map.root));
+            Iterator<Entry<Integer, Integer>> iter = map.iterator();
+            int rank = 0;
+            for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+                assertEquals(e.getKey(), iter.next().key);
+                assertEquals(e.getValue(), map.get(e.getKey()));
+                assertEquals(e.getKey(), map.select(rank));
+                assertEquals(rank++, map.rank(e.getKey()));
+            }
+            assertFalse(iter.hasNext());
+
+            for (int round = 0; round < 2000; round++) {
+                int key = random.nextInt(Math.max(1, n) + 100);
+                if (random.nextBoolean()) {
+                    assertEquals(expected.put(key, round), map.put(key, round));
+                } else {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            assertTrue(blackHeight(map.root) >= 0);
+        }
+    }
+
+    /**
+     * Checks rank(), select(), and countInRange() against a sorted list of
+     * the keys after random insertions and removals, which rotate the tree
+     * in every way the fixups can, and after bulk operations, which rebuild
+     * it.
+     */
+    @Test
+    public void testOrderStatistics01() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random random = new Random(11);
+        for (int round = 0; round < 40; round++) {
+            for (int i = 0; i < 100; i++) {
+                int key = random.nextInt(400);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    map.put(key, i);
+                    expected.put(key, i);
+                }
+            }
+            if (round % 10 == 9) {
+                Pair<Integer, Integer>[] pairs = new Pair[300];
+                Integer[] removed = new Integer[300];
+                for (int i = 0; i < pairs.length; i++) {
+                    int key = random.nextInt(400);
+                    pairs[i] = new Pair<>(key, i);
+                    expected.put(key, i);
+                    removed[i] = random.nextInt(400);
+                }
+                map.putAll(pairs);
+                for (Integer key : removed) {
+                    expected.remove(key);
+                }
+                map.removeAll(removed);
+            }
+            Integer[] keys = expected.keySet().toArray(new Integer[0]);
+            assertEquals(keys.length, map.size());
+            for (int i = 0; i < keys.length; i++) {
+                assertEquals(keys[i], map.select(i));
+                assertEquals(i, map.rank(keys[i]));
+            }
+            for (int i = 0; i < 50; i++) {
+                int lo = random.nextInt(420) - 10, hi = lo + random.nextInt(100);
+                assertEquals(expected.subMap(lo, hi).size(),
+                             map.countInRange(lo, hi));
+                assertEquals(expected.headMap(lo).size(), map.rank(lo));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.select(-1));
+        assertThrows(IllegalArgumentException.class,
+                     () -> map.select(map.size()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> map.countInRange(5, 4));
+    }
+
+    /**
+     * Checks the navigation methods and the range views against
+     * java.util.TreeMap on random trees, including after removals.
+     */
+    @Test
+    public void testRange01() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        assertNull(map.firstKey());
+        assertNull(map.lastKey());
+        assertNull(map.floorKey(5));
+        assertTrue(map.subMap(0, 10).isEmpty());
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            int key = random.nextInt(1000) * 2;
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            int key = random.nextInt(1000) * 2;
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertEquals(expected.firstKey(), map.firstKey());
+        assertEquals(expected.lastKey(), map.lastKey());
+        for (int key = -3; key < 2003; key++) {
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+            assertEquals(expected.lowerKey(key), map.lowerKey(key));
+            assertEquals(expected.higherKey(key), map.higherKey(key));
+        }
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(2100) - 50, hi = lo + random.nextInt(300);
+            assertRange(expected.subMap(lo, hi), map.subMap(lo, hi));
+            assertRange(expected.headMap(hi), map.headMap(hi));
+            assertRange(expected.tailMap(lo), map.tailMap(lo));
+        }
+
+        SubMap<Integer, Integer> view = map.subMap(100, 200);
+        assertNull(view.put(101, -1));
+        assertEquals(-1, map.get(101));
+        assertEquals(-1, view.remove(101));
+        assertNull(map.get(101));
+        assertNull(view.get(expected.ceilingKey(200)));
+        assertNull(view.remove(expected.ceilingKey(200)));
+        assertThrows(IllegalArgumentException.class, () -> view.put(200, 0));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(2, 1));
+    }
+
+    @Test
+    public void testIterators01() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        assertFalse(map.iterator().hasNext());
+        assertFalse(map.descendingIterator().hasNext());
+        Random random = new Random(22);
+        for (int round = 0; round < 20000; round++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, round), map.put(key, round));
+            }
+        }
+
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, iter.next().key);
+        }
+        assertFalse(iter.hasNext());
+        assertThrows(NoSuchElementException.class, iter::next);
+        Iterator<Entry<Integer, Integer>> desc = map.descendingIterator();
+        for (Integer key : expected.descendingKeySet()) {
+            assertEquals(key, desc.next().key);
+        }
+        assertFalse(desc.hasNext());
+
+        Iterator<Map.Entry<Integer, Integer>> entries =
+                expected.entrySet().iterator();
+        map.forEach((key, value) -> {
+            Map.Entry<Integer, Integer> e = entries.next();
+            assertEquals(e.getKey(), key);
+            assertEquals(e.getValue(), value);
+        });
+        assertFalse(entries.hasNext());
+    }
+
+    private static void assertRange(SortedMap<Integer, Integer> expected,
+                                    SubMap<Integer, Integer> view) {
+        assertEquals(expected.size(), view.size());
+        assertEquals(expected.isEmpty(), view.isEmpty());
+        assertEquals(expected.isEmpty() ? null : expected.firstKey(),
+                     view.firstKey());
+        assertEquals(expected.isEmpty() ? null : expected.lastKey(),
+                     view.lastKey());
+        Iterator<Entry<Integer, Integer>> iter = view.iterator();
+        for (Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            Entry<Integer, Integer> entry = iter.next();
+            assertEquals(e.getKey(), entry.key);
+            assertEquals(e.getValue(), view.get(entry.key));
+        }
+        assertFalse(iter.hasNext());
+    }
 }
@@ -0,0 +1,191 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import bstreemap.AVLTreeMap;
+import bstreemap.ArrayRBTreeMap;
+import bstreemap.BSTreeMap;
+import bstreemap.BTreeMap;
+import bstreemap.Pair;
+import bstreemap.RBTreeMap;
+import hashmap.ConcurrentMyHashMap;
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import hashmap.OpenAddressingHashMap;
+import hashmap.SwissHashMap;
+
+/**
+ * Common view of the map implementations under benchmark. The hashmap and
+ * bstreemap packages each declare their own MyMap and Entry types, so the
+ * benchmarks reach both families through this adapter.
+ * @version 1.0 October 18, 2026
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public interface BenchMap {
+    /** Names accepted by create(), usable as a JMH parameter list. */
+    String MY_HASH_MAP = "MyHashMap", MY_HASH_MAP_POW2 = "MyHashMapPow2",
+           OPEN_ADDRESSING = "OpenAddressingHashMap", SWISS = "SwissHashMap",
+           CONCURRENT = "ConcurrentMyHashMap", BST = "BSTreeMap",
+           RBT = "RBTreeMap", AVL = "AVLTreeMap", BTREE = "BTreeMap",
+           ARRAY_RBT = "ArrayRBTreeMap",
+           MY_HASH_MAP_METRICS = "MyHashMapMetrics";
+
+    Object get(Object key);
+
+    Object put(Object key, Object value);
+
+    Object remove(Object key);
+
+    /**
+     * Returns an iterator over the map's entries, whatever their type.
+     */
+    Iterator<?> iterator();
+
+    /**
+     * Creates the named map holding every key, each mapped to itself. Hash
+     * maps receive the keys in the given order. Trees are built balanced from
+     * the sorted keys, since inserting sequential keys one at a time into a
+     * BSTreeMap would produce a linked list. A BTreeMap and an
+     * ArrayRBTreeMap stay balanced whatever the order, so they receive the
+     * keys like a hash map.
+     * @param impl the implementation name, one of the constants above
+     * @param keys the distinct keys to insert
+     * @return     the populated map
+     */
+    static BenchMap create(String impl, Comparable<?>[] keys) {
+        switch (impl) {
+            case MY_HASH_MAP:
+                return fill(new HashMapAdapter(new MyHashMap()), keys);
+            case MY_HASH_MAP_POW2:
+                return fill(new HashMapAdapter(new MyHashMap(
+                        0, GrowthMode.POWER_OF_TWO)), keys);
+            case MY_HASH_MAP_METRICS:
+                MyHashMap metered = new MyHashMap();
+                metered.setMetricsEnabled(true);
+                return fill(new HashMapAdapter(metered), keys);
+            case OPEN_ADDRESSING:
+                return fill(new HashMapAdapter(
+                        new OpenAddressingHashMap()), keys);
+            case SWISS:
+                return fill(new HashMapAdapter(new SwissHashMap()), keys);
+            case CONCURRENT:
+                return fill(new HashMapAdapter(
+                        new ConcurrentMyHashMap()), keys);
+            case BTREE:
+                BTreeMap btree = new BTreeMap();
+                for (Comparable<?> key : keys) {
+                    btree.put(key, key);
+                }
+                return new TreeMapAdapter(btree);
+            case ARRAY_RBT:
+                ArrayRBTreeMap arrayTree = new ArrayRBTreeMap(keys.length);
+                for (Comparable<?> key : keys) {
+                    arrayTree.put(key, key);
+                }
+                return new TreeMapAdapter(arrayTree);
+            case BST:
+            case RBT:
+            case AVL:
+                Comparable<?>[] sorted = keys.clone();
+                Arrays.sort(sorted);
+                Pair[] pairs = new Pair[sorted.length];
+                for (int i = 0; i < sorted.length; i++) {
+                    pairs[i] = new Pair(sorted[i], sorted[i]);
+                }
+                BSTreeMap tree = impl.equals(BST) ? new BSTreeMap(pairs, true)
+                        : impl.equals(RBT) ? new RBTreeMap(pairs, true)
+                        : new AVLTreeMap(pairs, true);
+                return new TreeMapAdapter(tree);
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown map implementation: " + impl);
+        }
+    }
+
+    private static BenchMap fill(BenchMap map, Comparable<?>[] keys) {
+        for (Comparable<?> key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Adapter for the maps implementing hashmap.MyMap.
+     */
+    final class HashMapAdapter implements BenchMap {
+        private final hashmap.MyMap map;
+        private final Iterable<?> entries;
+
+        HashMapAdapter(MyHashMap map) {
+            this.map = map;
+            this.entries = map::iterator;
+        }
+
+        HashMapAdapter(OpenAddressingHashMap map) {
+            this.map = map;
+            this.entries = map::iterator;
+        }
+
+        HashMapAdapter(SwissHashMap map) {
+            this.map = map;
+            this.entries = map::iterator;
+        }
+
+        HashMapAdapter(ConcurrentMyHashMap map) {
+            this.map = map;
+            this.entries = map::iterator;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get((Comparable)key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return map.put((Comparable)key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return map.remove((Comparable)key);
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return entries.iterator();
+        }
+    }
+
+    /**
+     * Adapter for the maps implementing bstreemap.MyMap.
+     */
+    final class TreeMapAdapter implements BenchMap {
+        private final bstreemap.MyMap map;
+
+        TreeMapAdapter(bstreemap.MyMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return map.get((Comparable)key);
+        }
+
+        @Override
+        public Object put(Object key, Object value) {
+            return map.put((Comparable)key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return map.remove((Comparable)key);
+        }
+
+        @Override
+        public Iterator<?> iterator() {
+            return map.iterator();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import bstreemap.Pair;
+import bstreemap.RBTreeMap;
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the bulk operations putAll() and getAll() with loops of single
+ * put() and get() calls over the same random keys, for MyHashMap and
+ * RBTreeMap. Each put benchmark loads an empty map; each get benchmark looks
+ * up every key in a map already holding them all. Results are per batch.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+public class BulkBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    private Integer[] keys, values, found;
+    private Pair<Integer, Integer>[] pairs;
+    private MyHashMap<Integer, Integer> hashMap;
+    private RBTreeMap<Integer, Integer> treeMap;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Comparable<?>[] shuffled = Workloads.keys(Workloads.INTEGER, size, SEED);
+        keys = new Integer[size];
+        values = new Integer[size];
+        found = new Integer[size];
+        pairs = new Pair[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (Integer)shuffled[i];
+            values[i] = i;
+            pairs[i] = new Pair<>(keys[i], values[i]);
+        }
+        hashMap = new MyHashMap<>(0, GrowthMode.POWER_OF_TWO);
+        hashMap.putAll(keys, values);
+        treeMap = new RBTreeMap<>();
+        treeMap.putAll(pairs);
+    }
+
+    @Benchmark
+    public Object myHashMapPutLoop() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Object myHashMapPutAll() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        map.putAll(keys, values);
+        return map;
+    }
+
+    @Benchmark
+    public Object myHashMapGetLoop() {
+        for (int i = 0; i < size; i++) {
+            found[i] = hashMap.get(keys[i]);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Object myHashMapGetAll() {
+        hashMap.getAll(keys, found);
+        return found;
+    }
+
+    @Benchmark
+    public Object rbTreeMapPutLoop() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Object rbTreeMapPutAll() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        map.putAll(pairs);
+        return map;
+    }
+
+    @Benchmark
+    public Object rbTreeMapGetLoop() {
+        for (int i = 0; i < size; i++) {
+            found[i] = treeMap.get(keys[i]);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Object rbTreeMapGetAll() {
+        treeMap.getAll(keys, found);
+        return found;
+    }
+}
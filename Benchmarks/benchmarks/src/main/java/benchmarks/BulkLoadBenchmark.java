@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bstreemap.Pair;
+import bstreemap.RBTreeMap;
+
+/**
+ * Times building an RBTreeMap from an array of pairs in random order, either
+ * with bulkLoad(), which sorts and builds in parallel on the common
+ * ForkJoinPool, or by sorting the keys on one thread, pairing them up, and
+ * passing the result to the sorted constructor, which builds recursively on
+ * one thread. Results are per load.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = { "-Xms6g", "-Xmx6g" })
+public class BulkLoadBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "1000000", "10000000" })
+    public int size;
+
+    private Integer[] keys;
+    private Pair<Integer, Integer>[] pairs;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Comparable<?>[] shuffled = Workloads.keys(Workloads.INTEGER, size, SEED);
+        keys = new Integer[size];
+        pairs = new Pair[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (Integer)shuffled[i];
+            pairs[i] = new Pair<>(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Object bulkLoad() {
+        RBTreeMap<Integer, Integer> map = new RBTreeMap<>();
+        map.bulkLoad(pairs);
+        return map;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object sortThenBuild() {
+        Integer[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        Pair<Integer, Integer>[] sortedPairs = new Pair[size];
+        for (int i = 0; i < size; i++) {
+            sortedPairs[i] = new Pair<>(sorted[i], sorted[i]);
+        }
+        return new RBTreeMap<>(sortedPairs, true);
+    }
+}
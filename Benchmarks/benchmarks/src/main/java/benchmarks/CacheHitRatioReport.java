@@ -0,0 +1,45 @@
+package benchmarks;
+
+import hashmap.CachingHashMap;
+
+/**
+ * Reports the hit ratios of CachingHashMap's LRU and TINY_LFU policies on
+ * the same read-through workload: Zipfian lookups over a key space ten times
+ * the cache's capacity, interrupted at regular intervals by a scan of keys
+ * that are never used again.
+ * <p>
+ * Usage: java -cp benchmarks.jar benchmarks.CacheHitRatioReport
+ * [capacity]
+ * @version 1.0 October 18, 2026
+ */
+public class CacheHitRatioReport {
+    private static final int SCAN_INTERVAL = 100_000;
+
+    private static void report(String label, int capacity, int[] order,
+                               int policy) {
+        CachingHashMap<Integer, Integer> cache =
+                new CachingHashMap<>(capacity, policy, key -> key);
+        int scanKey = Integer.MIN_VALUE;
+        for (int i = 0; i < order.length; i++) {
+            cache.get(order[i]);
+            if (i % SCAN_INTERVAL == SCAN_INTERVAL - 1) {
+                for (int j = 0; j < capacity; j++) {
+                    cache.get(scanKey++);
+                }
+            }
+        }
+        System.out.printf("%-10s hit ratio %6.2f%% (%,d evictions)%n", label,
+                          100 * cache.getHitRatio(),
+                          cache.getEvictionCount());
+    }
+
+    public static void main(String[] args) {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int[] order = Workloads.accessOrder(Workloads.ZIPFIAN, 10 * capacity,
+                                            100 * capacity, 42);
+        System.out.printf("capacity %,d, %,d Zipfian lookups over %,d keys%n",
+                          capacity, order.length, 10 * capacity);
+        report("LRU", capacity, order, CachingHashMap.LRU);
+        report("TINY_LFU", capacity, order, CachingHashMap.TINY_LFU);
+    }
+}
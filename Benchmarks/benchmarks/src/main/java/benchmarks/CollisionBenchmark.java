@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures MyHashMap.get() when every key has the same hash code, as when an
+ * attacker chooses the keys. The keys are the strings made of blocks of "Aa"
+ * or "BB", which share a hash code because "Aa" and "BB" do. With
+ * treeification the time per lookup should grow with log(size); without it,
+ * every key lands in a single chain and the time grows linearly with size.
+ * @version 1.1 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final long SEED = 42;
+
+    /** The number of "Aa" or "BB" blocks; the map holds 2^blocks keys. */
+    @Param({ "8", "11", "14" })
+    public int blocks;
+
+    @Param({ "true", "false" })
+    public boolean treeifyBins;
+
+    @Param({ "BOUNDED_PRIMES", "POWER_OF_TWO" })
+    public GrowthMode growthMode;
+
+    private MyHashMap<String, String> map;
+    private String[] keys;
+    private int[] order;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new String[1 << blocks];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int bit = 0; bit < blocks; bit++) {
+                builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+        }
+        map = new MyHashMap<>(0, growthMode);
+        map.setTreeifyBins(treeifyBins);
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        order = Workloads.accessOrder(Workloads.RANDOM, keys.length,
+                Workloads.accessOrderLength(keys.length), SEED);
+    }
+
+    @Benchmark
+    public String get() {
+        String key = keys[order[next]];
+        next = (next + 1) & (order.length - 1);
+        return map.get(key);
+    }
+}
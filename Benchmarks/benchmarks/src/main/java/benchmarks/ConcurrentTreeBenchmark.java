@@ -0,0 +1,124 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bstreemap.ConcurrentSkipListMyMap;
+import bstreemap.Entry;
+import bstreemap.MyMap;
+import bstreemap.RBTreeMap;
+
+/**
+ * Measures a mix of get, put, and remove on one ordered map shared by all
+ * benchmark threads, comparing ConcurrentSkipListMyMap with an RBTreeMap
+ * whose every operation holds one lock. Keys are drawn uniformly from twice
+ * the initial size, and writes are half puts and half removes, so the map
+ * stays about half full. Set the number of threads with -t.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class ConcurrentTreeBenchmark {
+    public static final String SKIP_LIST = "ConcurrentSkipListMyMap",
+            SYNCHRONIZED_RBT = "SynchronizedRBTreeMap";
+
+    @Param({ SKIP_LIST, SYNCHRONIZED_RBT })
+    public String impl;
+
+    @Param({ "100000" })
+    public int size;
+
+    @Param({ "50", "90", "99" })
+    public int readPercent;
+
+    private MyMap<Integer, Integer> map;
+
+    /**
+     * Per-thread random source, so threads share nothing but the map.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = impl.equals(SKIP_LIST) ? new ConcurrentSkipListMyMap<>()
+                : new SynchronizedMap<>(new RBTreeMap<Integer, Integer>());
+        Comparable<?>[] keys = Workloads.keys(Workloads.INTEGER, 2 * size, 42);
+        for (int i = 0; i < size; i++) {
+            map.put((Integer)keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Object mixed(ThreadState state) {
+        int roll = state.random.nextInt(200);
+        Integer key = state.random.nextInt(2 * size);
+        if (roll < 2 * readPercent) {
+            return map.get(key);
+        }
+        return (roll & 1) == 0 ? map.put(key, key) : map.remove(key);
+    }
+
+    /**
+     * Makes any MyMap thread-safe by holding the wrapper's lock for every
+     * operation, like Collections.synchronizedMap.
+     */
+    private static class SynchronizedMap<K extends Comparable<K>, V>
+            implements MyMap<K, V> {
+        private final MyMap<K, V> map;
+
+        SynchronizedMap(MyMap<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return map.iterator();
+        }
+    }
+}
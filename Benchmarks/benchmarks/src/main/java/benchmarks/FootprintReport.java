@@ -0,0 +1,165 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import bstreemap.ArrayRBTreeMap;
+import bstreemap.RBTreeMap;
+import hashmap.Codec;
+import hashmap.GrowthMode;
+import hashmap.MappedHashMap;
+import hashmap.MyHashMap;
+import hashmap.SwissHashMap;
+
+/**
+ * Reports the memory footprint of MyHashMap, SwissHashMap, and MappedHashMap
+ * holding the same mappings: the heap retained by each, and for MappedHashMap
+ * the bytes of the file. It then compares RBTreeMap with ArrayRBTreeMap,
+ * grown one put at a time and presized, for Integer keys. Heap use is
+ * measured as the difference in used heap after full garbage collections, so
+ * run with a heap large enough for the biggest map and nothing else running
+ * in the JVM. The serial collector gives the most repeatable numbers.
+ * <p>
+ * Usage: java -XX:+UseSerialGC -cp benchmarks.jar benchmarks.FootprintReport
+ * [number of keys]
+ * @version 1.2 October 18, 2026
+ */
+public class FootprintReport {
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Collect a few times, then until a collection frees nothing more,
+        // since memory released by one collection may only become free in
+        // the next.
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used && i >= 3) {
+                break;
+            }
+            used = Math.min(used, now);
+        }
+        return used;
+    }
+
+    private static void report(String label, int n, long heapBytes) {
+        System.out.printf("%-32s heap %,13d B (%5.1f B/entry)%n", label,
+                          heapBytes, (double)heapBytes / n);
+    }
+
+    private static void reportFile(int n, MappedHashMap<?, ?> map) {
+        long live = map.getUsedBytes() - map.getWastedBytes();
+        System.out.printf("%-32s file %,13d B (%5.1f B/entry), plus %,d B "
+                          + "of outgrown tables%n", "", live,
+                          (double)live / n, map.getWastedBytes());
+    }
+
+    private static void reportMyHashMap(int n, boolean stringKeys) {
+        long before = usedHeap();
+        if (stringKeys) {
+            MyHashMap<String, Integer> map = new MyHashMap<>(0,
+                    GrowthMode.POWER_OF_TWO);
+            for (int i = 0; i < n; i++) {
+                map.put("key" + i, i);
+            }
+            report("MyHashMap<String, Integer>", n, usedHeap() - before);
+            map.put("key0", 0);
+        } else {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>(0,
+                    GrowthMode.POWER_OF_TWO);
+            for (int i = 0; i < n; i++) {
+                map.put(i, i);
+            }
+            report("MyHashMap<Integer, Integer>", n, usedHeap() - before);
+            // Keeps the map reachable until it has been measured.
+            map.put(0, 0);
+        }
+    }
+
+    private static void reportSwissHashMap(int n, boolean stringKeys) {
+        long before = usedHeap();
+        if (stringKeys) {
+            SwissHashMap<String, Integer> map = new SwissHashMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put("key" + i, i);
+            }
+            report("SwissHashMap<String, Integer>", n, usedHeap() - before);
+            map.put("key0", 0);
+        } else {
+            SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put(i, i);
+            }
+            report("SwissHashMap<Integer, Integer>", n, usedHeap() - before);
+            map.put(0, 0);
+        }
+    }
+
+    private static void reportMappedHashMap(int n, boolean stringKeys)
+            throws IOException {
+        Path file = Files.createTempFile("footprint", ".map");
+        try {
+            long before = usedHeap();
+            if (stringKeys) {
+                try (MappedHashMap<String, Integer> map = new MappedHashMap<>(
+                        file, Codec.STRING, Codec.INTEGER)) {
+                    for (int i = 0; i < n; i++) {
+                        map.put("key" + i, i);
+                    }
+                    report("MappedHashMap<String, Integer>", n,
+                           usedHeap() - before);
+                    reportFile(n, map);
+                }
+            } else {
+                try (MappedHashMap<Integer, Integer> map = new MappedHashMap<>(
+                        file, Codec.INTEGER, Codec.INTEGER)) {
+                    for (int i = 0; i < n; i++) {
+                        map.put(i, i);
+                    }
+                    report("MappedHashMap<Integer, Integer>", n,
+                           usedHeap() - before);
+                    reportFile(n, map);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void reportTrees(int n) {
+        long before = usedHeap();
+        RBTreeMap<Integer, Integer> tree = new RBTreeMap<>();
+        for (int i = 0; i < n; i++) {
+            tree.put(i, i);
+        }
+        report("RBTreeMap<Integer, Integer>", n, usedHeap() - before);
+        tree.put(0, 0);
+        tree = null;
+
+        for (boolean presized : new boolean[] { false, true }) {
+            before = usedHeap();
+            ArrayRBTreeMap<Integer, Integer> map = presized
+                    ? new ArrayRBTreeMap<>(n) : new ArrayRBTreeMap<>();
+            for (int i = 0; i < n; i++) {
+                map.put(i, i);
+            }
+            report(presized ? "ArrayRBTreeMap, presized"
+                            : "ArrayRBTreeMap<Integer, Integer>",
+                   n, usedHeap() - before);
+            map.put(0, 0);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("Entries: %,d%n", n);
+        for (boolean stringKeys : new boolean[] { false, true }) {
+            reportMyHashMap(n, stringKeys);
+            reportSwissHashMap(n, stringKeys);
+            reportMappedHashMap(n, stringKeys);
+        }
+        reportTrees(n);
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of get(), put(), and remove() on a populated map
+ * for every implementation, map size, access pattern, and key type.
+ * <p>
+ * Keys are drawn from a precomputed sequence of indexes, so the generation of
+ * random and Zipfian keys is not part of the measured time. The sequence is
+ * at least as long as the map, so every key can be reached. Sequential access
+ * uses keys created and inserted in ascending order, so it also walks memory
+ * in order. Every key looked up is present in the map. put() overwrites an
+ * existing key and removeAndPut() removes a key and puts it back, so the size
+ * of the map stays constant across iterations.
+ * @version 1.1 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms6g", "-Xmx6g" })
+public class MapBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ BenchMap.MY_HASH_MAP, BenchMap.MY_HASH_MAP_POW2,
+             BenchMap.OPEN_ADDRESSING, BenchMap.SWISS, BenchMap.CONCURRENT,
+             BenchMap.BST, BenchMap.RBT, BenchMap.AVL, BenchMap.BTREE })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ Workloads.SEQUENTIAL, Workloads.RANDOM, Workloads.ZIPFIAN })
+    public String distribution;
+
+    @Param({ Workloads.INTEGER, Workloads.STRING })
+    public String keyType;
+
+    private BenchMap map;
+    private Comparable<?>[] keys, absentKeys;
+    private int[] order;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = Workloads.keys(distribution, keyType, size, SEED);
+        absentKeys = Workloads.absentKeys(distribution, keyType, size, SEED);
+        map = BenchMap.create(impl, keys);
+        order = Workloads.accessOrder(distribution, size,
+                Workloads.accessOrderLength(size), SEED);
+    }
+
+    private Object nextKey() {
+        int index = order[next];
+        next = (next + 1) & (order.length - 1);
+        return keys[index];
+    }
+
+    @Benchmark
+    public Object get() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public Object getAbsent() {
+        Object key = absentKeys[order[next]];
+        next = (next + 1) & (order.length - 1);
+        return map.get(key);
+    }
+
+    @Benchmark
+    public Object put() {
+        Object key = nextKey();
+        return map.put(key, key);
+    }
+
+    @Benchmark
+    public Object removeAndPut() {
+        Object key = nextKey();
+        map.remove(key);
+        return map.put(key, key);
+    }
+}
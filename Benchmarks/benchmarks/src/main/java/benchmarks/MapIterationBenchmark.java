@@ -0,0 +1,60 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures iteration over every entry of a populated map. The
+ * result counts whole passes over the map per second, so multiply by size
+ * for entries per second.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms6g", "-Xmx6g" })
+public class MapIterationBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ BenchMap.MY_HASH_MAP, BenchMap.MY_HASH_MAP_POW2,
+             BenchMap.OPEN_ADDRESSING, BenchMap.SWISS, BenchMap.CONCURRENT,
+             BenchMap.BST, BenchMap.RBT, BenchMap.AVL, BenchMap.BTREE })
+    public String impl;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    public int size;
+
+    @Param({ Workloads.INTEGER, Workloads.STRING })
+    public String keyType;
+
+    private BenchMap map;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = BenchMap.create(impl, Workloads.keys(keyType, size, SEED));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        Iterator<?> iter = map.iterator();
+        while (iter.hasNext()) {
+            blackhole.consume(iter.next());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bstreemap.Pair;
+import bstreemap.PersistentRBTreeMap;
+import bstreemap.RBTreeMap;
+
+/**
+ * Compares PersistentRBTreeMap with RBTreeMap holding the same Integer keys:
+ * taking a point-in-time copy, which is O(1) for the persistent tree and a
+ * full rebuild for RBTreeMap, and the cost of get() and of put() over an
+ * existing key, which copies a path in the persistent tree. The rebuild
+ * starts from pairs already sorted in memory, so it is a lower bound on
+ * copying an RBTreeMap.
+ * @version 1.1 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+public class PersistentTreeBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    private PersistentRBTreeMap<Integer, Integer> persistent;
+    private RBTreeMap<Integer, Integer> tree;
+    private Pair<Integer, Integer>[] sortedPairs;
+    private Integer[] keys;
+    private int[] order;
+    private int next;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Comparable<?>[] shuffled = Workloads.keys(Workloads.INTEGER, size, SEED);
+        keys = new Integer[size];
+        persistent = new PersistentRBTreeMap<>();
+        tree = new RBTreeMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = (Integer)shuffled[i];
+            persistent.put(keys[i], keys[i]);
+            tree.put(keys[i], keys[i]);
+        }
+        Integer[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        sortedPairs = new Pair[size];
+        for (int i = 0; i < size; i++) {
+            sortedPairs[i] = new Pair<>(sorted[i], sorted[i]);
+        }
+        order = Workloads.accessOrder(Workloads.RANDOM, size,
+                Workloads.accessOrderLength(size), SEED);
+    }
+
+    private Integer nextKey() {
+        Integer key = keys[order[next]];
+        next = (next + 1) & (order.length - 1);
+        return key;
+    }
+
+    @Benchmark
+    public Object persistentSnapshot() {
+        return persistent.snapshot();
+    }
+
+    @Benchmark
+    public Object rbTreeMapCopy() {
+        return new RBTreeMap<>(sortedPairs, true);
+    }
+
+    @Benchmark
+    public Object persistentGet() {
+        return persistent.get(nextKey());
+    }
+
+    @Benchmark
+    public Object rbTreeMapGet() {
+        return tree.get(nextKey());
+    }
+
+    @Benchmark
+    public Object persistentPut() {
+        Integer key = nextKey();
+        return persistent.put(key, key);
+    }
+
+    @Benchmark
+    public Object rbTreeMapPut() {
+        Integer key = nextKey();
+        return tree.put(key, key);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+
+/**
+ * Measures the latency distribution of MyHashMap.put() while a map grows from
+ * empty, comparing whole-table rehashing with incremental rehashing. Every put
+ * is timed individually, so the rare puts that trigger a rehash show up in the
+ * tail percentiles and the maximum.
+ * <p>
+ * Usage: java -cp benchmarks.jar benchmarks.PutLatencyBenchmark
+ * [number of puts] [rounds]
+ * <p>
+ * Run with a fixed, generous heap (for example -Xms3g -Xmx3g) so that garbage
+ * collection pauses do not hide the rehash pauses being measured.
+ * @version 1.1 October 18, 2026
+ */
+public class PutLatencyBenchmark {
+    private static final double[] PERCENTILES = { 50, 99, 99.9, 99.99 };
+
+    private final Integer[] keys;
+    private final long[] latencies;
+
+    /**
+     * Creates a benchmark that puts the given number of distinct keys.
+     * @param numPuts the number of puts to time in each round
+     */
+    public PutLatencyBenchmark(int numPuts) {
+        keys = new Integer[numPuts];
+        for (int i = 0; i < numPuts; i++) {
+            keys[i] = i;
+        }
+        latencies = new long[numPuts];
+    }
+
+    /**
+     * Fills an empty map with every key, timing each put, and returns the
+     * sorted latencies in nanoseconds.
+     * @param incremental true to rehash incrementally
+     * @return the sorted put latencies in nanoseconds
+     */
+    public long[] run(boolean incremental) {
+        MyHashMap<Integer, Integer> map =
+                new MyHashMap<>(0, GrowthMode.POWER_OF_TWO);
+        map.setIncrementalRehash(incremental);
+        for (int i = 0; i < keys.length; i++) {
+            long start = System.nanoTime();
+            map.put(keys[i], keys[i]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Returns the value at the given percentile of the sorted latencies.
+     * @param sorted     latencies sorted in ascending order
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency at the percentile
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        int index = (int)Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static void report(String label, long[] sorted) {
+        System.out.printf("%-12s", label);
+        for (double p : PERCENTILES) {
+            System.out.printf("  p%-5s %,9d ns", p, percentile(sorted, p));
+        }
+        System.out.printf("  max %,12d ns%n", sorted[sorted.length - 1]);
+    }
+
+    public static void main(String[] args) {
+        int numPuts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        PutLatencyBenchmark benchmark = new PutLatencyBenchmark(numPuts);
+        System.out.println("Puts per round: " + numPuts);
+        for (int round = 1; round <= rounds; round++) {
+            // The earlier rounds warm up the JIT; only the last one counts,
+            // but all are printed so outliers are visible.
+            System.out.println("Round " + round + ":");
+            report("rehash", benchmark.run(false));
+            report("incremental", benchmark.run(true));
+        }
+    }
+}
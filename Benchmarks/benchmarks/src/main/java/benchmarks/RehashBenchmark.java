@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single whole-table rehash of a populated MyHashMap, on the
+ * calling thread or in parallel on the common ForkJoinPool. Each invocation
+ * starts from a freshly filled map and grows its table to hold twice as many
+ * entries.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = { "-Xms6g", "-Xmx6g" })
+public class RehashBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "1000000", "4000000" })
+    public int size;
+
+    @Param({ "UNBOUNDED_PRIMES", "POWER_OF_TWO" })
+    public GrowthMode growthMode;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private Comparable<?>[] keys;
+    private MyHashMap<Integer, Integer> map;
+
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        keys = Workloads.keys(Workloads.INTEGER, size, SEED);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpMap() {
+        map = new MyHashMap<>(size, growthMode);
+        map.setParallelRehash(parallel);
+        for (Comparable<?> key : keys) {
+            map.put((Integer)key, (Integer)key);
+        }
+    }
+
+    @Benchmark
+    public MyHashMap<Integer, Integer> rehash() {
+        map.ensureCapacity(2 * size);
+        return map;
+    }
+}
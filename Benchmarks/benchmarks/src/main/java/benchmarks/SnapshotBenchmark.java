@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import hashmap.Codec;
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares restoring a MyHashMap from a snapshot file with rebuilding it by
+ * putting every key, growing the table as it goes. The keys for the rebuild
+ * are already in memory, so it is a lower bound on rebuilding from any real
+ * source.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms6g", "-Xmx6g" })
+public class SnapshotBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ "1000000", "4000000" })
+    public int size;
+
+    private String[] keys;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        keys = new String[size];
+        Comparable<?>[] shuffled = Workloads.keys(Workloads.STRING, size, SEED);
+        MyHashMap<String, Integer> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int i = 0; i < size; i++) {
+            keys[i] = (String)shuffled[i];
+            map.put(keys[i], i);
+        }
+        file = Files.createTempFile("snapshot", ".map");
+        map.writeSnapshot(file, Codec.STRING, Codec.INTEGER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public MyHashMap<String, Integer> readSnapshot() throws IOException {
+        return MyHashMap.readSnapshot(file, Codec.STRING, Codec.INTEGER);
+    }
+
+    @Benchmark
+    public MyHashMap<String, Integer> rebuild() {
+        MyHashMap<String, Integer> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bstreemap.AVLTreeMap;
+import bstreemap.ArrayRBTreeMap;
+import bstreemap.BTreeMap;
+import bstreemap.MyMap;
+import bstreemap.RBTreeMap;
+import bstreemap.TreeStatistics;
+
+/**
+ * Measures get() on RBTreeMap, ArrayRBTreeMap, AVLTreeMap, and BTreeMap
+ * built by inserting Integer keys one at a time in random order, so each tree
+ * has the shape its own rebalancing gives it rather than the perfect balance
+ * of MapBenchmark's trees. The height and search cost of each tree, in nodes
+ * visited, are printed once per trial.
+ * @version 1.1 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+public class TreeLookupBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ BenchMap.RBT, BenchMap.ARRAY_RBT, BenchMap.AVL, BenchMap.BTREE })
+    public String impl;
+
+    @Param({ "10000", "1000000", "10000000" })
+    public int size;
+
+    private MyMap<Integer, Integer> tree;
+    private Integer[] keys;
+    private int[] order;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Comparable<?>[] shuffled = Workloads.keys(Workloads.INTEGER, size, SEED);
+        keys = new Integer[size];
+        tree = impl.equals(BenchMap.RBT) ? new RBTreeMap<>()
+                : impl.equals(BenchMap.ARRAY_RBT) ? new ArrayRBTreeMap<>()
+                : impl.equals(BenchMap.AVL) ? new AVLTreeMap<>()
+                : new BTreeMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = (Integer)shuffled[i];
+            tree.put(keys[i], keys[i]);
+        }
+        order = Workloads.accessOrder(Workloads.RANDOM, size,
+                Workloads.accessOrderLength(size), SEED);
+        TreeStatistics stats = (TreeStatistics)tree;
+        System.out.printf("%n%s: height %d, successful search cost %.3f%n",
+                          impl, stats.height(), stats.successfulSearchCost());
+    }
+
+    @Benchmark
+    public Object get() {
+        Integer key = keys[order[next]];
+        next = (next + 1) & (order.length - 1);
+        return tree.get(key);
+    }
+}
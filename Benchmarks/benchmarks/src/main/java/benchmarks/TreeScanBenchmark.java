@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import bstreemap.AVLTreeMap;
+import bstreemap.BSTreeMap;
+import bstreemap.Entry;
+import bstreemap.RBTreeMap;
+
+/**
+ * Measures full in-order scans of a binary search tree built by inserting
+ * Integer keys in random order: ascending and descending iterators, which
+ * follow parent references, and forEach. Run with -prof gc; every scan
+ * should allocate close to zero bytes per operation.
+ * @version 1.0 October 18, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xms2g", "-Xmx2g" })
+public class TreeScanBenchmark {
+    private static final long SEED = 42;
+
+    @Param({ BenchMap.RBT, BenchMap.AVL })
+    public String impl;
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private BSTreeMap<Integer, Integer> tree;
+    private BiConsumer<Integer, Integer> action;
+    private long checksum;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tree = impl.equals(BenchMap.RBT) ? new RBTreeMap<>()
+                : new AVLTreeMap<>();
+        for (Comparable<?> key : Workloads.keys(Workloads.INTEGER, size, SEED)) {
+            tree.put((Integer)key, (Integer)key);
+        }
+        action = (key, value) -> checksum += key;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        Iterator<Entry<Integer, Integer>> iter = tree.iterator();
+        while (iter.hasNext()) {
+            blackhole.consume(iter.next());
+        }
+    }
+
+    @Benchmark
+    public void descendingIterate(Blackhole blackhole) {
+        Iterator<Entry<Integer, Integer>> iter = tree.descendingIterator();
+        while (iter.hasNext()) {
+            blackhole.consume(iter.next());
+        }
+    }
+
+    @Benchmark
+    public long forEach() {
+        tree.forEach(action);
+        return checksum;
+    }
+}
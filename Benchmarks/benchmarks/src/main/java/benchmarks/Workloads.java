@@ -0,0 +1,187 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Key sets and access patterns shared by the benchmarks.
+ * @version 1.2 October 18, 2026
+ */
+public final class Workloads {
+    /** Key types accepted by keys(). */
+    public static final String INTEGER = "Integer", STRING = "String";
+    /** Access patterns accepted by accessOrder(). */
+    public static final String SEQUENTIAL = "sequential", RANDOM = "random",
+                               ZIPFIAN = "zipfian";
+    // Shortest access sequence, so that small maps still cycle through many
+    // draws before repeating.
+    private static final int MIN_ACCESS_ORDER_LENGTH = 1 << 16;
+
+    private Workloads() { }
+
+    /**
+     * Returns n distinct keys of the given type in a random order.
+     * @param keyType INTEGER or STRING
+     * @param n       the number of keys
+     * @param seed    the seed of the shuffle
+     * @return        the keys
+     */
+    public static Comparable<?>[] keys(String keyType, int n, long seed) {
+        return shuffle(keyRange(keyType, 0, n), seed);
+    }
+
+    /**
+     * Returns the keys that suit the given access pattern: for SEQUENTIAL,
+     * the keys of keys() in ascending order, each allocated in that order, so
+     * that walking the array also walks the keys through memory in order; for
+     * the other patterns, the shuffled keys of keys().
+     * @param pattern SEQUENTIAL, RANDOM, or ZIPFIAN
+     * @param keyType INTEGER or STRING
+     * @param n       the number of keys
+     * @param seed    the seed of the shuffle
+     * @return        the keys
+     */
+    public static Comparable<?>[] keys(String pattern, String keyType, int n,
+                                       long seed) {
+        return pattern.equals(SEQUENTIAL) ? sorted(keyRange(keyType, 0, n))
+                : keys(keyType, n, seed);
+    }
+
+    /**
+     * Returns n distinct keys of the given type in a random order, none of
+     * which is among those that keys() returns for the same n, for measuring
+     * lookups that miss.
+     * @param keyType INTEGER or STRING
+     * @param n       the number of keys
+     * @param seed    the seed of the shuffle
+     * @return        the keys
+     */
+    public static Comparable<?>[] absentKeys(String keyType, int n,
+                                             long seed) {
+        return shuffle(keyRange(keyType, n, n), seed);
+    }
+
+    /**
+     * Returns the keys of absentKeys() laid out for the given access pattern,
+     * as keys(pattern, keyType, n, seed) lays out those of keys().
+     * @param pattern SEQUENTIAL, RANDOM, or ZIPFIAN
+     * @param keyType INTEGER or STRING
+     * @param n       the number of keys
+     * @param seed    the seed of the shuffle
+     * @return        the keys
+     */
+    public static Comparable<?>[] absentKeys(String pattern, String keyType,
+                                             int n, long seed) {
+        return pattern.equals(SEQUENTIAL) ? sorted(keyRange(keyType, n, n))
+                : absentKeys(keyType, n, seed);
+    }
+
+    /**
+     * Returns the n keys of the given type numbered from first on, in
+     * increasing numeric order.
+     */
+    private static Comparable<?>[] keyRange(String keyType, int first,
+                                            int n) {
+        Comparable<?>[] keys;
+        switch (keyType) {
+            case INTEGER:
+                keys = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = first + i;
+                }
+                break;
+            case STRING:
+                keys = new String[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = "key" + (first + i);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown key type: " + keyType);
+        }
+        return keys;
+    }
+
+    private static Comparable<?>[] shuffle(Comparable<?>[] keys, long seed) {
+        Random random = new Random(seed);
+        int n = keys.length;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Comparable<?> temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+
+    /**
+     * Sorts keys generated in increasing numeric order. Integers are already
+     * sorted. Strings sort differently ("key10" comes before "key2"), so they
+     * are sorted and then copied, which allocates the copies in sorted order.
+     */
+    private static Comparable<?>[] sorted(Comparable<?>[] keys) {
+        if (keys instanceof String[]) {
+            Arrays.sort(keys);
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = new String(((String)keys[i]).toCharArray());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the length of the access sequence to precompute for n keys: the
+     * smallest power of two of at least n and at least 2^16. A sequence at
+     * least as long as the key array lets random and Zipfian draws reach every
+     * key instead of a fixed hot subset, and a power of two lets the cursor
+     * wrap with a mask.
+     * @param n the number of keys
+     * @return  the length of the sequence
+     */
+    public static int accessOrderLength(int n) {
+        return Math.max(MIN_ACCESS_ORDER_LENGTH,
+                        Integer.highestOneBit(Math.max(n - 1, 1)) << 1);
+    }
+
+    /**
+     * Returns a sequence of indexes into a key array of length n. Sequential
+     * walks the array in order, random draws uniformly, and zipfian draws
+     * ranks from a Zipfian distribution, so a few keys receive most of the
+     * accesses. Since the key array of keys(pattern, ...) is shuffled for
+     * those two patterns, popular keys are scattered throughout each map.
+     * @param pattern SEQUENTIAL, RANDOM, or ZIPFIAN
+     * @param n       the number of keys
+     * @param length  the length of the sequence; see accessOrderLength()
+     * @param seed    the random seed
+     * @return        the sequence of indexes
+     */
+    public static int[] accessOrder(String pattern, int n, int length,
+                                    long seed) {
+        int[] order = new int[length];
+        Random random = new Random(seed);
+        switch (pattern) {
+            case SEQUENTIAL:
+                for (int i = 0; i < length; i++) {
+                    order[i] = i % n;
+                }
+                break;
+            case RANDOM:
+                for (int i = 0; i < length; i++) {
+                    order[i] = random.nextInt(n);
+                }
+                break;
+            case ZIPFIAN:
+                ZipfianGenerator zipf = new ZipfianGenerator(
+                        n, ZipfianGenerator.DEFAULT_THETA, random);
+                for (int i = 0; i < length; i++) {
+                    order[i] = zipf.next();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown access pattern: " + pattern);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates ranks in [0, n) following a Zipfian distribution, so that rank 0
+ * is the most popular, using the rejection-free method of Gray et al.,
+ * "Quickly Generating Billion-Record Synthetic Databases" (SIGMOD 1994), as
+ * popularized by YCSB.
+ * @version 1.0 October 18, 2026
+ */
+public class ZipfianGenerator {
+    /** The skew YCSB uses by default. */
+    public static final double DEFAULT_THETA = 0.99;
+
+    private final int n;
+    private final double theta, alpha, zetan, eta;
+    private final Random random;
+
+    /**
+     * Creates a generator over n items with the given skew.
+     * @param n      the number of items
+     * @param theta  the skew, between 0 (uniform) and 1 exclusive
+     * @param random the source of randomness
+     */
+    public ZipfianGenerator(int n, double theta, Random random) {
+        if (n < 1 || theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException(
+                    "Requires n >= 1 and 0 < theta < 1.");
+        }
+        this.n = n;
+        this.theta = theta;
+        this.random = random;
+        double zeta2 = zeta(2, theta);
+        zetan = zeta(n, theta);
+        alpha = 1.0 / (1.0 - theta);
+        eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetan);
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the next rank, 0 being the most frequent.
+     * @return a rank in [0, n)
+     */
+    public int next() {
+        double u = random.nextDouble();
+        double uz = u * zetan;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return 1;
+        }
+        int rank = (int)(n * Math.pow(eta * u - eta + 1, alpha));
+        return Math.min(rank, n - 1);
+    }
+}
@@ -0,0 +1,356 @@
+package hashmap;
+import java.util.function.Function;
+
+/**
+ * Class for a bounded cache that holds at most a fixed number of mappings and
+ * evicts one in O(1) time whenever a new mapping would exceed the limit.
+ * <p>
+ * The nodes of the cache are the entries of a MyHashMap, which indexes them
+ * by key, and are also threaded on intrusive doubly linked lists, ordered
+ * from least to most recently used, so moving or unlinking a node never
+ * searches a list. Each mapping thus costs a single object and a single
+ * lookup. The index does not treeify its bins, because a tree bin would
+ * replace the nodes with copies.
+ * <ul>
+ * <li>LRU keeps a single list and evicts its least recently used node.</li>
+ * <li>TINY_LFU is W-TinyLFU, as in Caffeine. New mappings enter a window LRU
+ *     of 1% of the capacity. A mapping pushed out of the window must win
+ *     admission into the main space against that space's own eviction
+ *     candidate: whichever key a FrequencySketch estimates to have been used
+ *     less often is evicted. The main space is a segmented LRU, where a
+ *     mapping used again while on probation is promoted to the protected
+ *     segment of 80% of the main space. This keeps one-time scans from
+ *     flushing out frequently used mappings.</li>
+ * </ul>
+ * An optional loader makes get() read through: on a miss the loader computes
+ * the value, which is then cached unless it is null.
+ * @version 1.1 October 18, 2026
+ */
+public class CachingHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+    /** Eviction policies. */
+    public static final int LRU = 0, TINY_LFU = 1;
+    // Queues a node can be on.
+    private static final byte WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+    private static final int WINDOW_PERCENT = 1, PROTECTED_PERCENT = 80;
+
+    private final int capacity, policy;
+    private final Function<? super K, ? extends V> loader;
+    private final MyHashMap<K, V> index;
+    private final FrequencySketch sketch;
+    // Sentinels of the circular lists, indexed by queue.
+    private final Node<K, V>[] queues;
+    private final int[] queueSizes = new int[3];
+    private final int windowMax, mainMax, protectedMax;
+    private long hits, misses, loads, evictions;
+
+    /**
+     * Node of the cache: an entry of the index, also linked into the list of
+     * its queue.
+     */
+    private static final class Node<K, V> extends Entry<K, V> {
+        int hash;
+        Node<K, V> before, after;
+        byte queue;
+
+        Node(K key, V value) {
+            super(key, value);
+        }
+    }
+
+    /**
+     * Creates an LRU cache of the given capacity.
+     * @param capacity the maximum number of mappings
+     */
+    public CachingHashMap(int capacity) {
+        this(capacity, LRU, null);
+    }
+
+    /**
+     * Creates a cache of the given capacity and eviction policy.
+     * @param capacity the maximum number of mappings
+     * @param policy   LRU or TINY_LFU
+     */
+    public CachingHashMap(int capacity, int policy) {
+        this(capacity, policy, null);
+    }
+
+    /**
+     * Creates a read-through cache of the given capacity and eviction policy.
+     * @param capacity the maximum number of mappings
+     * @param policy   LRU or TINY_LFU
+     * @param loader   the function that computes the value of a missing key,
+     *                 or null for a cache that does not read through
+     */
+    @SuppressWarnings("unchecked")
+    public CachingHashMap(int capacity, int policy,
+                          Function<? super K, ? extends V> loader) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be positive: " + capacity);
+        }
+        if (policy != LRU && policy != TINY_LFU) {
+            throw new IllegalArgumentException("Invalid policy: " + policy);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.loader = loader;
+        index = new MyHashMap<>(capacity, GrowthMode.POWER_OF_TWO);
+        index.setTreeifyBins(false);
+        queues = new Node[3];
+        for (int q = 0; q < queues.length; q++) {
+            queues[q] = new Node<>(null, null);
+            queues[q].before = queues[q].after = queues[q];
+        }
+        if (policy == TINY_LFU) {
+            sketch = new FrequencySketch(capacity);
+            windowMax = Math.max(1, capacity * WINDOW_PERCENT / 100);
+            mainMax = capacity - windowMax;
+            protectedMax = mainMax * PROTECTED_PERCENT / 100;
+        } else {
+            sketch = null;
+            windowMax = capacity;
+            mainMax = protectedMax = 0;
+        }
+    }
+
+    /**
+     * Returns the maximum number of mappings in this cache.
+     * @return the maximum number of mappings in this cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the eviction policy of this cache.
+     * @return LRU or TINY_LFU
+     */
+    public int getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this cache.
+     * @return the number of key-value mappings in this cache
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns true if this cache contains no key-value mappings.
+     * @return true if this cache contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, marking the
+     * mapping as used. On a miss, a read-through cache loads and caches the
+     * value.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if the
+     *         cache has no mapping and none could be loaded
+     */
+    @Override
+    public V get(K key) {
+        int hash = Hashing.mix(key.hashCode());
+        if (sketch != null) {
+            sketch.increment(hash);
+        }
+        Node<K, V> node = (Node<K, V>)index.getEntry(key);
+        if (node != null) {
+            hits++;
+            onAccess(node);
+            return node.value;
+        }
+        misses++;
+        if (loader == null) {
+            return null;
+        }
+        V value = loader.apply(key);
+        loads++;
+        if (value != null) {
+            add(key, hash, value);
+        }
+        return value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this cache,
+     * evicting another mapping if the cache is full.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        int hash = Hashing.mix(key.hashCode());
+        if (sketch != null) {
+            sketch.increment(hash);
+        }
+        Node<K, V> node = (Node<K, V>)index.getEntry(key);
+        if (node != null) {
+            V oldValue = node.value;
+            node.value = value;
+            onAccess(node);
+            return oldValue;
+        }
+        add(key, hash, value);
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key from this cache if it is present.
+     * @param key the key whose mapping is to be removed from the cache
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = (Node<K, V>)index.removeEntry(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    /**
+     * Returns the number of calls to get() that found their key.
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of calls to get() that did not find their key,
+     * including those that loaded the value.
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of values computed by the loader.
+     * @return the number of loads
+     */
+    public long getLoadCount() {
+        return loads;
+    }
+
+    /**
+     * Returns the number of mappings evicted to make room for others.
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the fraction of calls to get() that found their key, or NaN if
+     * there have been none.
+     * @return hits / (hits + misses)
+     */
+    public double getHitRatio() {
+        return (double)hits / (hits + misses);
+    }
+
+    private void add(K key, int hash, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        node.hash = hash;
+        index.addEntry(node);
+        append(WINDOW, node);
+        if (policy == LRU) {
+            if (queueSizes[WINDOW] > capacity) {
+                evict(queues[WINDOW].after);
+            }
+            return;
+        }
+        while (queueSizes[WINDOW] > windowMax) {
+            Node<K, V> candidate = queues[WINDOW].after;
+            if (mainMax == 0) {
+                evict(candidate);
+                continue;
+            }
+            unlink(candidate);
+            append(PROBATION, candidate);
+            if (queueSizes[PROBATION] + queueSizes[PROTECTED] > mainMax) {
+                admit(candidate);
+            }
+        }
+    }
+
+    /**
+     * Evicts either the candidate, just moved from the window to the tail of
+     * probation, or the main space's own victim, keeping the key that the
+     * sketch estimates to be used more often. A tie goes to the victim, since
+     * a new key has had less time to show its worth than a key that has
+     * already been admitted.
+     */
+    private void admit(Node<K, V> candidate) {
+        Node<K, V> victim = queues[PROBATION].after;
+        if (victim == candidate) {
+            victim = queues[PROTECTED].after;
+            if (victim == queues[PROTECTED]) {
+                evict(candidate);
+                return;
+            }
+        }
+        if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+            evict(victim);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        index.removeEntry(node.key);
+        evictions++;
+    }
+
+    /**
+     * Moves a node that has just been used to the most recently used end of
+     * its list, promoting it from probation to the protected segment and
+     * demoting the protected segment's least recently used node if that
+     * overfills it.
+     */
+    private void onAccess(Node<K, V> node) {
+        byte queue = node.queue;
+        unlink(node);
+        if (queue != PROBATION) {
+            append(queue, node);
+            return;
+        }
+        append(PROTECTED, node);
+        if (queueSizes[PROTECTED] > protectedMax) {
+            Node<K, V> demoted = queues[PROTECTED].after;
+            unlink(demoted);
+            append(PROBATION, demoted);
+        }
+    }
+
+    private void append(byte queue, Node<K, V> node) {
+        Node<K, V> sentinel = queues[queue];
+        node.queue = queue;
+        node.before = sentinel.before;
+        node.after = sentinel;
+        sentinel.before.after = node;
+        sentinel.before = node;
+        queueSizes[queue]++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.before.after = node.after;
+        node.after.before = node.before;
+        node.before = node.after = null;
+        queueSizes[node.queue]--;
+    }
+}
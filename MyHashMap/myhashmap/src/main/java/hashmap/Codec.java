@@ -0,0 +1,65 @@
+package hashmap;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interface for converting keys or values to and from bytes, so that they can
+ * be stored outside the Java heap. A codec used for keys must be canonical:
+ * two keys must encode to the same bytes exactly when they are equal, since
+ * stored keys are compared byte by byte.
+ * @version 1.0 October 18, 2026
+ */
+public interface Codec<T> {
+    /** Encodes a String as UTF-8. */
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Encodes an Integer as 4 big-endian bytes. */
+    Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    /** Encodes a Long as 8 big-endian bytes. */
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public byte[] encode(Long value) {
+            return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+        }
+
+        @Override
+        public Long decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getLong();
+        }
+    };
+
+    /**
+     * Returns the bytes representing the given non-null object.
+     * @param value the object to encode
+     * @return      the encoded bytes
+     */
+    byte[] encode(T value);
+
+    /**
+     * Returns the object represented by the given bytes.
+     * @param bytes bytes produced by encode()
+     * @return      the decoded object
+     */
+    T decode(byte[] bytes);
+}
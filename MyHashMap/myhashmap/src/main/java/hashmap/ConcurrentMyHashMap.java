@@ -0,0 +1,443 @@
+package hashmap;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for a thread-safe hash map. Writers lock one of a fixed number of
+ * stripes, each guarding every bucket whose index is congruent to the stripe
+ * number, so writers to different stripes never contend. Readers take no
+ * locks: bucket heads are read with volatile semantics and each chain node
+ * publishes its value and next reference through volatile fields.
+ * <p>
+ * The table is a power of two at least as large as the number of stripes, so
+ * a bucket and the two buckets it splits into on a resize always share a
+ * stripe. Resizing is cooperative: the thread that crosses the load factor
+ * allocates the larger table, and every writer that runs into the resize
+ * claims stripes and copies their buckets until all have moved. Each copied
+ * bucket in the old table is replaced by a forwarding node that sends readers
+ * and writers on to the new table.
+ * @version 1.0 October 18, 2026
+ */
+public class ConcurrentMyHashMap<K extends Comparable<K>, V>
+        implements MyMap<K, V> {
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int MIN_TABLE_SIZE = 128;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final VarHandle BUCKET =
+            MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle RESIZE;
+
+    static {
+        try {
+            RESIZE = MethodHandles.lookup().findVarHandle(
+                    ConcurrentMyHashMap.class, "resize", Resize.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object[] locks;
+    private final int stripeMask;
+    private final LongAdder count = new LongAdder();
+    private volatile Node<K, V>[] table;
+    @SuppressWarnings("unused")  // Accessed through the RESIZE VarHandle.
+    private volatile Resize<K, V> resize;
+
+    /**
+     * A mapping in a bucket chain. The key and hash never change; the value
+     * and next reference are volatile so readers see writes without locking.
+     */
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Placeholder left in a bucket of the old table once the bucket has been
+     * copied to the new table during a resize.
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(0, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * The state of a resize shared by all threads that help with it.
+     */
+    private static final class Resize<K, V> {
+        final Node<K, V>[] oldTable, newTable;
+        final AtomicInteger nextStripe = new AtomicInteger();
+        final AtomicInteger stripesDone = new AtomicInteger();
+
+        Resize(Node<K, V>[] oldTable, Node<K, V>[] newTable) {
+            this.oldTable = oldTable;
+            this.newTable = newTable;
+        }
+    }
+
+    /**
+     * Creates an empty map with 64 lock stripes.
+     */
+    public ConcurrentMyHashMap() {
+        this(0, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing, with the given number of lock stripes.
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param stripes      the number of lock stripes, rounded up to a power of
+     *                     two; more stripes allow more concurrent writers
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentMyHashMap(int expectedSize, int stripes) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        if (stripes < 1 || stripes > MIN_TABLE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Stripes must be between 1 and " + MIN_TABLE_SIZE + ": "
+                    + stripes);
+        }
+        int numStripes = Integer.highestOneBit(stripes);
+        if (numStripes < stripes) {
+            numStripes <<= 1;
+        }
+        locks = new Object[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            locks[i] = new Object();
+        }
+        stripeMask = numStripes - 1;
+        table = new Node[Hashing.tableSizeFor(
+                expectedSize, MAX_LOAD_FACTOR, MIN_TABLE_SIZE)];
+    }
+
+    /**
+     * Returns the number of buckets in the current table.
+     * @return the number of buckets in the current table
+     */
+    public int getTableSize() {
+        return table.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)n;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.sum() == 0;
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)count.sum() / table.length;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key. Never blocks.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        int hash = hash(key);
+        Node<K, V>[] tab = table;
+        while (true) {
+            Node<K, V> node = bucketAt(tab, hash & (tab.length - 1));
+            if (node instanceof ForwardingNode) {
+                tab = ((ForwardingNode<K, V>)node).nextTable;
+                continue;
+            }
+            for (; node != null; node = node.next) {
+                if (node.hash == hash && node.key.compareTo(key) == 0) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V>[] forwardedTo = null;
+            synchronized (locks[index & stripeMask]) {
+                Node<K, V> head = bucketAt(tab, index);
+                if (head instanceof ForwardingNode) {
+                    forwardedTo = ((ForwardingNode<K, V>)head).nextTable;
+                } else {
+                    for (Node<K, V> node = head; node != null;
+                         node = node.next) {
+                        if (node.hash == hash && node.key.compareTo(key) == 0) {
+                            V oldValue = node.value;
+                            node.value = value;
+                            return oldValue;
+                        }
+                    }
+                    setBucket(tab, index, new Node<>(hash, key, value, head));
+                }
+            }
+            if (forwardedTo != null) {
+                helpResize(forwardedTo);
+                tab = forwardedTo;
+                continue;
+            }
+            count.increment();
+            if (count.sum() > tab.length * MAX_LOAD_FACTOR) {
+                startResize(tab);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        int hash = hash(key);
+        Node<K, V>[] tab = table;
+        while (true) {
+            int index = hash & (tab.length - 1);
+            Node<K, V>[] forwardedTo = null;
+            synchronized (locks[index & stripeMask]) {
+                Node<K, V> head = bucketAt(tab, index);
+                if (head instanceof ForwardingNode) {
+                    forwardedTo = ((ForwardingNode<K, V>)head).nextTable;
+                } else {
+                    Node<K, V> prev = null;
+                    for (Node<K, V> node = head; node != null;
+                         prev = node, node = node.next) {
+                        if (node.hash == hash && node.key.compareTo(key) == 0) {
+                            // A reader already standing on node still reaches
+                            // the rest of the chain through node.next.
+                            if (prev == null) {
+                                setBucket(tab, index, node.next);
+                            } else {
+                                prev.next = node.next;
+                            }
+                            count.decrement();
+                            return node.value;
+                        }
+                    }
+                    return null;
+                }
+            }
+            helpResize(forwardedTo);
+            tab = forwardedTo;
+        }
+    }
+
+    /**
+     * Begins doubling the given table unless it is already being resized or
+     * has been replaced, then helps copy buckets.
+     */
+    private void startResize(Node<K, V>[] tab) {
+        if (tab != table || tab.length >= Hashing.MAX_POWER_OF_TWO) {
+            return;
+        }
+        Resize<K, V> current = resize;
+        if (current == null) {
+            @SuppressWarnings("unchecked")
+            Node<K, V>[] newTable = new Node[tab.length << 1];
+            Resize<K, V> created = new Resize<>(tab, newTable);
+            if (RESIZE.compareAndSet(this, null, created)) {
+                if (tab != table) {
+                    // Another resize finished between the checks above and
+                    // the compareAndSet; tab is already fully forwarded.
+                    RESIZE.compareAndSet(this, created, null);
+                } else {
+                    transfer(created);
+                }
+                return;
+            }
+            current = resize;
+        }
+        if (current != null && current.oldTable == tab) {
+            transfer(current);
+        }
+    }
+
+    /**
+     * Helps the resize that is copying buckets into the given table, if it is
+     * still in progress.
+     */
+    private void helpResize(Node<K, V>[] nextTable) {
+        Resize<K, V> current = resize;
+        if (current != null && current.newTable == nextTable) {
+            transfer(current);
+        }
+    }
+
+    /**
+     * Claims stripes of the resize one at a time and copies each of their
+     * buckets into the new table. The thread that finishes the last stripe
+     * installs the new table.
+     */
+    private void transfer(Resize<K, V> r) {
+        Node<K, V>[] oldTable = r.oldTable, newTable = r.newTable;
+        int oldLength = oldTable.length;
+        ForwardingNode<K, V> forward = new ForwardingNode<>(newTable);
+        int stripe;
+        while ((stripe = r.nextStripe.getAndIncrement()) < locks.length) {
+            synchronized (locks[stripe]) {
+                for (int i = stripe; i < oldLength; i += locks.length) {
+                    // Copy rather than relink, so that readers still walking
+                    // the old chain see it unchanged.
+                    Node<K, V> low = null, high = null;
+                    for (Node<K, V> node = bucketAt(oldTable, i); node != null;
+                         node = node.next) {
+                        if ((node.hash & oldLength) == 0) {
+                            low = new Node<>(node.hash, node.key, node.value,
+                                             low);
+                        } else {
+                            high = new Node<>(node.hash, node.key, node.value,
+                                              high);
+                        }
+                    }
+                    setBucket(newTable, i, low);
+                    setBucket(newTable, i + oldLength, high);
+                    setBucket(oldTable, i, forward);
+                }
+            }
+            if (r.stripesDone.incrementAndGet() == locks.length) {
+                table = newTable;
+                RESIZE.compareAndSet(this, r, null);
+            }
+        }
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the mappings in this map. The
+     * iterator never throws ConcurrentModificationException; it reflects every
+     * mapping present for the whole traversal and may or may not reflect
+     * mappings added or removed after it was created. Each Entry returned is a
+     * copy of the key and the value read at that moment.
+     * @return an iterator over the mappings in this map
+     */
+    public Iterator<Entry<K, V>> iterator() {
+        return new MapItr(table);
+    }
+
+    private int hash(K key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V> bucketAt(Node<K, V>[] tab, int index) {
+        return (Node<K, V>)BUCKET.getVolatile(tab, index);
+    }
+
+    private static <K, V> void setBucket(Node<K, V>[] tab, int index,
+                                         Node<K, V> node) {
+        BUCKET.setVolatile(tab, index, node);
+    }
+
+    private class MapItr implements Iterator<Entry<K, V>> {
+        // Buckets still to visit, as (table, index) pairs. A forwarded bucket
+        // is replaced by the two buckets it was split into.
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+        private final Node<K, V>[] tab;
+        private int index;
+        private Node<K, V> current;
+
+        MapItr(Node<K, V>[] tab) {
+            this.tab = tab;
+            advance(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = current;
+            advance(node.next);
+            return new Entry<>(node.key, node.value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance(Node<K, V> node) {
+            while (node == null) {
+                Node<K, V>[] bucketTable;
+                int bucket;
+                if (!pending.isEmpty()) {
+                    bucketTable = (Node<K, V>[])pending.pop();
+                    bucket = (Integer)pending.pop();
+                } else if (index < tab.length) {
+                    bucketTable = tab;
+                    bucket = index++;
+                } else {
+                    current = null;
+                    return;
+                }
+                node = bucketAt(bucketTable, bucket);
+                if (node instanceof ForwardingNode) {
+                    Node<K, V>[] next = ((ForwardingNode<K, V>)node).nextTable;
+                    pending.push(bucket + bucketTable.length);
+                    pending.push(next);
+                    pending.push(bucket);
+                    pending.push(next);
+                    node = null;
+                }
+            }
+            current = node;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package hashmap;
 /**
  * Class for encapsulating a key-value entry into a hash map.
  * @author Brian S. Borowski
- * @version 1.0 October 19, 2022
+ * @version 1.1 October 18, 2026
  */
 public class Entry<K, V> {
     K key;
@@ -19,6 +19,22 @@ public class Entry<K, V> {
         this.value = value;
     }
 
+    /**
+     * Returns the key of this entry.
+     * @return the key of this entry
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the value of this entry.
+     * @return the value of this entry
+     */
+    public V getValue() {
+        return value;
+    }
+
     @Override
     public String toString() {
         return "<" + key + ", " + value + ">";
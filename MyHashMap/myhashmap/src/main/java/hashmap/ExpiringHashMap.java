@@ -0,0 +1,337 @@
+package hashmap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Class for a map whose mappings expire a given time after they were last
+ * put.
+ * <p>
+ * A MyHashMap indexes the map's nodes by key. An expired mapping is never
+ * returned: get() checks the deadline of the node it finds and removes the
+ * node if it has passed. Mappings that are never looked up again are
+ * removed by a hierarchical timing wheel instead of a scan of the table.
+ * Each node with a deadline sits on the list of one bucket of the wheel.
+ * The first level has 64 buckets of about a second each, and each level
+ * above it covers the whole span of the level below in one bucket: about a
+ * minute, an hour, and a day and a half, with one last bucket of six and a
+ * half days for deadlines further out. Whenever the clock has moved on, the
+ * buckets whose time has come are emptied. Nodes that have expired are
+ * removed, and the rest, which were only in a coarse bucket, fall into a
+ * finer one. A node moves down at most once per level, so expiring it costs
+ * O(1) amortized time. This is the design of Caffeine's TimerWheel, after
+ * Varghese and Lauck, "Hashed and Hierarchical Timing Wheels", SOSP 1987.
+ * <p>
+ * The clock is a LongSupplier of nanoseconds, System.nanoTime() unless
+ * another one is given, so tests can advance time by hand. The wheel
+ * advances on every call that reads the clock, and on cleanUp(). size()
+ * does not read the clock, so it counts mappings that have expired since
+ * the wheel last advanced.
+ * @version 1.1 October 18, 2026
+ */
+public class ExpiringHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+    // Deadline of a node that never expires.
+    private static final long NEVER = Long.MAX_VALUE;
+    // Number of buckets on each level of the wheel.
+    private static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+    // Time covered by one bucket of each level, in nanoseconds: about 1.07
+    // seconds, 1.14 minutes, 1.22 hours, 1.63 days, and 6.5 days. Each span
+    // is that of the level below times its number of buckets, so a deadline
+    // too far out for one level never wraps around onto a nearer bucket.
+    private static final long[] SPANS = { 1L << 30, 1L << 36, 1L << 42,
+            1L << 47, 1L << 49 };
+    private static final int[] SHIFTS = { 30, 36, 42, 47, 49 };
+
+    private final long defaultTtlNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final MyHashMap<K, Node<K, V>> index;
+    // Sentinels of the buckets' circular lists, indexed by level and bucket.
+    private final Node<K, V>[][] wheel;
+    // Time of the last advance, in nanoseconds since origin.
+    private long time;
+    private long expirations, reschedules;
+
+    /**
+     * Node of the map, linked into the list of a bucket of the wheel while it
+     * has a deadline.
+     */
+    private static final class Node<K, V> {
+        K key;
+        V value;
+        long deadline;
+        Node<K, V> prev, next;
+    }
+
+    /**
+     * Creates a map whose mappings never expire unless put with a time to
+     * live.
+     */
+    public ExpiringHashMap() {
+        this(0, TimeUnit.NANOSECONDS, System::nanoTime);
+    }
+
+    /**
+     * Creates a map whose mappings expire after the given time to live unless
+     * put with another.
+     * @param defaultTtl the time to live of mappings added by put(key, value),
+     *                   or 0 if they never expire
+     * @param unit       the unit of defaultTtl
+     */
+    public ExpiringHashMap(long defaultTtl, TimeUnit unit) {
+        this(defaultTtl, unit, System::nanoTime);
+    }
+
+    /**
+     * Creates a map whose mappings expire after the given time to live unless
+     * put with another, measured by the given clock.
+     * @param defaultTtl the time to live of mappings added by put(key, value),
+     *                   or 0 if they never expire
+     * @param unit       the unit of defaultTtl
+     * @param clock      a source of nanoseconds that never goes backward
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringHashMap(long defaultTtl, TimeUnit unit, LongSupplier clock) {
+        if (defaultTtl < 0) {
+            throw new IllegalArgumentException(
+                    "Time to live cannot be negative: " + defaultTtl);
+        }
+        defaultTtlNanos = defaultTtl == 0 ? NEVER : unit.toNanos(defaultTtl);
+        this.clock = clock;
+        origin = clock.getAsLong();
+        index = new MyHashMap<>();
+        wheel = new Node[BUCKETS.length][];
+        for (int level = 0; level < BUCKETS.length; level++) {
+            wheel[level] = new Node[BUCKETS[level]];
+            for (int b = 0; b < BUCKETS[level]; b++) {
+                Node<K, V> sentinel = new Node<>();
+                sentinel.prev = sentinel.next = sentinel;
+                wheel[level][b] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map, including those
+     * that have expired since the wheel last advanced.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings, expired or not.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key or the mapping has expired.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no live mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        long now = advance();
+        Node<K, V> node = index.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.deadline <= now) {
+            expire(node);
+            return null;
+        }
+        return node.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map for
+     * the default time to live.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         live mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, advance(), defaultTtlNanos);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map for
+     * the given time to live, replacing the deadline of an existing mapping.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @param ttl   how long the mapping lives, which must be positive
+     * @param unit  the unit of ttl
+     * @return the previous value associated with key, or null if there was no
+     *         live mapping for key
+     */
+    public V put(K key, V value, long ttl, TimeUnit unit) {
+        if (ttl <= 0) {
+            throw new IllegalArgumentException(
+                    "Time to live must be positive: " + ttl);
+        }
+        return put(key, value, advance(), unit.toNanos(ttl));
+    }
+
+    private V put(K key, V value, long now, long ttlNanos) {
+        long deadline = ttlNanos >= NEVER - now ? NEVER : now + ttlNanos;
+        Node<K, V> node = index.get(key);
+        V oldValue = null;
+        if (node == null) {
+            node = new Node<>();
+            node.key = key;
+            index.put(key, node);
+        } else {
+            if (node.deadline > now) {
+                oldValue = node.value;
+            }
+            if (node.prev != null) {
+                unlink(node);
+            }
+        }
+        node.value = value;
+        node.deadline = deadline;
+        if (deadline != NEVER) {
+            schedule(node);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         live mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        long now = advance();
+        Node<K, V> node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.prev != null) {
+            unlink(node);
+        }
+        return node.deadline > now ? node.value : null;
+    }
+
+    /**
+     * Removes the mappings whose buckets of the wheel have come due. A
+     * mapping that expired less than one bucket of the first level ago, about
+     * a second, may stay until the next advance.
+     */
+    public void cleanUp() {
+        advance();
+    }
+
+    /**
+     * Returns the number of mappings removed because they expired, whether by
+     * the wheel or by a lookup.
+     * @return the number of expired mappings
+     */
+    public long getExpirationCount() {
+        return expirations;
+    }
+
+    /**
+     * Returns the number of times the wheel has moved a mapping that had not
+     * expired from a coarse bucket to a finer one.
+     * @return the number of mappings moved between buckets
+     */
+    public long getRescheduleCount() {
+        return reschedules;
+    }
+
+    /**
+     * Reads the clock and empties every bucket that the wheel has passed
+     * since it last advanced, on each level whose bucket has changed.
+     * @return the current time, in nanoseconds since origin
+     */
+    private long advance() {
+        long now = clock.getAsLong() - origin;
+        long previous = time;
+        if (now <= previous) {
+            return previous;
+        }
+        time = now;
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long ticks = now >>> SHIFTS[level];
+            if (ticks == previousTicks) {
+                break;
+            }
+            Node<K, V>[] buckets = wheel[level];
+            int mask = buckets.length - 1;
+            int steps = (int)Math.min(ticks - previousTicks + 1,
+                                      buckets.length);
+            for (int i = 0; i < steps; i++) {
+                drain(buckets[(int)(previousTicks + i) & mask], now);
+            }
+        }
+        return now;
+    }
+
+    /**
+     * Detaches the list of a bucket, removing its expired nodes and
+     * scheduling the others again.
+     */
+    private void drain(Node<K, V> sentinel, long now) {
+        Node<K, V> node = sentinel.next;
+        sentinel.prev = sentinel.next = sentinel;
+        while (node != sentinel) {
+            Node<K, V> next = node.next;
+            node.prev = node.next = null;
+            if (node.deadline <= now) {
+                index.remove(node.key);
+                expirations++;
+            } else {
+                schedule(node);
+                reschedules++;
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Appends a node to the bucket of the finest level whose buckets span
+     * the time left until its deadline.
+     */
+    private void schedule(Node<K, V> node) {
+        long remaining = node.deadline - time;
+        int level = 0;
+        while (level < SHIFTS.length - 1 && remaining >= SPANS[level + 1]) {
+            level++;
+        }
+        Node<K, V>[] buckets = wheel[level];
+        Node<K, V> sentinel =
+                buckets[(int)(node.deadline >>> SHIFTS[level])
+                        & (buckets.length - 1)];
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private void expire(Node<K, V> node) {
+        if (node.prev != null) {
+            unlink(node);
+        }
+        index.remove(node.key);
+        expirations++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = node.next = null;
+    }
+}
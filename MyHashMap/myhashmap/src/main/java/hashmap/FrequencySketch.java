@@ -0,0 +1,88 @@
+package hashmap;
+
+/**
+ * Count-min sketch of 4-bit counters that estimates how often each key has
+ * been seen recently, for the TinyLFU admission policy of CachingHashMap.
+ * <p>
+ * Each long holds sixteen counters. A key selects one counter in each of four
+ * longs, chosen by four differently seeded hashes, and its estimate is the
+ * smallest of the four, which can only overcount. Counters saturate at 15.
+ * After every sampleSize increments all counters are halved, so keys that
+ * stop being used fade away. This is the design of Caffeine's sketch,
+ * described in Einziger, Friedman, and Manes, "TinyLFU: A Highly Efficient
+ * Cache Admission Policy", ACM TOS 2017.
+ * @version 1.0 October 18, 2026
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L,
+            0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask, sampleSize;
+    private int size;
+
+    /**
+     * Creates a sketch sized for a cache of the given capacity.
+     * @param capacity the maximum number of entries in the cache
+     */
+    FrequencySketch(int capacity) {
+        int length = Hashing.tableSizeFor(Math.max(capacity, 1), 1.0, 8);
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = (int)Math.min(10L * Math.max(capacity, 1),
+                                   Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the hash, at most
+     * 15.
+     * @param hash the mixed hash of a key
+     * @return     the estimated frequency
+     */
+    int frequency(int hash) {
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int shift = (start + i) << 2;
+            int count = (int)(table[indexOf(hash, i)] >>> shift) & MAX_COUNT;
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of the hash, halving every counter once enough
+     * occurrences have been recorded.
+     * @param hash the mixed hash of a key
+     */
+    void increment(int hash) {
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            int shift = (start + i) << 2;
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int)h & tableMask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+}
@@ -0,0 +1,25 @@
+package hashmap;
+
+/**
+ * The ways a MyHashMap can choose the size of its table as it grows.
+ * @version 1.0 October 18, 2026
+ */
+public enum GrowthMode {
+    /**
+     * Walks a fixed table of primes and stops growing at its last entry,
+     * 222461 buckets.
+     */
+    BOUNDED_PRIMES,
+
+    /**
+     * Continues past the table of primes by generating the next prime larger
+     * than twice the current size, up to the largest prime below 2^30.
+     */
+    UNBOUNDED_PRIMES,
+
+    /**
+     * Doubles a power-of-two table and replaces the modulus with a bit mask
+     * over a mixed hash code.
+     */
+    POWER_OF_TWO
+}
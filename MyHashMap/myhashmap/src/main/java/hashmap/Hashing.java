@@ -0,0 +1,62 @@
+package hashmap;
+
+/**
+ * Hash-mixing and table-sizing helpers shared by the hash maps in this
+ * package.
+ * @version 1.0 October 18, 2026
+ */
+final class Hashing {
+    /** The largest power-of-two table size that can be allocated. */
+    static final int MAX_POWER_OF_TWO = 1 << 30;
+
+    private Hashing() { }
+
+    /**
+     * Returns the MurmurHash3 32-bit finalizer of the supplied hash code.
+     * Every input bit affects every output bit, so the low bits of the result
+     * can be used directly as an index into a power-of-two table.
+     * @param h the hash code to mix
+     * @return  the mixed hash code
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Returns the MurmurHash3 64-bit finalizer of the supplied key, folded to
+     * 32 bits.
+     * @param h the long key to mix
+     * @return  the mixed hash code
+     */
+    static int mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the smallest power of two that can hold the expected number of
+     * entries without exceeding the maximum load factor.
+     * @param expectedSize  the number of entries the table must hold
+     * @param maxLoadFactor the maximum ratio of entries to table slots
+     * @param minimumSize   the smallest table size to return, a power of two
+     * @return the power-of-two table size
+     */
+    static int tableSizeFor(int expectedSize, double maxLoadFactor,
+                            int minimumSize) {
+        long needed = (long)Math.ceil(expectedSize / maxLoadFactor);
+        if (needed >= MAX_POWER_OF_TWO) {
+            return MAX_POWER_OF_TWO;
+        }
+        int size = Integer.highestOneBit((int)Math.max(needed, minimumSize));
+        return size < needed ? size << 1 : size;
+    }
+}
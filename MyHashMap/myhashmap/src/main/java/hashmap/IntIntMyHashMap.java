@@ -0,0 +1,306 @@
+package hashmap;
+
+/**
+ * Class for a hash map from int keys to int values that stores both in flat
+ * int arrays, so no key or value is ever boxed and no Entry is allocated.
+ * Collisions are resolved with linear probing, and removal shifts displaced
+ * keys back toward their home slots instead of leaving tombstones.
+ * <p>
+ * A key of 0 marks an empty slot, so the mapping for key 0 itself, if any,
+ * is kept in a separate field. Methods that return a value return the map's
+ * no-entry value, 0 unless specified otherwise, when the key is absent.
+ * @version 1.1 October 18, 2026
+ */
+public class IntIntMyHashMap {
+    private static final int INITIAL_TABLE_SIZE = 128;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private final int noEntryValue;
+    private int[] keys, values;
+    private int mask, threshold, numEntries;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Creates an empty map with the default table size and a no-entry value
+     * of 0.
+     */
+    public IntIntMyHashMap() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing, with a no-entry value of 0.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public IntIntMyHashMap(int expectedSize) {
+        this(expectedSize, 0);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing.
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param noEntryValue the value returned for keys that are not in the map
+     */
+    public IntIntMyHashMap(int expectedSize, int noEntryValue) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        this.noEntryValue = noEntryValue;
+        allocate(Hashing.tableSizeFor(
+                expectedSize, MAX_LOAD_FACTOR, INITIAL_TABLE_SIZE));
+    }
+
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = new int[tableSize];
+        mask = tableSize - 1;
+        threshold = (int)(tableSize * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the value returned for keys that are not in the map.
+     * @return the value returned for keys that are not in the map
+     */
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Returns the number of slots in this map.
+     * @return the number of slots in this map
+     */
+    public int getTableSize() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return numEntries;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return numEntries == 0;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the key.
+     * @param key the key to look up
+     * @return true if this map contains a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the no-entry
+     * value if this map contains no mapping for the key.
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or the no-entry
+     *         value
+     */
+    public int get(int key) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : noEntryValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : noEntryValue;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or the no-entry value if
+     *         there was no mapping for key
+     */
+    public int put(int key, int value) {
+        if (key == 0) {
+            int oldValue = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                numEntries++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        int index = Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                int oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (numEntries >= threshold) {
+            resize();
+            index = Hashing.mix(key) & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        numEntries++;
+        return noEntryValue;
+    }
+
+    /**
+     * Adds delta to the value mapped to the key, treating an absent key as
+     * mapped to the no-entry value. This is the boxing-free way to maintain a
+     * counter.
+     * @param key   the key whose value is to be incremented
+     * @param delta the amount to add
+     * @return the new value associated with key
+     */
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            put(0, get(0) + delta);
+            return zeroValue;
+        }
+        int index = Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return values[index] += delta;
+            }
+            index = (index + 1) & mask;
+        }
+        int value = noEntryValue + delta;
+        if (numEntries >= threshold) {
+            resize();
+            index = Hashing.mix(key) & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        numEntries++;
+        return value;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or the no-entry value if
+     *         there was no mapping for key
+     */
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return noEntryValue;
+            }
+            hasZeroKey = false;
+            numEntries--;
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return noEntryValue;
+        }
+        int oldValue = values[index];
+        shiftBack(index);
+        numEntries--;
+        return oldValue;
+    }
+
+    /**
+     * Empties the given slot and moves later keys of the same probe run back
+     * into it whenever their home slot does not lie between the gap and their
+     * current slot.
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == 0) {
+                break;
+            }
+            int home = Hashing.mix(key) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private int indexOf(int key) {
+        int index = Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the table, before a new key takes a slot. A table that cannot
+     * grow any further fills up to its last free slot, which every probe loop
+     * needs in order to stop, and then refuses new keys.
+     * @throws IllegalStateException if the table is full
+     */
+    private void resize() {
+        if (keys.length == Hashing.MAX_POWER_OF_TWO) {
+            if (numEntries >= keys.length - 1) {
+                throw new IllegalStateException("IntIntMyHashMap is full.");
+            }
+            threshold = keys.length - 1;
+            return;
+        }
+        int[] oldKeys = keys, oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = Hashing.mix(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)numEntries / keys.length;
+    }
+
+    /**
+     * Returns the maximum probe length in this map, the open addressing
+     * counterpart of MyHashMap's maximum chain length. A key found in its home
+     * slot has probe length 1.
+     * @return the maximum probe length in this map
+     */
+    public int computeMaxChainLength() {
+        int maxProbeLength = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int home = Hashing.mix(keys[i]) & mask;
+                maxProbeLength = Math.max(maxProbeLength,
+                                          ((i - home) & mask) + 1);
+            }
+        }
+        return maxProbeLength;
+    }
+}
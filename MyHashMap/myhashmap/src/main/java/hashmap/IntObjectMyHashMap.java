@@ -0,0 +1,259 @@
+package hashmap;
+
+/**
+ * Class for a hash map from int keys to object values that stores keys in
+ * a flat int array and values in a parallel Object array, so no key is
+ * ever boxed and no Entry is allocated. Collisions are resolved with linear
+ * probing, and removal shifts displaced keys back toward their home slots
+ * instead of leaving tombstones.
+ * <p>
+ * A key of 0 marks an empty slot, so the mapping for key 0 itself, if any,
+ * is kept in a separate field. Methods that return a value return null when
+ * the key is absent.
+ * @version 1.1 October 18, 2026
+ */
+public class IntObjectMyHashMap<V> {
+    private static final int INITIAL_TABLE_SIZE = 128;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private int[] keys;
+    private V[] values;
+    private int mask, threshold, numEntries;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    /**
+     * Creates an empty map with the default table size.
+     */
+    public IntObjectMyHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public IntObjectMyHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(Hashing.tableSizeFor(
+                expectedSize, MAX_LOAD_FACTOR, INITIAL_TABLE_SIZE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int tableSize) {
+        keys = new int[tableSize];
+        values = (V[])new Object[tableSize];
+        mask = tableSize - 1;
+        threshold = (int)(tableSize * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the number of slots in this map.
+     * @return the number of slots in this map
+     */
+    public int getTableSize() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return numEntries;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return numEntries == 0;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the key.
+     * @param key the key to look up
+     * @return true if this map contains a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    public V get(int key) {
+        if (key == 0) {
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    public V put(int key, V value) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                numEntries++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        int index = Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                V oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (numEntries >= threshold) {
+            resize();
+            index = Hashing.mix(key) & mask;
+            while (keys[index] != 0) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        numEntries++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            V oldValue = zeroValue;
+            if (hasZeroKey) {
+                hasZeroKey = false;
+                zeroValue = null;
+                numEntries--;
+            }
+            return oldValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = values[index];
+        shiftBack(index);
+        numEntries--;
+        return oldValue;
+    }
+
+    /**
+     * Empties the given slot and moves later keys of the same probe run back
+     * into it whenever their home slot does not lie between the gap and their
+     * current slot.
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            int key = keys[index];
+            if (key == 0) {
+                break;
+            }
+            int home = Hashing.mix(key) & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+    }
+
+    private int indexOf(int key) {
+        int index = Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the table, before a new key takes a slot. A table that cannot
+     * grow any further fills up to its last free slot, which every probe loop
+     * needs in order to stop, and then refuses new keys.
+     * @throws IllegalStateException if the table is full
+     */
+    private void resize() {
+        if (keys.length == Hashing.MAX_POWER_OF_TWO) {
+            if (numEntries >= keys.length - 1) {
+                throw new IllegalStateException("IntObjectMyHashMap is full.");
+            }
+            threshold = keys.length - 1;
+            return;
+        }
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int index = Hashing.mix(key) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)numEntries / keys.length;
+    }
+
+    /**
+     * Returns the maximum probe length in this map, the open addressing
+     * counterpart of MyHashMap's maximum chain length. A key found in its home
+     * slot has probe length 1.
+     * @return the maximum probe length in this map
+     */
+    public int computeMaxChainLength() {
+        int maxProbeLength = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int home = Hashing.mix(keys[i]) & mask;
+                maxProbeLength = Math.max(maxProbeLength,
+                                          ((i - home) & mask) + 1);
+            }
+        }
+        return maxProbeLength;
+    }
+}
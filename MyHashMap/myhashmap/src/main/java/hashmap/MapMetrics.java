@@ -0,0 +1,138 @@
+package hashmap;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Counters behind MyHashMap's optional metrics. MyHashMap is unsynchronized,
+ * so only one thread updates the counters at a time. Each counter is a long
+ * array element written with opaque mode: the writer pays for a plain add and
+ * store, with no atomic read-modify-write, and a monitoring thread that takes
+ * a snapshot sees every counter whole, if possibly a little behind.
+ * @version 1.1 October 18, 2026
+ */
+final class MapMetrics {
+    /** Probe lengths from 0 up to this value minus one get their own bucket. */
+    static final int PROBE_BUCKETS = 17;
+    /** Chain lengths from 0 up to this value minus one get their own bucket. */
+    static final int OCCUPANCY_BUCKETS = 9;
+
+    private static final VarHandle COUNTS =
+            MethodHandles.arrayElementVarHandle(long[].class);
+    // Indexes of the counters in counts. The probe histogram and the
+    // occupancy distribution follow the scalar counters.
+    private static final int GETS = 0, HITS = 1, PUTS = 2, REMOVES = 3,
+            RESIZES = 4, RESIZE_NANOS = 5, MAX_RESIZE_NANOS = 6, PROBES = 7,
+            OCCUPANCY = PROBES + PROBE_BUCKETS,
+            NUM_COUNTERS = OCCUPANCY + OCCUPANCY_BUCKETS;
+
+    private final long[] counts = new long[NUM_COUNTERS];
+
+    /**
+     * Adds delta to a counter. The owning thread is the only writer, so a
+     * plain read of its own last write is current.
+     */
+    private void add(int counter, long delta) {
+        COUNTS.setOpaque(counts, counter, counts[counter] + delta);
+    }
+
+    private long get(int counter) {
+        return (long)COUNTS.getOpaque(counts, counter);
+    }
+
+    void recordGet(boolean hit, int probes) {
+        add(GETS, 1);
+        if (hit) {
+            add(HITS, 1);
+        }
+        recordProbes(probes);
+    }
+
+    void recordPut(int probes) {
+        add(PUTS, 1);
+        recordProbes(probes);
+    }
+
+    void recordRemove(int probes) {
+        add(REMOVES, 1);
+        recordProbes(probes);
+    }
+
+    private void recordProbes(int probes) {
+        add(PROBES + Math.min(probes, PROBE_BUCKETS - 1), 1);
+    }
+
+    void recordResize() {
+        add(RESIZES, 1);
+    }
+
+    void recordResizeTime(long nanos) {
+        add(RESIZE_NANOS, nanos);
+        if (nanos > counts[MAX_RESIZE_NANOS]) {
+            COUNTS.setOpaque(counts, MAX_RESIZE_NANOS, nanos);
+        }
+    }
+
+    /**
+     * Records that a bucket of the current table went from oldLength to
+     * newLength entries.
+     */
+    void recordBucketChange(int oldLength, int newLength) {
+        add(OCCUPANCY + Math.min(oldLength, OCCUPANCY_BUCKETS - 1), -1);
+        add(OCCUPANCY + Math.min(newLength, OCCUPANCY_BUCKETS - 1), 1);
+    }
+
+    /**
+     * Returns the length of the given bucket, counting no further than the
+     * last occupancy bucket.
+     */
+    static int bucketLength(Entry<?, ?> head) {
+        int length = 0;
+        for (Entry<?, ?> node = head; node != null
+                && length < OCCUPANCY_BUCKETS - 1; node = node.next) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Recounts the occupancy distribution from the given table.
+     */
+    void countBuckets(Entry<?, ?>[] table) {
+        long[] occupancy = new long[OCCUPANCY_BUCKETS];
+        for (Entry<?, ?> bucket : table) {
+            occupancy[bucketLength(bucket)]++;
+        }
+        setOccupancy(occupancy);
+    }
+
+    /**
+     * Resets the occupancy distribution to that of an empty table of the
+     * given size.
+     */
+    void clearBuckets(int tableSize) {
+        long[] occupancy = new long[OCCUPANCY_BUCKETS];
+        occupancy[0] = tableSize;
+        setOccupancy(occupancy);
+    }
+
+    private void setOccupancy(long[] occupancy) {
+        for (int i = 0; i < OCCUPANCY_BUCKETS; i++) {
+            COUNTS.setOpaque(counts, OCCUPANCY + i, occupancy[i]);
+        }
+    }
+
+    MapStats snapshot(int size, int tableSize) {
+        return new MapStats(size, tableSize, get(GETS), get(HITS), get(PUTS),
+                get(REMOVES), range(PROBES, PROBE_BUCKETS), get(RESIZES),
+                get(RESIZE_NANOS), get(MAX_RESIZE_NANOS),
+                range(OCCUPANCY, OCCUPANCY_BUCKETS));
+    }
+
+    private long[] range(int first, int length) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = get(first + i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,193 @@
+package hashmap;
+import java.util.Arrays;
+
+/**
+ * Class for an immutable snapshot of the statistics MyHashMap collects while
+ * its metrics are enabled. Counts cover the time since the metrics were
+ * enabled.
+ * <p>
+ * The probe histogram counts get(), put(), and remove() calls by the number of
+ * keys each one compared; its last bucket counts every operation that
+ * compared at least that many. The bucket occupancy distribution counts the
+ * buckets of the current table by how many entries they hold, and its last
+ * bucket likewise covers all longer chains and tree buckets. During an
+ * incremental rehash it describes only the new table.
+ * @version 1.0 October 18, 2026
+ */
+public final class MapStats implements MapStatsMXBean {
+    private final int size, tableSize;
+    private final long gets, hits, puts, removes;
+    private final long resizeCount, resizeNanos, maxResizeNanos;
+    private final long[] probeHistogram, bucketOccupancy;
+
+    MapStats(int size, int tableSize, long gets, long hits, long puts,
+             long removes, long[] probeHistogram, long resizeCount,
+             long resizeNanos, long maxResizeNanos, long[] bucketOccupancy) {
+        this.size = size;
+        this.tableSize = tableSize;
+        this.gets = gets;
+        this.hits = hits;
+        this.puts = puts;
+        this.removes = removes;
+        this.probeHistogram = probeHistogram;
+        this.resizeCount = resizeCount;
+        this.resizeNanos = resizeNanos;
+        this.maxResizeNanos = maxResizeNanos;
+        this.bucketOccupancy = bucketOccupancy;
+    }
+
+    /**
+     * Returns the number of key-value mappings in the map.
+     * @return the number of key-value mappings in the map
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of buckets in the map.
+     * @return the number of buckets in the map
+     */
+    @Override
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * Returns the load factor of the map, defined as the number of
+     * entries / table size.
+     * @return the load factor of the map
+     */
+    @Override
+    public double getLoadFactor() {
+        return (double)size / tableSize;
+    }
+
+    /**
+     * Returns the number of calls to get().
+     * @return the number of calls to get()
+     */
+    @Override
+    public long getGets() {
+        return gets;
+    }
+
+    /**
+     * Returns the number of calls to get() that found their key.
+     * @return the number of calls to get() that found their key
+     */
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of calls to get() that did not find their key.
+     * @return the number of calls to get() that did not find their key
+     */
+    @Override
+    public long getMisses() {
+        return gets - hits;
+    }
+
+    /**
+     * Returns the fraction of calls to get() that found their key, or NaN if
+     * there have been none.
+     * @return hits / gets
+     */
+    @Override
+    public double getHitRatio() {
+        return (double)hits / gets;
+    }
+
+    /**
+     * Returns the number of calls to put().
+     * @return the number of calls to put()
+     */
+    @Override
+    public long getPuts() {
+        return puts;
+    }
+
+    /**
+     * Returns the number of calls to remove().
+     * @return the number of calls to remove()
+     */
+    @Override
+    public long getRemoves() {
+        return removes;
+    }
+
+    /**
+     * Returns the number of operations that compared i keys at index i.
+     * @return the probe-length histogram
+     */
+    @Override
+    public long[] getProbeHistogram() {
+        return probeHistogram.clone();
+    }
+
+    /**
+     * Returns the mean number of keys compared per operation, or NaN if there
+     * have been no operations.
+     * @return the mean probe length, counting the last bucket of the
+     *         histogram at its lower bound
+     */
+    public double getMeanProbeLength() {
+        long operations = 0, probes = 0;
+        for (int i = 0; i < probeHistogram.length; i++) {
+            operations += probeHistogram[i];
+            probes += i * probeHistogram[i];
+        }
+        return (double)probes / operations;
+    }
+
+    /**
+     * Returns the number of times the table has grown.
+     * @return the number of times the table has grown
+     */
+    @Override
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time spent moving entries to larger tables.
+     * @return the total resize time in nanoseconds
+     */
+    @Override
+    public long getResizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the longest single pause spent moving entries to a larger
+     * table: a whole rehash, or one step of an incremental rehash.
+     * @return the longest resize pause in nanoseconds
+     */
+    @Override
+    public long getMaxResizeNanos() {
+        return maxResizeNanos;
+    }
+
+    /**
+     * Returns the number of buckets holding i entries at index i.
+     * @return the bucket occupancy distribution
+     */
+    @Override
+    public long[] getBucketOccupancy() {
+        return bucketOccupancy.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "MapStats[size=" + size + ", tableSize=" + tableSize
+                + ", gets=" + gets + ", hits=" + hits + ", puts=" + puts
+                + ", removes=" + removes + ", probeHistogram="
+                + Arrays.toString(probeHistogram) + ", resizeCount="
+                + resizeCount + ", resizeNanos=" + resizeNanos
+                + ", maxResizeNanos=" + maxResizeNanos + ", bucketOccupancy="
+                + Arrays.toString(bucketOccupancy) + "]";
+    }
+}
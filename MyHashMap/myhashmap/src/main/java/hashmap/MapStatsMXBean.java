@@ -0,0 +1,37 @@
+package hashmap;
+
+/**
+ * Management interface through which MyHashMap.registerMXBean() publishes a
+ * map's statistics over JMX. Each attribute is read from a fresh MapStats
+ * snapshot.
+ * @version 1.0 October 18, 2026
+ */
+public interface MapStatsMXBean {
+    int getSize();
+
+    int getTableSize();
+
+    double getLoadFactor();
+
+    long getGets();
+
+    long getHits();
+
+    long getMisses();
+
+    double getHitRatio();
+
+    long getPuts();
+
+    long getRemoves();
+
+    long[] getProbeHistogram();
+
+    long getResizeCount();
+
+    long getResizeNanos();
+
+    long getMaxResizeNanos();
+
+    long[] getBucketOccupancy();
+}
@@ -0,0 +1,672 @@
+package hashmap;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a hash map whose buckets and entries live in a memory-mapped
+ * file instead of on the Java heap. Keys and values are converted to bytes by
+ * the supplied codecs, so a map of any size occupies only a few objects on
+ * the heap and adds nothing for the garbage collector to trace. Closing the
+ * map and opening the same file again restores every mapping without
+ * reading or rehashing the entries.
+ * <p>
+ * The file starts with a header, followed by records and bucket tables
+ * allocated one after another. Each bucket holds the file offset of the first
+ * record of its chain, and each record holds the offset of the next record
+ * (twice, as described below), the hash of its key bytes, the lengths of its
+ * key and value, and the bytes themselves. Records never move. A value
+ * whose encoding changes length is written to a new record, and the space of
+ * replaced and removed records and of outgrown tables is not reused;
+ * getWastedBytes() reports how much there is, and compact() rewrites the file
+ * without it.
+ * <p>
+ * The file is mapped in segments of at most 1 GB, since a single
+ * MappedByteBuffer cannot exceed 2 GB. Changes reach the file as soon as the
+ * operating system writes back the mapped pages, even if the process dies,
+ * but only force() or close() guarantees they are on disk. A put or remove
+ * interrupted by a crash of the operating system may leave the file
+ * inconsistent. Resizing never leaves it so: each record has two next
+ * pointers and the header two table descriptors, and a resize links the new
+ * table through the pointers not in use, forces them to disk, and only then
+ * switches the header over to them.
+ * @version 1.2 October 18, 2026
+ */
+public class MappedHashMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, Closeable {
+    private static final long MAGIC = 0x4d79486173684d70L;
+    private static final int VERSION = 2;
+    // Header fields. CURRENT is 0 or 1 and selects both the table descriptor,
+    // an offset and a size, and the next pointer of every record in use.
+    private static final int MAGIC_OFFSET = 0, VERSION_OFFSET = 8,
+            CURRENT_OFFSET = 12, DATA_END_OFFSET = 16,
+            WASTED_BYTES_OFFSET = 24, NUM_ENTRIES_OFFSET = 32,
+            TABLE_OFFSET = 40, TABLE_SIZE_OFFSET = 56, HEADER_SIZE = 64;
+    // Record fields. NEXT is followed by the second next pointer. A value
+    // length of -1 stands for a null value.
+    private static final int NEXT = 0, HASH = 16, KEY_LENGTH = 20,
+            VALUE_LENGTH = 24, RECORD_HEADER_SIZE = 28;
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT,
+            SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final long INITIAL_FILE_SIZE = 1 << 20;
+    private static final int INITIAL_TABLE_SIZE = 1024;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private final Path path;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private FileChannel channel;
+    private MappedByteBuffer[] segments;
+    private long fileSize, tableOffset, dataEnd, wastedBytes;
+    private int tableSize, numEntries;
+    // The value of CURRENT, and the offset within a record of the next
+    // pointer it selects.
+    private int current, nextOffset;
+    // The record before the one last found by find(), or 0 if that record
+    // is first in its chain.
+    private long previous;
+
+    /**
+     * Opens the map stored in the given file, or creates an empty map there if
+     * the file does not exist or is empty. The codecs must be the same ones
+     * used when the file was created.
+     * @param path       the file holding the map
+     * @param keyCodec   the codec for keys, which must be canonical
+     * @param valueCodec the codec for values
+     * @throws IOException if the file cannot be opened or mapped, or does not
+     *                     hold a map
+     */
+    public MappedHashMap(Path path, Codec<K> keyCodec, Codec<V> valueCodec)
+            throws IOException {
+        this(path, keyCodec, valueCodec, INITIAL_TABLE_SIZE);
+    }
+
+    private MappedHashMap(Path path, Codec<K> keyCodec, Codec<V> valueCodec,
+                          int initialTableSize) throws IOException {
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        open(initialTableSize);
+    }
+
+    private void open(int initialTableSize) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            segments = new MappedByteBuffer[0];
+            if (channel.size() == 0) {
+                initialize(initialTableSize);
+            } else {
+                reopen();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void initialize(int initialTableSize) throws IOException {
+        map(INITIAL_FILE_SIZE);
+        putLong(MAGIC_OFFSET, MAGIC);
+        putInt(VERSION_OFFSET, VERSION);
+        dataEnd = HEADER_SIZE;
+        tableSize = initialTableSize;
+        tableOffset = allocateTable(tableSize);
+        putInt(TABLE_SIZE_OFFSET, tableSize);
+        putLong(TABLE_OFFSET, tableOffset);
+        nextOffset = NEXT;
+    }
+
+    private void reopen() throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("File is too short to hold a map.");
+        }
+        map(channel.size());
+        if (getLong(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("File does not hold a MappedHashMap.");
+        }
+        if (getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException("Unsupported MappedHashMap version: "
+                    + getInt(VERSION_OFFSET));
+        }
+        current = getInt(CURRENT_OFFSET) & 1;
+        nextOffset = NEXT + current * Long.BYTES;
+        tableSize = getInt(TABLE_SIZE_OFFSET + current * Integer.BYTES);
+        tableOffset = getLong(TABLE_OFFSET + current * Long.BYTES);
+        dataEnd = getLong(DATA_END_OFFSET);
+        numEntries = getInt(NUM_ENTRIES_OFFSET);
+        wastedBytes = getLong(WASTED_BYTES_OFFSET);
+    }
+
+    /**
+     * Maps the file up to the given size, extending it if needed. Full
+     * segments that are already mapped are kept; a partial last segment is
+     * mapped again at its new length.
+     */
+    private void map(long newSize) throws IOException {
+        int count = (int)((newSize + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] newSegments = Arrays.copyOf(segments, count);
+        for (int i = 0; i < count; i++) {
+            long start = (long)i << SEGMENT_SHIFT;
+            long length = Math.min(SEGMENT_SIZE, newSize - start);
+            if (newSegments[i] == null || newSegments[i].capacity() < length) {
+                newSegments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                             start, length);
+            }
+        }
+        segments = newSegments;
+        fileSize = newSize;
+    }
+
+    /**
+     * Allocates a bucket table of the given size and clears it. Space past
+     * the end of the data is not necessarily zero: after a crash it may
+     * hold a table that a resize had filled but never switched to.
+     */
+    private long allocateTable(int size) {
+        long offset = allocate((long)size * Long.BYTES, true);
+        for (int i = 0; i < size; i++) {
+            putLong(offset + (long)i * Long.BYTES, 0);
+        }
+        return offset;
+    }
+
+    /**
+     * Reserves the given number of bytes at the end of the data, growing the
+     * file if needed, and returns their offset. Unless the space may straddle
+     * segments, it starts a new segment when it would not fit in the current
+     * one.
+     */
+    private long allocate(long bytes, boolean mayStraddle) {
+        long aligned = (bytes + 7) & ~7L;
+        long start = dataEnd;
+        if (!mayStraddle && (start >>> SEGMENT_SHIFT)
+                != ((start + aligned - 1) >>> SEGMENT_SHIFT)) {
+            start = ((start >>> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT;
+        }
+        long end = start + aligned;
+        if (end > fileSize) {
+            long newSize = fileSize;
+            while (newSize < end) {
+                newSize = newSize < SEGMENT_SIZE
+                        ? newSize << 1 : newSize + SEGMENT_SIZE;
+            }
+            try {
+                map(newSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        wastedBytes += start - dataEnd;
+        dataEnd = end;
+        putLong(DATA_END_OFFSET, dataEnd);
+        putLong(WASTED_BYTES_OFFSET, wastedBytes);
+        return start;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return numEntries;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return numEntries == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        byte[] keyBytes = keyCodec.encode(key);
+        long record = find(keyBytes, hash(keyBytes));
+        return record != 0 ? readValue(record) : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = value != null ? valueCodec.encode(value) : null;
+        int hash = hash(keyBytes);
+        long record = find(keyBytes, hash);
+        if (record == 0) {
+            long bucket = bucketFor(hash);
+            long newRecord = writeRecord(getLong(bucket), hash, keyBytes,
+                                         valueBytes);
+            putLong(bucket, newRecord);
+            putInt(NUM_ENTRIES_OFFSET, ++numEntries);
+            if (numEntries > tableSize * MAX_LOAD_FACTOR) {
+                resize();
+            }
+            return null;
+        }
+        V oldValue = readValue(record);
+        int newLength = valueBytes != null ? valueBytes.length : -1;
+        if (getInt(record + VALUE_LENGTH) == newLength) {
+            if (valueBytes != null) {
+                putBytes(record + RECORD_HEADER_SIZE + keyBytes.length,
+                         valueBytes);
+            }
+        } else {
+            // The new record is complete before it replaces the old one in
+            // the chain.
+            long newRecord = writeRecord(getLong(record + nextOffset), hash,
+                                         keyBytes, valueBytes);
+            link(hash, newRecord);
+            discard(record);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        byte[] keyBytes = keyCodec.encode(key);
+        int hash = hash(keyBytes);
+        long record = find(keyBytes, hash);
+        if (record == 0) {
+            return null;
+        }
+        V oldValue = readValue(record);
+        link(hash, getLong(record + nextOffset));
+        discard(record);
+        putInt(NUM_ENTRIES_OFFSET, --numEntries);
+        return oldValue;
+    }
+
+    /**
+     * Returns the offset of the record holding the given key bytes, or 0 if
+     * there is none, and leaves the offset of the record before it in
+     * previous.
+     */
+    private long find(byte[] keyBytes, int hash) {
+        previous = 0;
+        long record = getLong(bucketFor(hash));
+        while (record != 0) {
+            if (getInt(record + HASH) == hash && keyEquals(record, keyBytes)) {
+                return record;
+            }
+            previous = record;
+            record = getLong(record + nextOffset);
+        }
+        return 0;
+    }
+
+    /**
+     * Makes the record after the one last found by find() the given record,
+     * which is either its replacement or its successor.
+     */
+    private void link(int hash, long record) {
+        putLong(previous != 0 ? previous + nextOffset : bucketFor(hash),
+                record);
+    }
+
+    private void discard(long record) {
+        wastedBytes += recordSize(getInt(record + KEY_LENGTH),
+                                  getInt(record + VALUE_LENGTH));
+        putLong(WASTED_BYTES_OFFSET, wastedBytes);
+    }
+
+    private static long recordSize(int keyLength, int valueLength) {
+        return (RECORD_HEADER_SIZE + keyLength + Math.max(valueLength, 0) + 7)
+                & ~7L;
+    }
+
+    private long writeRecord(long nextRecord, int hash, byte[] keyBytes,
+                             byte[] valueBytes) {
+        int valueLength = valueBytes != null ? valueBytes.length : -1;
+        long size = recordSize(keyBytes.length, valueLength);
+        if (size > SEGMENT_SIZE) {
+            throw new IllegalArgumentException(
+                    "Mapping is too large to store: " + size + " bytes");
+        }
+        long record = allocate(size, false);
+        putLong(record + nextOffset, nextRecord);
+        putInt(record + HASH, hash);
+        putInt(record + KEY_LENGTH, keyBytes.length);
+        putInt(record + VALUE_LENGTH, valueLength);
+        putBytes(record + RECORD_HEADER_SIZE, keyBytes);
+        if (valueBytes != null) {
+            putBytes(record + RECORD_HEADER_SIZE + keyBytes.length, valueBytes);
+        }
+        return record;
+    }
+
+    private boolean keyEquals(long record, byte[] keyBytes) {
+        if (getInt(record + KEY_LENGTH) != keyBytes.length) {
+            return false;
+        }
+        MappedByteBuffer segment = segment(record);
+        int offset = offset(record) + RECORD_HEADER_SIZE;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (segment.get(offset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private K readKey(long record) {
+        byte[] bytes = new byte[getInt(record + KEY_LENGTH)];
+        getBytes(record + RECORD_HEADER_SIZE, bytes);
+        return keyCodec.decode(bytes);
+    }
+
+    private V readValue(long record) {
+        int length = getInt(record + VALUE_LENGTH);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        getBytes(record + RECORD_HEADER_SIZE + getInt(record + KEY_LENGTH),
+                 bytes);
+        return valueCodec.decode(bytes);
+    }
+
+    /**
+     * Returns the hash of the given key bytes. Hashing the bytes rather than
+     * calling hashCode() keeps the hash, and so every bucket, valid across
+     * runs for keys whose hashCode() is not stable.
+     */
+    private static int hash(byte[] keyBytes) {
+        return Hashing.mix(Arrays.hashCode(keyBytes));
+    }
+
+    private long bucketFor(int hash) {
+        return tableOffset + (long)(hash & (tableSize - 1)) * Long.BYTES;
+    }
+
+    /**
+     * Allocates a table twice the size at the end of the data and relinks
+     * every record into it, using the hash stored in each record. The records
+     * themselves do not move. The new chains run through the next pointers
+     * not in use, so until the header switches to the new table, the old
+     * table and its chains are intact, and a crash at any point leaves every
+     * mapping reachable from one table or the other. The cleared and filled
+     * table is forced to disk before the header points to it.
+     */
+    private void resize() {
+        if (tableSize == Hashing.MAX_POWER_OF_TWO) {
+            return;
+        }
+        long oldTableOffset = tableOffset;
+        int oldTableSize = tableSize;
+        int newCurrent = current ^ 1;
+        int newNextOffset = NEXT + newCurrent * Long.BYTES;
+        int newTableSize = oldTableSize << 1;
+        long newTableOffset = allocateTable(newTableSize);
+        for (int i = 0; i < oldTableSize; i++) {
+            long record = getLong(oldTableOffset + (long)i * Long.BYTES);
+            while (record != 0) {
+                long bucket = newTableOffset + (long)(getInt(record + HASH)
+                        & (newTableSize - 1)) * Long.BYTES;
+                putLong(record + newNextOffset, getLong(bucket));
+                putLong(bucket, record);
+                record = getLong(record + nextOffset);
+            }
+        }
+        putInt(TABLE_SIZE_OFFSET + newCurrent * Integer.BYTES, newTableSize);
+        putLong(TABLE_OFFSET + newCurrent * Long.BYTES, newTableOffset);
+        force();
+        // A single aligned int write switches the map to the new table.
+        putInt(CURRENT_OFFSET, newCurrent);
+        force();
+        current = newCurrent;
+        nextOffset = newNextOffset;
+        tableOffset = newTableOffset;
+        tableSize = newTableSize;
+        wastedBytes += (long)oldTableSize * Long.BYTES;
+        putLong(WASTED_BYTES_OFFSET, wastedBytes);
+    }
+
+    /**
+     * Rewrites the file without wasted space: the live records are copied,
+     * still encoded, into a new file beside this one, holding a table sized
+     * for them, which then replaces this map's file. The original file is
+     * untouched until the new one is complete and on disk, and it is replaced
+     * with an atomic move. On file systems that cannot replace a file that is
+     * open, compaction fails with an IOException and the map is unchanged.
+     * @throws IOException if the new file cannot be written or moved into
+     *                     place
+     */
+    public void compact() throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, path.getFileName().toString(),
+                                         ".compact");
+        try {
+            try (MappedHashMap<K, V> copy = new MappedHashMap<>(temp, keyCodec,
+                    valueCodec, Hashing.tableSizeFor(numEntries,
+                            MAX_LOAD_FACTOR, INITIAL_TABLE_SIZE))) {
+                copyRecordsTo(copy);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        // The old segments stay mapped until they are garbage collected, but
+        // they now belong to the replaced file.
+        channel.close();
+        open(INITIAL_TABLE_SIZE);
+    }
+
+    /**
+     * Copies the key and value bytes of every record into the given empty
+     * map, without decoding them.
+     */
+    private void copyRecordsTo(MappedHashMap<K, V> copy) {
+        for (int i = 0; i < tableSize; i++) {
+            long record = getLong(tableOffset + (long)i * Long.BYTES);
+            while (record != 0) {
+                byte[] keyBytes = new byte[getInt(record + KEY_LENGTH)];
+                getBytes(record + RECORD_HEADER_SIZE, keyBytes);
+                int valueLength = getInt(record + VALUE_LENGTH);
+                byte[] valueBytes = null;
+                if (valueLength >= 0) {
+                    valueBytes = new byte[valueLength];
+                    getBytes(record + RECORD_HEADER_SIZE + keyBytes.length,
+                             valueBytes);
+                }
+                int hash = getInt(record + HASH);
+                long bucket = copy.bucketFor(hash);
+                copy.putLong(bucket, copy.writeRecord(copy.getLong(bucket),
+                        hash, keyBytes, valueBytes));
+                record = getLong(record + nextOffset);
+            }
+        }
+        copy.numEntries = numEntries;
+        copy.putInt(NUM_ENTRIES_OFFSET, numEntries);
+    }
+
+    /**
+     * Returns the number of buckets in this map.
+     * @return the number of buckets in this map
+     */
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)numEntries / tableSize;
+    }
+
+    /**
+     * Returns the number of bytes of the file in use, including wasted space.
+     * The file itself may be larger, since it grows ahead of the data.
+     * @return the number of bytes of the file in use
+     */
+    public long getUsedBytes() {
+        return dataEnd;
+    }
+
+    /**
+     * Returns the number of bytes held by replaced or removed records,
+     * outgrown tables, and padding at the ends of segments.
+     * @return the number of bytes of the file that are no longer used
+     */
+    public long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    /**
+     * Returns the maximum length of a chain in this map.
+     * @return the maximum length of a chain in this map
+     */
+    public int computeMaxChainLength() {
+        int maxChainLength = 0;
+        for (int i = 0; i < tableSize; i++) {
+            int length = 0;
+            long record = getLong(tableOffset + (long)i * Long.BYTES);
+            while (record != 0) {
+                length++;
+                record = getLong(record + nextOffset);
+            }
+            maxChainLength = Math.max(maxChainLength, length);
+        }
+        return maxChainLength;
+    }
+
+    /**
+     * Returns an iterator over the mappings in this map in the order in which
+     * they appear in the table. Each call to next() decodes a new Entry. The
+     * map must not be modified during the iteration.
+     * @return an iterator over the Entries in this map
+     */
+    public Iterator<Entry<K, V>> iterator() {
+        return new MapItr();
+    }
+
+    /**
+     * Writes any changes still held in memory to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Writes any changes to the file and closes it. The map must not be used
+     * afterwards. The mapped memory itself is released when the garbage
+     * collector reclaims this map.
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments[(int)(position >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long position) {
+        return (int)(position & SEGMENT_MASK);
+    }
+
+    private long getLong(long position) {
+        return segment(position).getLong(offset(position));
+    }
+
+    private void putLong(long position, long value) {
+        segment(position).putLong(offset(position), value);
+    }
+
+    private int getInt(long position) {
+        return segment(position).getInt(offset(position));
+    }
+
+    private void putInt(long position, int value) {
+        segment(position).putInt(offset(position), value);
+    }
+
+    private void getBytes(long position, byte[] bytes) {
+        segment(position).get(offset(position), bytes);
+    }
+
+    private void putBytes(long position, byte[] bytes) {
+        segment(position).put(offset(position), bytes);
+    }
+
+    private class MapItr implements Iterator<Entry<K, V>> {
+        private long record;
+        private int index;
+
+        MapItr() {
+            advanceToNextBucket();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return record != 0;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (record == 0) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> entry = new Entry<>(readKey(record),
+                                            readValue(record));
+            record = getLong(record + nextOffset);
+            if (record == 0) {
+                index++;
+                advanceToNextBucket();
+            }
+            return entry;
+        }
+
+        private void advanceToNextBucket() {
+            while (index < tableSize) {
+                record = getLong(tableOffset + (long)index * Long.BYTES);
+                if (record != 0) {
+                    return;
+                }
+                index++;
+            }
+        }
+    }
+}
@@ -1,24 +1,287 @@
 package hashmap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * Class for a simple hash map.
+ * <p>
+ * A chain that grows longer than TREEIFY_THRESHOLD entries is converted into
+ * a red-black tree ordered by key, so that even keys chosen to share a hash
+ * code cost O(log n) per operation instead of O(n). A tree bucket that
+ * shrinks to UNTREEIFY_THRESHOLD entries is converted back into a chain.
+ * <p>
+ * Metrics are off by default. Once enabled, the map counts lookups, probe
+ * lengths, resizes, and bucket occupancy, which getStats() returns as a
+ * MapStats snapshot. A disabled map pays only a null check per operation.
+ * <p>
+ * The iterator and spliterator are fail-fast: they throw a
+ * ConcurrentModificationException once the map has been structurally
+ * modified other than through the iterator's own remove(). Changing the value
+ * of an existing key is not a structural modification.
+ * <p>
+ * With parallel rehashing enabled, a whole-table rehash of a large map is
+ * spread over the workers of a ForkJoinPool, as described in ParallelRehash.
+ * The map itself remains unsynchronized.
+ * <p>
+ * writeSnapshot() saves the map's mappings in a compact binary format, and
+ * readSnapshot() rebuilds the map from them with its table already at the
+ * saved size, so loading never rehashes.
  * @author Brian S. Borowski
- * @version 1.1.0 November 5, 2024
+ * @version 1.7.4 October 18, 2026
  */
-public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+public class MyHashMap<K extends Comparable<K>, V>
+        implements MyMap<K, V>, Iterable<Entry<K, V>> {
     // Helpful list of primes available at:
     // https://www2.cs.arizona.edu/icon/oddsends/primes.htm
     private static final int[] primes = new int[] {
             101, 211, 431, 863, 1733, 3467, 6947, 13901, 27803, 55609, 111227,
             222461 };
+    private static final int MIN_POWER_OF_TWO_SIZE = 128;
+    // Largest prime below 2^30, where power-of-two tables stop growing.
+    private static final int MAX_PRIME_SIZE = 1073741789;
     private static final double MAX_LOAD_FACTOR = 0.75;
+    // Non-empty buckets moved per operation while rehashing incrementally,
+    // and the number of empty buckets that may be skipped per moved bucket.
+    private static final int REHASH_STEP = 4, EMPTY_VISITS_PER_STEP = 10;
+    // Chain lengths above which a bucket becomes a tree, and at or below
+    // which a tree bucket becomes a chain again. The gap between them keeps a
+    // bucket from flipping back and forth.
+    private static final int TREEIFY_THRESHOLD = 8, UNTREEIFY_THRESHOLD = 6;
+    // Number of keys whose buckets the bulk operations load at a time.
+    private static final int BLOCK_SIZE = 32;
+    // Fewest entries for which a parallel rehash pays for its coordination.
+    private static final int PARALLEL_REHASH_THRESHOLD = 1 << 16;
+    private final GrowthMode growthMode;
+    private boolean treeifyBins = true;
     private Entry<K, V>[] table;
-    private int primeIndex, numEntries;
+    private int numEntries;
+    private boolean incrementalRehash;
+    // While an incremental rehash is in progress, oldTable holds the buckets
+    // at index rehashIndex and above that have not yet moved to table.
+    private Entry<K, V>[] oldTable;
+    private int rehashIndex;
+    // Null unless metrics are enabled.
+    private MapMetrics metrics;
+    // Keys compared by find() and removeFromChain() since the current get(),
+    // put(), or remove() began, for the metrics.
+    private int probes;
+    // Number of structural modifications, checked by iterators and
+    // spliterators to detect changes made behind their backs.
+    private int modCount;
+    // Null unless rehashes are to run in parallel.
+    private ForkJoinPool rehashPool;
 
+    /**
+     * Creates an empty map that grows through the table of primes and stops
+     * growing at 222461 buckets.
+     */
     @SuppressWarnings("unchecked")
     public MyHashMap() {
-        table = new Entry[primes[primeIndex]];
+        growthMode = GrowthMode.BOUNDED_PRIMES;
+        table = new Entry[primes[0]];
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without rehashing. Like MyHashMap(), the map grows through the table of
+     * primes and is never larger than 222461 buckets.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public MyHashMap(int expectedSize) {
+        this(expectedSize, GrowthMode.BOUNDED_PRIMES);
+    }
+
+    /**
+     * Creates an empty map with the given growth mode whose table can hold the
+     * expected number of entries without rehashing. In BOUNDED_PRIMES mode the
+     * table is never larger than 222461 buckets.
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param growthMode   how the table grows
+     */
+    @SuppressWarnings("unchecked")
+    public MyHashMap(int expectedSize, GrowthMode growthMode) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        if (growthMode == null) {
+            throw new IllegalArgumentException("Growth mode cannot be null.");
+        }
+        this.growthMode = growthMode;
+        table = new Entry[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Returns the growth mode of this MyHashMap.
+     * @return the growth mode of this MyHashMap
+     */
+    public GrowthMode getGrowthMode() {
+        return growthMode;
+    }
+
+    /**
+     * Enables or disables incremental rehashing. When enabled, a put that
+     * pushes the load factor past the maximum only allocates the larger table;
+     * the entries then migrate a few buckets at a time on each subsequent get,
+     * put, and remove, with lookups checking both tables until the migration
+     * finishes. This bounds the latency of any single operation. Disabling
+     * incremental rehashing completes any migration in progress.
+     * @param enabled true to rehash incrementally, false to rehash the whole
+     *                table at once
+     */
+    public void setIncrementalRehash(boolean enabled) {
+        incrementalRehash = enabled;
+        if (!enabled) {
+            finishRehash();
+        }
+    }
+
+    /**
+     * Returns true if this MyHashMap rehashes incrementally.
+     * @return true if this MyHashMap rehashes incrementally
+     */
+    public boolean isIncrementalRehash() {
+        return incrementalRehash;
+    }
+
+    /**
+     * Enables or disables parallel rehashing on the common ForkJoinPool.
+     * @param enabled true to rehash large tables in parallel
+     * @see #setParallelRehash(ForkJoinPool)
+     */
+    public void setParallelRehash(boolean enabled) {
+        rehashPool = enabled ? ForkJoinPool.commonPool() : null;
+    }
+
+    /**
+     * Makes whole-table rehashes of maps with at least 65536 entries run on
+     * the workers of the given pool, or on the calling thread alone if pool
+     * is null. Smaller maps, the steps of an incremental rehash, and pools
+     * with a single worker always rehash on the calling thread. The calling
+     * thread waits for the rehash to finish, so the map is never seen half
+     * rehashed.
+     * @param pool the pool to rehash in, or null to rehash sequentially
+     */
+    public void setParallelRehash(ForkJoinPool pool) {
+        rehashPool = pool;
+    }
+
+    /**
+     * Returns true if this MyHashMap rehashes large tables in parallel.
+     * @return true if this MyHashMap rehashes large tables in parallel
+     */
+    public boolean isParallelRehash() {
+        return rehashPool != null;
+    }
+
+    /**
+     * Enables or disables the conversion of long chains into red-black trees.
+     * It is enabled by default. Disabling it converts every tree bucket back
+     * into a chain, leaving the plain separate chaining map.
+     * @param enabled true to convert long chains into trees
+     */
+    public void setTreeifyBins(boolean enabled) {
+        treeifyBins = enabled;
+        if (!enabled) {
+            untreeifyAll(table, 0);
+            if (oldTable != null) {
+                untreeifyAll(oldTable, rehashIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns true if this MyHashMap converts long chains into trees.
+     * @return true if this MyHashMap converts long chains into trees
+     */
+    public boolean isTreeifyBins() {
+        return treeifyBins;
+    }
+
+    /**
+     * Enables or disables metrics. Enabling them starts every count from zero,
+     * except the bucket occupancy, which is taken from the current table.
+     * Disabling them discards the counts.
+     * @param enabled true to collect metrics
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (!enabled) {
+            metrics = null;
+        } else if (metrics == null) {
+            metrics = new MapMetrics();
+            metrics.countBuckets(table);
+        }
+    }
+
+    /**
+     * Returns true if this MyHashMap collects metrics.
+     * @return true if this MyHashMap collects metrics
+     */
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Returns a snapshot of the metrics collected since they were enabled.
+     * The counters may be read from another thread, but the size, table size,
+     * and occupancy are only consistent when read by the thread that
+     * modifies the map.
+     * @return a snapshot of this map's metrics
+     * @throws IllegalStateException if metrics are not enabled
+     */
+    public MapStats getStats() {
+        MapMetrics m = metrics;
+        if (m == null) {
+            throw new IllegalStateException("Metrics are not enabled.");
+        }
+        return m.snapshot(numEntries, table.length);
+    }
+
+    /**
+     * Registers an MXBean under the given name with the platform MBean
+     * server. Each JMX read takes a new snapshot through getStats(), so the
+     * attributes are unavailable while metrics are disabled. The bean holds a
+     * reference to this map until the caller unregisters it.
+     * @param name the name under which to register the bean
+     * @throws JMException if the bean cannot be registered
+     */
+    public void registerMXBean(ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+                new StatsBean(), name);
+    }
+
+    private void untreeifyAll(Entry<K, V>[] tab, int fromIndex) {
+        for (int i = fromIndex; i < tab.length; i++) {
+            if (tab[i] instanceof TreeNode) {
+                modCount++;
+                tab[i] = TreeNode.untreeify((TreeNode<K, V>)tab[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns true if an incremental rehash is in progress.
+     * @return true if entries are still migrating to the larger table
+     */
+    public boolean isRehashing() {
+        return oldTable != null;
     }
 
     /**
@@ -56,19 +319,74 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
      */
     @Override
     public V get(K key) {
-        int index = hash(key) % getTableSize();
-        Entry<K, V> node = table[index];
-        while (node != null)
-        {
-            if (node.key.compareTo(key) == 0)
-            {
-                return node.value;
+        Entry<K, V> node = getEntry(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Returns the entry with the given key, or null if there is none. Along
+     * with addEntry() and removeEntry(), this lets a class of this package
+     * keep fields of its own in a subclass of Entry, as CachingHashMap does.
+     */
+    Entry<K, V> getEntry(K key) {
+        if (oldTable != null) {
+            migrateBuckets();
+        }
+        if (metrics != null) {
+            probes = 0;
+        }
+        Entry<K, V> node = find(table[indexFor(key, table.length)], key);
+        if (node == null) {
+            node = find(oldChain(key), key);
+        }
+        if (metrics != null) {
+            metrics.recordGet(node != null, probes);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the entry with the given key in the given bucket, which may be
+     * a chain or a tree, or null if there is none. Counts the keys compared
+     * with countProbes().
+     */
+    private Entry<K, V> find(Entry<K, V> bucket, K key) {
+        int compared = 0;
+        if (bucket instanceof TreeNode) {
+            TreeNode<K, V> node = ((TreeNode<K, V>)bucket).root();
+            while (node != null) {
+                compared++;
+                int cmp = key.compareTo(node.key);
+                if (cmp == 0) {
+                    break;
+                }
+                node = cmp < 0 ? node.left : node.right;
+            }
+            countProbes(compared);
+            return node;
+        }
+        for (Entry<K, V> node = bucket; node != null; node = node.next) {
+            compared++;
+            if (node.key.compareTo(key) == 0) {
+                countProbes(compared);
+                return node;
             }
-            node = node.next;
         }
+        countProbes(compared);
         return null;
     }
 
+    /**
+     * Adds to the number of keys compared by the current get, put, or remove.
+     * The count is kept only while metrics are enabled, so that a map without
+     * them writes nothing extra on its hot paths.
+     */
+    private void countProbes(int compared) {
+        if (metrics != null) {
+            probes += compared;
+        }
+    }
+
     /**
      * Associates the specified value with the specified key in this map. If the
      * map previously contained a mapping for the key, the old value is replaced
@@ -80,22 +398,29 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
      */
     @Override
     public V put(K key, V value) {
-        int index = hash(key) % getTableSize();
-        Entry<K, V> curr = table[index];
-        Entry<K, V> temp = curr;
-        while (temp != null)
+        if (oldTable != null) {
+            migrateBuckets();
+        }
+        int index = indexFor(key, table.length);
+        if (metrics != null) {
+            probes = 0;
+        }
+        Entry<K, V> temp = find(table[index], key);
+        if (temp == null) {
+            temp = find(oldChain(key), key);
+        }
+        if (metrics != null) {
+            metrics.recordPut(probes);
+        }
+        if (temp != null)
         {
-            if (temp.key.compareTo(key) == 0)
-            {
-                V oldValue = temp.value;
-                temp.value = value;
-                return oldValue;
-            }
-            temp = temp.next;
+            V oldValue = temp.value;
+            temp.value = value;
+            return oldValue;
         }
-        table[index] = new Entry<K, V>(key, value);
-        table[index].next = curr;
+        insert(table, index, new Entry<K, V>(key, value));
         numEntries++;
+        modCount++;
         if (getLoadFactor() > MAX_LOAD_FACTOR)
         {
             rehash();
@@ -103,31 +428,402 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return null;
     }
 
+    /**
+     * Links the given entry, whose key must not be in the map yet, into the
+     * table. The entry object stays in the table until it is removed as long
+     * as bins are not treeified, since only tree nodes are ever copied.
+     */
+    void addEntry(Entry<K, V> entry) {
+        if (oldTable != null) {
+            migrateBuckets();
+        }
+        insert(table, indexFor(entry.key, table.length), entry);
+        numEntries++;
+        modCount++;
+        if (getLoadFactor() > MAX_LOAD_FACTOR) {
+            rehash();
+        }
+    }
+
+    /**
+     * Grows the table, if needed, so that it can hold the expected number of
+     * entries without exceeding the maximum load factor. Loading that many
+     * entries afterwards triggers no further rehashing, except in
+     * BOUNDED_PRIMES mode once the largest prime has been reached.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public void ensureCapacity(int expectedSize) {
+        finishRehash();
+        int newSize = tableSizeFor(expectedSize);
+        if (newSize > table.length) {
+            rehash(newSize);
+        }
+    }
+
+    /**
+     * Associates each key with the value at the same index. The table is
+     * grown once, up front, to hold every key as if all were new, so the batch
+     * causes at most one rehash. The pairs are then applied in blocks, as
+     * described in loadBlock(), in their original order, so a repeated key
+     * ends up mapped to its last value. In BOUNDED_PRIMES mode, a batch that
+     * outgrows the largest prime simply lengthens the chains.
+     * @param keys   the keys, none of them null
+     * @param values the values, one for each key
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @Override
+    public void putAll(K[] keys, V[] values) {
+        checkLengths(keys, values);
+        ensureCapacity((int)Math.min(Integer.MAX_VALUE,
+                                     (long)numEntries + keys.length));
+        if (metrics != null) {
+            // Each pair goes through put() to be counted.
+            MyMap.super.putAll(keys, values);
+            return;
+        }
+        int[] indexes = new int[BLOCK_SIZE];
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] heads = new Entry[BLOCK_SIZE];
+        for (int from = 0; from < keys.length; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, keys.length);
+            loadBlock(keys, from, to, indexes, heads);
+            for (int i = from; i < to; i++) {
+                // An earlier pair of the block may have changed the bucket,
+                // so its head is read again.
+                int index = indexes[i - from];
+                Entry<K, V> entry = find(table[index], keys[i]);
+                if (entry != null) {
+                    entry.value = values[i];
+                } else {
+                    insert(table, index, new Entry<>(keys[i], values[i]));
+                    numEntries++;
+                    modCount++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks up every key and stores the value to which it is mapped, or null,
+     * at the same index of values. The keys are looked up in blocks, as
+     * described in loadBlock().
+     * @param keys   the keys to look up, none of them null
+     * @param values the array to receive the values, as long as keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @Override
+    public void getAll(K[] keys, V[] values) {
+        checkLengths(keys, values);
+        finishRehash();
+        if (metrics != null) {
+            MyMap.super.getAll(keys, values);
+            return;
+        }
+        int[] indexes = new int[BLOCK_SIZE];
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] heads = new Entry[BLOCK_SIZE];
+        for (int from = 0; from < keys.length; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, keys.length);
+            loadBlock(keys, from, to, indexes, heads);
+            for (int i = from; i < to; i++) {
+                Entry<K, V> entry = find(heads[i - from], keys[i]);
+                values[i] = entry != null ? entry.value : null;
+            }
+        }
+    }
+
+    /**
+     * Removes the mappings for all of the keys that are present. The keys are
+     * removed in blocks, as described in loadBlock().
+     * @param keys the keys whose mappings are to be removed, none of them null
+     * @return the number of mappings removed
+     */
+    @Override
+    public int removeAll(K[] keys) {
+        finishRehash();
+        if (metrics != null) {
+            return MyMap.super.removeAll(keys);
+        }
+        int removed = 0;
+        int[] indexes = new int[BLOCK_SIZE];
+        @SuppressWarnings("unchecked")
+        Entry<K, V>[] heads = new Entry[BLOCK_SIZE];
+        for (int from = 0; from < keys.length; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, keys.length);
+            loadBlock(keys, from, to, indexes, heads);
+            for (int i = from; i < to; i++) {
+                if (removeFromChain(table, indexes[i - from], keys[i]) != null) {
+                    removed++;
+                }
+            }
+        }
+        numEntries -= removed;
+        return removed;
+    }
+
+    private static void checkLengths(Object[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Got " + keys.length
+                    + " keys but " + values.length + " values.");
+        }
+    }
+
+    /**
+     * Computes the bucket index of each key in keys[from, to) and then reads
+     * the head of each of those buckets. Since none of these reads depends on
+     * another, the processor can have the cache misses of the whole block
+     * outstanding at once, where a loop of single operations would mostly
+     * wait for them one at a time. The operations on the block then find
+     * their buckets in the cache.
+     */
+    private void loadBlock(K[] keys, int from, int to, int[] indexes,
+                           Entry<K, V>[] heads) {
+        for (int i = from; i < to; i++) {
+            indexes[i - from] = indexFor(keys[i], table.length);
+        }
+        for (int i = from; i < to; i++) {
+            heads[i - from] = table[indexes[i - from]];
+        }
+    }
+
+    /**
+     * Adds an entry whose key is not yet in the given table to the bucket at
+     * the given index. A tree bucket receives a new tree node with the same
+     * mapping. A chain receives the entry itself, and is converted into a
+     * tree if that makes it too long.
+     */
+    private void insert(Entry<K, V>[] tab, int index, Entry<K, V> entry) {
+        int length = link(tab, index, entry);
+        if (metrics != null && tab == table) {
+            metrics.recordBucketChange(length - 1, length);
+        }
+    }
+
+    /**
+     * Links the entry into the bucket and returns the bucket's new length,
+     * counting no further than one past TREEIFY_THRESHOLD. The length of a
+     * chain is counted anyway when deciding whether to treeify it; if neither
+     * treeification nor metrics need it, it is not counted and 0 is returned.
+     */
+    private int link(Entry<K, V>[] tab, int index, Entry<K, V> entry) {
+        Entry<K, V> head = tab[index];
+        if (head instanceof TreeNode) {
+            TreeNode<K, V> first = (TreeNode<K, V>)head;
+            TreeNode<K, V> node = new TreeNode<>(entry.key, entry.value);
+            node.next = first;
+            first.prev = node;
+            tab[index] = node;
+            TreeNode.insert(first.root(), node);
+            return metrics != null ? chainLength(node) : 0;
+        }
+        entry.next = head;
+        tab[index] = entry;
+        if (!treeifyBins && metrics == null) {
+            return 0;
+        }
+        int length = chainLength(entry);
+        if (treeifyBins && length > TREEIFY_THRESHOLD) {
+            tab[index] = TreeNode.treeify(entry);
+        }
+        return length;
+    }
+
+    /**
+     * Returns the length of the given chain, counting no further than one
+     * past TREEIFY_THRESHOLD.
+     */
+    private static int chainLength(Entry<?, ?> head) {
+        int length = 0;
+        for (Entry<?, ?> node = head; node != null
+                && length <= TREEIFY_THRESHOLD; node = node.next) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Moves an entry, already unlinked from its old bucket, into the given
+     * table. Tree nodes are copied into plain entries, since their old tree
+     * links are meaningless in the new bucket.
+     */
+    private void transfer(Entry<K, V> entry, Entry<K, V>[] tab) {
+        if (entry instanceof TreeNode) {
+            entry = new Entry<>(entry.key, entry.value);
+        }
+        insert(tab, indexFor(entry.key, tab.length), entry);
+    }
+
     @SuppressWarnings("unchecked")
     private void rehash() {
-        if (primeIndex >= primes.length - 1)
-        {
+        finishRehash();
+        int newSize = nextTableSize(table.length);
+        if (newSize <= table.length) {
             return;
         }
-        primeIndex++;
-        Entry<K, V>[] newTable = new Entry[primes[primeIndex]];
-        for (Entry<K, V> entry : table)
-        {
-            Entry<K, V> temp = entry;
-            while (temp != null)
+        if (incrementalRehash) {
+            oldTable = table;
+            table = new Entry[newSize];
+            rehashIndex = 0;
+            if (metrics != null) {
+                metrics.recordResize();
+                metrics.clearBuckets(newSize);
+            }
+            migrateBuckets();
+        } else {
+            rehash(newSize);
+        }
+    }
+
+    /**
+     * Moves up to REHASH_STEP non-empty buckets from the old table to the new
+     * one, giving up after visiting EMPTY_VISITS_PER_STEP empty buckets for
+     * each bucket it was allowed to move, as Redis does.
+     */
+    private void migrateBuckets() {
+        long start = metrics != null ? System.nanoTime() : 0;
+        int moves = REHASH_STEP;
+        int emptyVisits = REHASH_STEP * EMPTY_VISITS_PER_STEP;
+        while (moves > 0 && rehashIndex < oldTable.length) {
+            Entry<K, V> entry = oldTable[rehashIndex];
+            if (entry == null) {
+                rehashIndex++;
+                if (--emptyVisits == 0) {
+                    break;
+                }
+                continue;
+            }
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                transfer(entry, table);
+                entry = next;
+            }
+            oldTable[rehashIndex++] = null;
+            moves--;
+        }
+        if (rehashIndex == oldTable.length) {
+            oldTable = null;
+        }
+        if (metrics != null) {
+            metrics.recordResizeTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Completes an incremental rehash that is in progress, if any.
+     */
+    private void finishRehash() {
+        while (oldTable != null) {
+            migrateBuckets();
+        }
+    }
+
+    /**
+     * Returns the chain of the old table that may still hold the key during an
+     * incremental rehash, or null if there is no such chain.
+     */
+    private Entry<K, V> oldChain(K key) {
+        if (oldTable == null) {
+            return null;
+        }
+        int index = indexFor(key, oldTable.length);
+        return index >= rehashIndex ? oldTable[index] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int newSize) {
+        long start = metrics != null ? System.nanoTime() : 0;
+        if (rehashPool != null && rehashPool.getParallelism() > 1
+                && numEntries >= PARALLEL_REHASH_THRESHOLD) {
+            table = ParallelRehash.rehash(table, newSize,
+                    key -> indexFor(key, newSize),
+                    treeifyBins ? TREEIFY_THRESHOLD : Integer.MAX_VALUE,
+                    growthMode == GrowthMode.POWER_OF_TWO, rehashPool);
+        } else {
+            Entry<K, V>[] newTable = new Entry[newSize];
+            for (Entry<K, V> entry : table)
             {
-                int index = hash(temp.key) % newTable.length;
-                Entry<K, V> oldEntry = newTable[index];
-                Entry<K, V> curr = temp;
-                Entry<K, V> nextTemp = temp.next;
-                newTable[index] = curr;
-                curr.next = oldEntry;
-                temp = nextTemp;
+                Entry<K, V> temp = entry;
+                while (temp != null)
+                {
+                    Entry<K, V> nextTemp = temp.next;
+                    transfer(temp, newTable);
+                    temp = nextTemp;
+                }
+            }
+            table = newTable;
+        }
+        modCount++;
+        if (metrics != null) {
+            metrics.recordResize();
+            metrics.recordResizeTime(System.nanoTime() - start);
+            metrics.countBuckets(table);
+        }
+    }
+
+    /**
+     * Returns the smallest table size reachable in this map's growth mode that
+     * holds expectedSize entries within the maximum load factor. In
+     * BOUNDED_PRIMES mode the result is capped at the largest listed prime.
+     */
+    private int tableSizeFor(int expectedSize) {
+        if (growthMode == GrowthMode.POWER_OF_TWO) {
+            return Hashing.tableSizeFor(expectedSize, MAX_LOAD_FACTOR,
+                                        MIN_POWER_OF_TWO_SIZE);
+        }
+        int index = 0;
+        while (index < primes.length - 1
+                && primes[index] * MAX_LOAD_FACTOR < expectedSize) {
+            index++;
+        }
+        int size = primes[index];
+        if (growthMode == GrowthMode.UNBOUNDED_PRIMES) {
+            while (size * MAX_LOAD_FACTOR < expectedSize
+                    && size < MAX_PRIME_SIZE) {
+                size = nextTableSize(size);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the table size that follows the given size in this map's growth
+     * mode, or the given size itself if the table cannot grow any further.
+     */
+    private int nextTableSize(int size) {
+        if (growthMode == GrowthMode.POWER_OF_TWO) {
+            return size < Hashing.MAX_POWER_OF_TWO ? size << 1 : size;
+        }
+        for (int i = 0; i < primes.length; i++) {
+            if (primes[i] > size) {
+                return primes[i];
+            }
+        }
+        if (growthMode == GrowthMode.BOUNDED_PRIMES
+                || size >= MAX_PRIME_SIZE) {
+            return size;
+        }
+        int candidate = (int)Math.min(2L * size + 1, MAX_PRIME_SIZE);
+        while (!isPrime(candidate)) {
+            candidate += 2;
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns true if the given number is prime. Trial division up to the
+     * square root is at most a few tens of thousands of divisions for any
+     * table size, which is negligible next to the rehash that follows.
+     */
+    private static boolean isPrime(int n) {
+        if (n < 3 || (n & 1) == 0) {
+            return n == 2;
+        }
+        for (int d = 3; (long)d * d <= n; d += 2) {
+            if (n % d == 0) {
+                return false;
             }
         }
-        table = newTable;
-        //make new table
-        //loop through the old table and reinsert entries with new hash
+        return true;
     }
 
     /**
@@ -138,52 +834,144 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
      */
     @Override
     public V remove(K key) {
-        int index = hash(key) % getTableSize();
-        Entry<K, V> curr = table[index];
-        Entry<K, V> prev = table[index];
-        boolean isHead = true;
+        Entry<K, V> removed = removeEntry(key);
+        return removed != null ? removed.value : null;
+    }
+
+    /**
+     * Removes the entry with the given key and returns it, or null if there
+     * is none.
+     */
+    Entry<K, V> removeEntry(K key) {
+        if (oldTable != null) {
+            migrateBuckets();
+        }
+        if (metrics != null) {
+            probes = 0;
+        }
+        Entry<K, V> removed = removeFromChain(table,
+                indexFor(key, table.length), key);
+        if (removed == null && oldTable != null) {
+            int index = indexFor(key, oldTable.length);
+            if (index >= rehashIndex) {
+                removed = removeFromChain(oldTable, index, key);
+            }
+        }
+        if (metrics != null) {
+            metrics.recordRemove(probes);
+        }
+        if (removed != null) {
+            numEntries--;
+        }
+        return removed;
+    }
+
+    /**
+     * Unlinks the entry with the given key from the bucket at the given index
+     * of the given table, counting the keys compared with countProbes().
+     * @return the unlinked entry, or null if the bucket has no such key
+     */
+    private Entry<K, V> removeFromChain(Entry<K, V>[] tab, int index, K key) {
+        if (tab[index] instanceof TreeNode) {
+            Entry<K, V> removed = removeFromTree(tab, index, key);
+            if (removed != null && metrics != null && tab == table) {
+                int length = MapMetrics.bucketLength(tab[index]);
+                metrics.recordBucketChange(length + 1, length);
+            }
+            return removed;
+        }
+        Entry<K, V> curr = tab[index];
+        Entry<K, V> prev = null;
+        int position = 0;
         while (curr != null)
         {
+            position++;
             if (curr.key.compareTo(key) == 0)
             {
-                numEntries--;
-                if (isHead)
+                modCount++;
+                if (prev == null)
+                {
+                    tab[index] = curr.next;
+                }
+                else
                 {
-                    V value = curr.value;
-                    table[index] = curr.next;
-                    return value;
+                    prev.next = curr.next;
+                }
+                countProbes(position);
+                if (metrics != null && tab == table) {
+                    // The walk has already passed the entries before this
+                    // one, so only the rest of the chain needs counting.
+                    int length = position - 1
+                            + MapMetrics.bucketLength(curr.next);
+                    metrics.recordBucketChange(length + 1, length);
                 }
-                V value = curr.value;
-                prev.next = curr.next;
-                return value;
+                return curr;
             }
-            if (!isHead)
-                prev = prev.next;
+            prev = curr;
             curr = curr.next;
-            isHead = false;
         }
+        countProbes(position);
         return null;
     }
 
+    /**
+     * Unlinks the node with the given key from both the list and the tree of
+     * the tree bucket at the given index, converting the bucket back into a
+     * chain if it has become short enough.
+     */
+    private Entry<K, V> removeFromTree(Entry<K, V>[] tab, int index, K key) {
+        TreeNode<K, V> node = (TreeNode<K, V>)find(tab[index], key);
+        if (node == null) {
+            return null;
+        }
+        modCount++;
+        TreeNode<K, V> root = node.root();
+        TreeNode<K, V> next = (TreeNode<K, V>)node.next;
+        if (node.prev == null) {
+            tab[index] = next;
+        } else {
+            node.prev.next = next;
+        }
+        if (next != null) {
+            next.prev = node.prev;
+        }
+        TreeNode.delete(root, node);
+        if (tab[index] != null
+                && chainLength(tab[index]) <= UNTREEIFY_THRESHOLD) {
+            tab[index] = TreeNode.untreeify((TreeNode<K, V>)tab[index]);
+        }
+        return node;
+    }
+
     /**
      * Returns the load factor of this MyHashMap, defined as the number of
      * entries / table size.
      * @return the load factor of this MyHashMap
      */
     public double getLoadFactor() {
-        return (double)numEntries / primes[primeIndex];
+        return (double)numEntries / table.length;
     }
 
     /**
      * Returns the maximum length of a chain in this MyHashMap. This value
      * provides information about how well the hash function is working. With a
      * max load factor of 0.75, we would like to see a max chain length close
-     * to 1.
+     * to 1. A tree bucket counts as a chain of all of its entries.
      * @return the maximum length of a chain in this MyHashMap
      */
     public int computeMaxChainLength() {
+        int maxChainLength = maxChainLength(table, 0);
+        if (oldTable != null) {
+            maxChainLength = Math.max(maxChainLength,
+                    maxChainLength(oldTable, rehashIndex));
+        }
+        return maxChainLength;
+    }
+
+    private int maxChainLength(Entry<K, V>[] tab, int fromIndex) {
         int maxChainLength = 0;
-        for (Entry<K, V> chain : table) {
+        for (int i = fromIndex; i < tab.length; i++) {
+            Entry<K, V> chain = tab[i];
             if (chain != null) {
                 int currentChainLength = 0;
                 Entry<K, V> chainPtr = chain;
@@ -211,17 +999,28 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         if (numEntries == 0) {
             return "HashMap is empty.";
         }
+        StringBuilder builder = new StringBuilder();
+        appendChains(builder, table, 0);
+        if (oldTable != null) {
+            builder.append("Rehashing, buckets not yet moved:");
+            builder.append(System.getProperty("line.separator"));
+            appendChains(builder, oldTable, rehashIndex);
+        }
+        return builder.toString();
+    }
+
+    private void appendChains(StringBuilder builder, Entry<K, V>[] tab,
+                              int fromIndex) {
         int maxIndex;
-        for (maxIndex = table.length - 1; maxIndex >= 0; maxIndex--) {
-            if (table[maxIndex] != null) {
+        for (maxIndex = tab.length - 1; maxIndex >= fromIndex; maxIndex--) {
+            if (tab[maxIndex] != null) {
                 break;
             }
         }
         int maxIndexWidth = String.valueOf(maxIndex).length();
-        StringBuilder builder = new StringBuilder();
         String newLine = System.getProperty("line.separator");
-        for (int i = 0; i < table.length; i++) {
-            Entry<K, V> chain = table[i];
+        for (int i = fromIndex; i <= maxIndex; i++) {
+            Entry<K, V> chain = tab[i];
             if (chain != null) {
                 int indexWidth = String.valueOf(i).length();
                 builder.append(" ".repeat(maxIndexWidth - indexWidth));
@@ -237,18 +1036,199 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
                 builder.append(newLine);
             }
         }
-        return builder.toString();
     }
 
     /**
      * Returns an iterator over the Entries in this MyHashMap in the order
-     * in which they appear in the table.
+     * in which they appear in the table. Any incremental rehash in progress is
+     * completed first, so that the iterator only has one table to walk. The
+     * iterator supports remove().
      * @return an iterator over the Entries in this MyHashMap
      */
+    @Override
     public Iterator<Entry<K, V>> iterator() {
+        finishRehash();
         return new MapItr();
     }
 
+    /**
+     * Returns a spliterator over the Entries in this MyHashMap, which splits
+     * by halving its range of buckets. It can feed a parallel stream through
+     * StreamSupport.stream(map.spliterator(), true), as long as the map is
+     * not modified until the stream completes. Any incremental rehash in
+     * progress is completed first.
+     * @return a spliterator over the Entries in this MyHashMap
+     */
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        finishRehash();
+        return new EntrySpliterator(table, 0, table.length, numEntries,
+                                    modCount);
+    }
+
+    /**
+     * Writes a snapshot of this map to the given file, replacing any existing
+     * contents. The format is described in SnapshotFormat.
+     * @param path       the file to write
+     * @param keyCodec   the codec that encodes the keys
+     * @param valueCodec the codec that encodes the non-null values
+     * @throws IOException if the file cannot be written
+     */
+    public void writeSnapshot(Path path, Codec<K> keyCodec, Codec<V> valueCodec)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeSnapshot(channel, keyCodec, valueCodec);
+        }
+    }
+
+    /**
+     * Writes a snapshot of this map to the given stream, which is left open.
+     * @param out        the stream to write to
+     * @param keyCodec   the codec that encodes the keys
+     * @param valueCodec the codec that encodes the non-null values
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeSnapshot(OutputStream out, Codec<K> keyCodec,
+                              Codec<V> valueCodec) throws IOException {
+        writeSnapshot(Channels.newChannel(out), keyCodec, valueCodec);
+        out.flush();
+    }
+
+    private void writeSnapshot(WritableByteChannel channel, Codec<K> keyCodec,
+                               Codec<V> valueCodec) throws IOException {
+        finishRehash();
+        SnapshotFormat.Writer writer = new SnapshotFormat.Writer(channel);
+        writer.writeLong(SnapshotFormat.MAGIC);
+        writer.writeInt(SnapshotFormat.VERSION);
+        writer.writeInt(growthMode.ordinal());
+        writer.writeInt(table.length);
+        writer.writeInt(numEntries);
+        for (Entry<K, V> bucket : table) {
+            for (Entry<K, V> node = bucket; node != null; node = node.next) {
+                writer.writeBytes(keyCodec.encode(node.key));
+                writer.writeBytes(node.value == null ? null
+                                  : valueCodec.encode(node.value));
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Reads a map from a snapshot file written by writeSnapshot(). The file
+     * is streamed through a direct buffer, so only the map itself is built
+     * on the heap.
+     * @param path       the file to read
+     * @param keyCodec   the codec that decodes the keys
+     * @param valueCodec the codec that decodes the non-null values
+     * @return           a map with the saved growth mode, table size, and
+     *                   mappings
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     snapshot
+     */
+    public static <K extends Comparable<K>, V> MyHashMap<K, V> readSnapshot(
+            Path path, Codec<K> keyCodec, Codec<V> valueCodec)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+            SnapshotFormat.Reader reader = new SnapshotFormat.Reader(channel);
+            MyHashMap<K, V> map = readSnapshot(reader, keyCodec, valueCodec);
+            if (!reader.atEnd()) {
+                throw new IOException("Snapshot has trailing data.");
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Reads a map from a snapshot written by writeSnapshot(). The stream is
+     * read ahead in blocks, so the snapshot must be the last thing in it. The
+     * stream is left open.
+     * @param in         the stream to read from
+     * @param keyCodec   the codec that decodes the keys
+     * @param valueCodec the codec that decodes the non-null values
+     * @return           a map with the saved growth mode, table size, and
+     *                   mappings
+     * @throws IOException if the stream cannot be read or does not hold a
+     *                     valid snapshot
+     */
+    public static <K extends Comparable<K>, V> MyHashMap<K, V> readSnapshot(
+            InputStream in, Codec<K> keyCodec, Codec<V> valueCodec)
+            throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(in);
+        return readSnapshot(new SnapshotFormat.Reader(channel), keyCodec,
+                            valueCodec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>, V> MyHashMap<K, V> readSnapshot(
+            SnapshotFormat.Reader reader, Codec<K> keyCodec,
+            Codec<V> valueCodec) throws IOException {
+        if (reader.readLong() != SnapshotFormat.MAGIC) {
+            throw new IOException("Data is not a MyHashMap snapshot.");
+        }
+        int version = reader.readInt();
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        int mode = reader.readInt();
+        int tableSize = reader.readInt();
+        int numEntries = reader.readInt();
+        GrowthMode[] modes = GrowthMode.values();
+        if (mode < 0 || mode >= modes.length || numEntries < 0
+                || !isValidTable(modes[mode], tableSize, numEntries)) {
+            throw new IOException("Corrupt snapshot header.");
+        }
+        GrowthMode growthMode = modes[mode];
+        MyHashMap<K, V> map = new MyHashMap<>(0, growthMode);
+        map.table = new Entry[tableSize];
+        for (int i = 0; i < numEntries; i++) {
+            byte[] keyBytes = reader.readBytes();
+            if (keyBytes == null) {
+                throw new IOException("Corrupt snapshot: null key.");
+            }
+            byte[] valueBytes = reader.readBytes();
+            K key = keyCodec.decode(keyBytes);
+            V value = valueBytes == null ? null : valueCodec.decode(valueBytes);
+            // Equal keys land in the same bucket, so a look at the bucket
+            // catches any duplicate.
+            int index = map.indexFor(key, tableSize);
+            if (map.find(map.table[index], key) != null) {
+                throw new IOException("Corrupt snapshot: duplicate key.");
+            }
+            map.insert(map.table, index, new Entry<>(key, value));
+        }
+        map.numEntries = numEntries;
+        return map;
+    }
+
+    /**
+     * Returns true if a map in the given growth mode can have a table of the
+     * given size holding the given number of entries: the size must be one
+     * that the mode produces, and the entries must fit within the maximum
+     * load factor unless the table has reached the mode's largest size.
+     */
+    private static boolean isValidTable(GrowthMode growthMode, int tableSize,
+                                        int numEntries) {
+        int maxSize;
+        boolean reachable;
+        if (growthMode == GrowthMode.POWER_OF_TWO) {
+            maxSize = Hashing.MAX_POWER_OF_TWO;
+            reachable = tableSize >= MIN_POWER_OF_TWO_SIZE
+                    && Integer.bitCount(tableSize) == 1;
+        } else if (growthMode == GrowthMode.BOUNDED_PRIMES) {
+            maxSize = primes[primes.length - 1];
+            reachable = Arrays.binarySearch(primes, tableSize) >= 0;
+        } else {
+            maxSize = MAX_PRIME_SIZE;
+            reachable = tableSize >= primes[0] && tableSize <= maxSize
+                    && isPrime(tableSize);
+        }
+        return reachable && (tableSize == maxSize
+                || numEntries <= tableSize * MAX_LOAD_FACTOR);
+    }
+
     /**
      * Returns the non-negative hash code of the supplied key. Since
      * Math.abs(Integer.MIN_VALUE) is Integer.MIN_VALUE, we must ensure the
@@ -262,9 +1242,26 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return hashCode != Integer.MIN_VALUE ? Math.abs(hashCode) : 0;
     }
 
+    /**
+     * Returns the bucket of the supplied key in a table of the given length.
+     * Prime-sized tables take the non-negative hash code modulo the length.
+     * Power-of-two tables mask a mixed hash code, since masking the raw hash
+     * code would discard its high bits.
+     * @param key    the key to locate
+     * @param length the number of buckets in the table
+     * @return       the index of the key's bucket
+     */
+    private int indexFor(K key, int length) {
+        if (growthMode == GrowthMode.POWER_OF_TWO) {
+            return Hashing.mix(key.hashCode()) & (length - 1);
+        }
+        return hash(key) % length;
+    }
+
     private class MapItr implements Iterator<Entry<K, V>> {
-        private Entry<K, V> current;
-        private int index;
+        private Entry<K, V> current, lastReturned;
+        private int index, lastIndex;
+        private int expectedModCount = modCount;
 
         MapItr() {
             advanceToNextEntry();
@@ -277,7 +1274,15 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
 
         @Override
         public Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (current == null) {
+                throw new NoSuchElementException();
+            }
             Entry<K, V> e = current;
+            lastReturned = e;
+            lastIndex = index;
             if (current.next == null) {
                 index++;
                 advanceToNextEntry();
@@ -287,9 +1292,26 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
             return e;
         }
 
+        /**
+         * Removes the entry last returned by next(). If the next entry is in
+         * the same bucket, it is looked up again by key, since removing from
+         * a tree bucket may have rebuilt the bucket as a chain. Either form
+         * keeps the entries in the same list order.
+         */
         @Override
         public void remove() {
-            throw new UnsupportedOperationException();
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            MyHashMap.this.remove(lastReturned.key);
+            if (current != null && index == lastIndex) {
+                current = find(table[index], current.key);
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
         }
 
         private void advanceToNextEntry() {
@@ -300,6 +1322,166 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         }
     }
 
+    private class StatsBean implements MapStatsMXBean {
+        @Override
+        public int getSize() {
+            return getStats().getSize();
+        }
+
+        @Override
+        public int getTableSize() {
+            return getStats().getTableSize();
+        }
+
+        @Override
+        public double getLoadFactor() {
+            return getStats().getLoadFactor();
+        }
+
+        @Override
+        public long getGets() {
+            return getStats().getGets();
+        }
+
+        @Override
+        public long getHits() {
+            return getStats().getHits();
+        }
+
+        @Override
+        public long getMisses() {
+            return getStats().getMisses();
+        }
+
+        @Override
+        public double getHitRatio() {
+            return getStats().getHitRatio();
+        }
+
+        @Override
+        public long getPuts() {
+            return getStats().getPuts();
+        }
+
+        @Override
+        public long getRemoves() {
+            return getStats().getRemoves();
+        }
+
+        @Override
+        public long[] getProbeHistogram() {
+            return getStats().getProbeHistogram();
+        }
+
+        @Override
+        public long getResizeCount() {
+            return getStats().getResizeCount();
+        }
+
+        @Override
+        public long getResizeNanos() {
+            return getStats().getResizeNanos();
+        }
+
+        @Override
+        public long getMaxResizeNanos() {
+            return getStats().getMaxResizeNanos();
+        }
+
+        @Override
+        public long[] getBucketOccupancy() {
+            return getStats().getBucketOccupancy();
+        }
+    }
+
+    /**
+     * Spliterator over the buckets [index, fence) of a table. Splitting hands
+     * the lower half of the remaining buckets to a new spliterator, as
+     * java.util.HashMap does. The size estimate assumes the entries are spread
+     * evenly over the buckets.
+     */
+    private class EntrySpliterator implements Spliterator<Entry<K, V>> {
+        private final Entry<K, V>[] tab;
+        private final int expectedModCount;
+        private int index, fence;
+        private long estimate;
+        private Entry<K, V> current;
+
+        EntrySpliterator(Entry<K, V>[] tab, int origin, int fence,
+                         long estimate, int expectedModCount) {
+            this.tab = tab;
+            this.index = origin;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            return new EntrySpliterator(tab, lo, mid, estimate >>>= 1,
+                                        expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = tab[index++];
+                } else {
+                    Entry<K, V> e = current;
+                    current = current.next;
+                    action.accept(e);
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Entry<K, V> e = current;
+            current = null;
+            int i = index;
+            index = fence;
+            while (true) {
+                for (; e != null; e = e.next) {
+                    action.accept(e);
+                }
+                if (i >= fence) {
+                    break;
+                }
+                e = tab[i++];
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL;
+        }
+    }
+
     public static void main(String[] args) {
         MyHashMap<String, Integer> map = new MyHashMap<>();
         int upperLimit = 100;
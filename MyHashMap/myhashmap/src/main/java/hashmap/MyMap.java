@@ -2,7 +2,7 @@ package hashmap;
 /**
  * Interface for a collection that maps keys to values.
  * @author Brian S. Borowski
- * @version 1.0 October 19, 2022
+ * @version 1.1 October 18, 2026
  */
 public interface MyMap<K, V> {
 
@@ -45,4 +45,54 @@ public interface MyMap<K, V> {
      *         mapping for key
      */
     V remove(K key);
+
+    /**
+     * Associates each key with the value at the same index, as if put() were
+     * called for each pair in order, so a key that appears more than once
+     * ends up mapped to its last value. Implementations may process the batch
+     * in a different order as long as the result is the same.
+     * @param keys   the keys, none of them null
+     * @param values the values, one for each key
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    default void putAll(K[] keys, V[] values) {
+        checkLengths(keys, values);
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Looks up every key and stores the value to which it is mapped, or null,
+     * at the same index of values.
+     * @param keys   the keys to look up, none of them null
+     * @param values the array to receive the values, as long as keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    default void getAll(K[] keys, V[] values) {
+        checkLengths(keys, values);
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = get(keys[i]);
+        }
+    }
+
+    /**
+     * Removes the mappings for all of the keys that are present.
+     * @param keys the keys whose mappings are to be removed, none of them null
+     * @return the number of mappings removed
+     */
+    default int removeAll(K[] keys) {
+        int oldSize = size();
+        for (K key : keys) {
+            remove(key);
+        }
+        return oldSize - size();
+    }
+
+    private static void checkLengths(Object[] keys, Object[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Got " + keys.length
+                    + " keys but " + values.length + " values.");
+        }
+    }
 }
@@ -0,0 +1,330 @@
+package hashmap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a hash map that uses open addressing with Robin Hood linear
+ * probing instead of separate chaining. Keys, values, and the mixed hash of
+ * each key are stored in parallel arrays, so no Entry object is allocated per
+ * mapping and a probe only calls compareTo when the stored hash matches.
+ * Removal uses backward-shift deletion, so the table never contains
+ * tombstones.
+ * @version 1.0 October 18, 2026
+ */
+public class OpenAddressingHashMap<K extends Comparable<K>, V>
+        implements MyMap<K, V> {
+    private static final int INITIAL_TABLE_SIZE = 128;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int mask, threshold, numEntries;
+
+    /**
+     * Creates an empty map with the default table size.
+     */
+    public OpenAddressingHashMap() {
+        allocate(INITIAL_TABLE_SIZE);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public OpenAddressingHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(Hashing.tableSizeFor(
+                expectedSize, MAX_LOAD_FACTOR, INITIAL_TABLE_SIZE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int tableSize) {
+        keys = (K[])new Comparable[tableSize];
+        values = (V[])new Object[tableSize];
+        hashes = new int[tableSize];
+        mask = tableSize - 1;
+        threshold = tableSize == Hashing.MAX_POWER_OF_TWO
+                ? tableSize - 1 : (int)(tableSize * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the number of slots in this map.
+     * @return the number of slots in this map
+     */
+    public int getTableSize() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return numEntries;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return numEntries == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int index = hash & mask;
+        for (int distance = 0; ; distance++) {
+            K slotKey = keys[index];
+            if (slotKey == null || probeDistance(index) < distance) {
+                // Robin Hood invariant: the key would have been found by now,
+                // so it is absent and belongs in this slot.
+                insertAt(index, distance, hash, key, value);
+                break;
+            }
+            if (hashes[index] == hash && slotKey.compareTo(key) == 0) {
+                V oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (++numEntries > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     * Places the mapping at the given slot, displacing the richer occupants
+     * (those closer to their home slot) further down the probe sequence.
+     */
+    private void insertAt(int index, int distance, int hash, K key, V value) {
+        if (numEntries == keys.length) {
+            throw new IllegalStateException("OpenAddressingHashMap is full.");
+        }
+        while (keys[index] != null) {
+            int slotDistance = probeDistance(index);
+            if (slotDistance < distance) {
+                K displacedKey = keys[index];
+                V displacedValue = values[index];
+                int displacedHash = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = displacedKey;
+                value = displacedValue;
+                hash = displacedHash;
+                distance = slotDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    private void resize() {
+        if (keys.length == Hashing.MAX_POWER_OF_TWO) {
+            return;
+        }
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insertAt(oldHashes[i] & mask, 0, oldHashes[i], oldKeys[i],
+                         oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = values[index];
+        // Backward-shift deletion: pull each displaced successor one slot
+        // closer to home until an empty slot or a home-slot occupant is seen.
+        int next = (index + 1) & mask;
+        while (keys[next] != null && probeDistance(next) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = 0;
+        numEntries--;
+        return oldValue;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1 if the key is not in the map.
+     */
+    private int indexOf(K key) {
+        int hash = hash(key);
+        int index = hash & mask;
+        for (int distance = 0; ; distance++) {
+            K slotKey = keys[index];
+            if (slotKey == null || probeDistance(index) < distance) {
+                return -1;
+            }
+            if (hashes[index] == hash && slotKey.compareTo(key) == 0) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns how many slots past its home slot the occupant of the given
+     * slot lives.
+     */
+    private int probeDistance(int index) {
+        return (index - (hashes[index] & mask)) & mask;
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)numEntries / keys.length;
+    }
+
+    /**
+     * Returns the maximum probe length in this map, that is, the largest
+     * number of slots a successful get must examine. This is the open
+     * addressing counterpart of MyHashMap's maximum chain length: a key found
+     * in its home slot has probe length 1, and an empty map has a maximum
+     * probe length of 0.
+     * @return the maximum probe length in this map
+     */
+    public int computeMaxChainLength() {
+        int maxProbeLength = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                maxProbeLength = Math.max(maxProbeLength, probeDistance(i) + 1);
+            }
+        }
+        return maxProbeLength;
+    }
+
+    /**
+     * Returns a string representation of this map for tables with up to and
+     * including 1000 entries.
+     * @return a string representation of this map
+     */
+    public String toString() {
+        if (numEntries > 1000) {
+            return "HashMap too large to represent as a string.";
+        }
+        if (numEntries == 0) {
+            return "HashMap is empty.";
+        }
+        int maxIndexWidth = String.valueOf(keys.length - 1).length();
+        StringBuilder builder = new StringBuilder();
+        String newLine = System.getProperty("line.separator");
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                int indexWidth = String.valueOf(i).length();
+                builder.append(" ".repeat(maxIndexWidth - indexWidth));
+                builder.append(i);
+                builder.append(": <");
+                builder.append(keys[i]);
+                builder.append(", ");
+                builder.append(values[i]);
+                builder.append(">");
+                builder.append(newLine);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns an iterator over the mappings in this map in the order in which
+     * they appear in the table. Each call to next() returns a new Entry that
+     * holds the current key and value.
+     * @return an iterator over the mappings in this map
+     */
+    public Iterator<Entry<K, V>> iterator() {
+        return new MapItr();
+    }
+
+    private int hash(K key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    private class MapItr implements Iterator<Entry<K, V>> {
+        private int index;
+
+        MapItr() {
+            advanceToNextEntry();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> e = new Entry<>(keys[index], values[index]);
+            index++;
+            advanceToNextEntry();
+            return e;
+        }
+
+        private void advanceToNextEntry() {
+            while (index < keys.length && keys[index] == null) {
+                index++;
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package hashmap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Rehash of a MyHashMap table spread over the workers of a ForkJoinPool.
+ * <p>
+ * The old and the new table are each divided into the same number of
+ * contiguous bucket ranges, or partitions. The rehash then runs in two
+ * phases, and no two workers ever write the same memory in either one:
+ * <ol>
+ * <li>Each worker takes one partition of the old table and sorts its entries
+ *     into one private chain per partition of the new table, relinking them
+ *     through their own next fields.</li>
+ * <li>Each worker takes one partition of the new table, gathers the chains
+ *     that the first phase built for it, and links every entry into its new
+ *     bucket. It then converts any bucket that has grown too long into a
+ *     tree.</li>
+ * </ol>
+ * The pool's join between the phases is what makes the chains of the first
+ * phase visible to the second, so no locks or atomic operations are needed.
+ * <p>
+ * When a power-of-two table grows to a multiple of its size, the entries of
+ * old bucket i can only land in the new buckets congruent to i modulo the old
+ * size. Each worker can then move its partition of the old table straight
+ * into the new one, with no other worker writing the same buckets, and the
+ * rehash takes a single phase.
+ * @version 1.0 October 18, 2026
+ */
+final class ParallelRehash<K extends Comparable<K>, V> {
+    // Partitions per worker, so that a worker that finishes early can take
+    // over work from a slower one.
+    private static final int PARTITIONS_PER_WORKER = 4;
+    // Fewest old buckets worth giving a partition of their own.
+    private static final int MIN_PARTITION_SIZE = 1 << 12;
+
+    private final Entry<K, V>[] oldTable, newTable;
+    private final ToIntFunction<K> indexFor;
+    private final int treeifyThreshold;
+    private final boolean split;
+    private final int partitions;
+    // chains[s][d] holds the entries of old partition s bound for new
+    // partition d. Only the worker for s writes row s.
+    private final Entry<K, V>[][] chains;
+
+    @SuppressWarnings("unchecked")
+    private ParallelRehash(Entry<K, V>[] oldTable, int newSize,
+                           ToIntFunction<K> indexFor, int treeifyThreshold,
+                           boolean powerOfTwo, int parallelism) {
+        this.oldTable = oldTable;
+        this.newTable = new Entry[newSize];
+        this.indexFor = indexFor;
+        this.treeifyThreshold = treeifyThreshold;
+        this.split = powerOfTwo && newSize % oldTable.length == 0;
+        this.partitions = Math.max(1, Math.min(
+                parallelism * PARTITIONS_PER_WORKER,
+                Math.min(oldTable.length, newSize) / MIN_PARTITION_SIZE));
+        this.chains = new Entry[partitions][partitions];
+    }
+
+    /**
+     * Returns a new table of the given size holding every entry of the old
+     * one. Tree nodes are copied into plain entries, and the new chains longer
+     * than treeifyThreshold are converted into trees.
+     * @param oldTable         the table to rehash, which is consumed
+     * @param newSize          the number of buckets in the new table
+     * @param indexFor         the bucket index of a key in the new table
+     * @param treeifyThreshold the longest chain to leave as is, or
+     *                         Integer.MAX_VALUE to leave every chain
+     * @param powerOfTwo       true if both tables are indexed by masking the
+     *                         same hash, so that buckets split on growth
+     * @param pool             the pool whose workers do the rehash
+     * @return                 the new table
+     */
+    static <K extends Comparable<K>, V> Entry<K, V>[] rehash(
+            Entry<K, V>[] oldTable, int newSize, ToIntFunction<K> indexFor,
+            int treeifyThreshold, boolean powerOfTwo, ForkJoinPool pool) {
+        ParallelRehash<K, V> rehash = new ParallelRehash<>(oldTable, newSize,
+                indexFor, treeifyThreshold, powerOfTwo, pool.getParallelism());
+        if (rehash.split) {
+            rehash.runAll(pool, rehash::splitBuckets);
+        } else {
+            rehash.runAll(pool, rehash::scatter);
+            rehash.runAll(pool, rehash::gather);
+        }
+        return rehash.newTable;
+    }
+
+    private void runAll(ForkJoinPool pool, IntConsumer phase) {
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                tasks.add(ForkJoinTask.adapt(() -> phase.accept(partition)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }));
+    }
+
+    /**
+     * Returns the first bucket of the given partition of a table.
+     */
+    private int lowerBound(int partition, int length) {
+        return (int)((long)partition * length / partitions);
+    }
+
+    /**
+     * Returns the partition of the new table containing the given bucket,
+     * the largest d with lowerBound(d) <= index.
+     */
+    private int partitionOf(int index) {
+        return (int)(((long)(index + 1) * partitions - 1) / newTable.length);
+    }
+
+    /**
+     * Single phase of a split: moves the entries of one partition of the old
+     * table into the new buckets they split into.
+     */
+    private void splitBuckets(int source) {
+        int hi = lowerBound(source + 1, oldTable.length);
+        for (int i = lowerBound(source, oldTable.length); i < hi; i++) {
+            Entry<K, V> entry = oldTable[i];
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                if (entry instanceof TreeNode) {
+                    entry = new Entry<>(entry.key, entry.value);
+                }
+                int index = indexFor.applyAsInt(entry.key);
+                entry.next = newTable[index];
+                newTable[index] = entry;
+                entry = next;
+            }
+            for (int j = i; j < newTable.length; j += oldTable.length) {
+                treeifyIfLong(j);
+            }
+        }
+    }
+
+    /**
+     * First phase: sorts the entries of one partition of the old table into
+     * chains by partition of the new table.
+     */
+    private void scatter(int source) {
+        Entry<K, V>[] row = chains[source];
+        int hi = lowerBound(source + 1, oldTable.length);
+        for (int i = lowerBound(source, oldTable.length); i < hi; i++) {
+            Entry<K, V> entry = oldTable[i];
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                if (entry instanceof TreeNode) {
+                    entry = new Entry<>(entry.key, entry.value);
+                }
+                int d = partitionOf(indexFor.applyAsInt(entry.key));
+                entry.next = row[d];
+                row[d] = entry;
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Second phase: links the entries bound for one partition of the new
+     * table into their buckets.
+     */
+    private void gather(int destination) {
+        for (int s = 0; s < partitions; s++) {
+            Entry<K, V> entry = chains[s][destination];
+            while (entry != null) {
+                Entry<K, V> next = entry.next;
+                int index = indexFor.applyAsInt(entry.key);
+                entry.next = newTable[index];
+                newTable[index] = entry;
+                entry = next;
+            }
+        }
+        int hi = lowerBound(destination + 1, newTable.length);
+        for (int i = lowerBound(destination, newTable.length); i < hi; i++) {
+            treeifyIfLong(i);
+        }
+    }
+
+    /**
+     * Converts the chain at the given index of the new table into a tree if
+     * it is longer than the threshold.
+     */
+    private void treeifyIfLong(int index) {
+        if (treeifyThreshold == Integer.MAX_VALUE) {
+            return;
+        }
+        int length = 0;
+        for (Entry<K, V> node = newTable[index]; node != null
+                && length <= treeifyThreshold; node = node.next) {
+            length++;
+        }
+        if (length > treeifyThreshold) {
+            newTable[index] = TreeNode.treeify(newTable[index]);
+        }
+    }
+}
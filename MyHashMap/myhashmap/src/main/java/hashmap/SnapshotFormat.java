@@ -0,0 +1,207 @@
+package hashmap;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * The binary format of MyHashMap snapshots, and the buffered channel reader
+ * and writer used to stream them. All numbers are big-endian.
+ * <pre>
+ * header:  magic (long), version (int), GrowthMode ordinal (int), table
+ *          size (int), number of entries (int)
+ * entries: key length (int), key bytes, value length (int, -1 for a null
+ *          value), value bytes
+ * </pre>
+ * The entries appear in bucket order. Both ends stage data through a single
+ * direct buffer, so neither ever holds more than one buffer and one record
+ * in memory.
+ * @version 1.1 October 18, 2026
+ */
+final class SnapshotFormat {
+    static final long MAGIC = 0x4d79536e61707368L;
+    static final int VERSION = 1;
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFormat() { }
+
+    /**
+     * Writes numbers and byte arrays to a channel through a direct buffer.
+     */
+    static final class Writer {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Writer(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeLong(long value) throws IOException {
+            ensureRoom(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void writeInt(int value) throws IOException {
+            ensureRoom(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        /**
+         * Writes the length of the array followed by its bytes, or -1 for a
+         * null array. An array larger than the buffer goes straight to the
+         * channel.
+         */
+        void writeBytes(byte[] bytes) throws IOException {
+            if (bytes == null) {
+                writeInt(-1);
+                return;
+            }
+            writeInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+                return;
+            }
+            ensureRoom(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void ensureRoom(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes out everything buffered so far.
+         */
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads numbers and byte arrays from a channel through a direct buffer,
+     * refilling it as it drains.
+     */
+    static final class Reader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer =
+                ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Reader(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        long readLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        int readInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        /**
+         * Reads an array written by Writer.writeBytes(). A length that runs
+         * past the end of a file is rejected before anything is allocated.
+         * A stream's length is unknown, so the array grows only as its bytes
+         * arrive, and a corrupt length costs no more memory than the data.
+         */
+        byte[] readBytes() throws IOException {
+            int length = readInt();
+            if (length < 0) {
+                if (length != -1) {
+                    throw new IOException("Corrupt snapshot: record length "
+                                          + length);
+                }
+                return null;
+            }
+            long available = available();
+            if (available >= 0 && length > available) {
+                throw new IOException("Corrupt snapshot: record length "
+                                      + length + " exceeds the " + available
+                                      + " bytes left");
+            }
+            byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read < 0) {
+                        throw new EOFException("Corrupt snapshot: record "
+                                               + "length " + length
+                                               + " runs past the end");
+                    }
+                }
+                if (offset == bytes.length) {
+                    bytes = Arrays.copyOf(bytes,
+                            (int)Math.min(length, 2L * bytes.length));
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.get(bytes, offset, chunk);
+                offset += chunk;
+            }
+            return bytes;
+        }
+
+        /**
+         * Returns the number of unread bytes, or -1 if the channel cannot
+         * tell.
+         */
+        private long available() throws IOException {
+            if (!(channel instanceof SeekableByteChannel)) {
+                return -1;
+            }
+            SeekableByteChannel file = (SeekableByteChannel)channel;
+            return file.size() - file.position() + buffer.remaining();
+        }
+
+        /**
+         * Returns true if the channel has no more data.
+         */
+        boolean atEnd() throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+                return read < 0;
+            }
+            return false;
+        }
+
+        private void require(int bytes) throws IOException {
+            while (buffer.remaining() < bytes) {
+                fill();
+            }
+        }
+
+        /**
+         * Moves the unread bytes to the front of the buffer and reads more
+         * after them.
+         */
+        private void fill() throws IOException {
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                throw new EOFException("Snapshot is truncated.");
+            }
+        }
+    }
+}
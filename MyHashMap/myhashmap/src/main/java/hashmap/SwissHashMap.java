@@ -0,0 +1,390 @@
+package hashmap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for a compact open addressing hash map in the style of Abseil's
+ * SwissTable. Every slot has a control byte: EMPTY, DELETED, or, for a full
+ * slot, the low 7 bits of its key's mixed hash (the tag). Slots are grouped
+ * by eight, and the eight control bytes of a group are stored together in one
+ * long, so a probe tests a whole group at once with a few word-wide (SWAR)
+ * operations. Only the keys whose tag matches are compared, which makes most
+ * lookups of absent keys end after a single group without calling compareTo.
+ * <p>
+ * Keys and values are stored side by side in one flat Object array, so a
+ * mapping costs two references and one control byte, and no Entry object is
+ * allocated. The hash itself is not stored; a resize mixes each key's hash
+ * code again. Removal leaves a DELETED tombstone unless the group still has
+ * an EMPTY slot, since every probe that reaches such a group stops there
+ * anyway. Tombstones count towards the load, and a table that fills with them
+ * is rehashed at the same size.
+ * @version 1.0 October 18, 2026
+ */
+public class SwissHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+    private static final int GROUP_WIDTH = 8;
+    private static final int INITIAL_TABLE_SIZE = 16;
+    // Largest table whose keys and values fit in one array.
+    private static final int MAX_TABLE_SIZE = Hashing.MAX_POWER_OF_TWO >> 1;
+    private static final double MAX_LOAD_FACTOR = 0.875;
+    // Control bytes. A full slot holds its 7-bit tag, so its high bit is 0.
+    private static final int EMPTY = 0x80, DELETED = 0xFE;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final long ALL_EMPTY = LSBS * EMPTY;
+    // Control bytes, eight to a word, slot i in byte i % 8 of word i / 8,
+    // counting from the least significant byte.
+    private long[] control;
+    // Key of slot i at index 2i, value at index 2i + 1.
+    private Object[] slots;
+    private int groupMask, numEntries, numDeleted, threshold;
+
+    /**
+     * Creates an empty map with the default table size.
+     */
+    public SwissHashMap() {
+        allocate(INITIAL_TABLE_SIZE);
+    }
+
+    /**
+     * Creates an empty map whose table can hold the expected number of entries
+     * without resizing.
+     * @param expectedSize the number of entries the map is expected to hold
+     */
+    public SwissHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(
+                    "Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(Math.min(MAX_TABLE_SIZE, Hashing.tableSizeFor(
+                expectedSize, MAX_LOAD_FACTOR, INITIAL_TABLE_SIZE)));
+    }
+
+    private void allocate(int tableSize) {
+        int groups = tableSize / GROUP_WIDTH;
+        control = new long[groups];
+        Arrays.fill(control, ALL_EMPTY);
+        slots = new Object[2 * tableSize];
+        groupMask = groups - 1;
+        threshold = (int)(tableSize * MAX_LOAD_FACTOR);
+        numDeleted = 0;
+    }
+
+    /**
+     * Returns the number of slots in this map.
+     * @return the number of slots in this map
+     */
+    public int getTableSize() {
+        return control.length * GROUP_WIDTH;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return numEntries;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return numEntries == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = indexOf(key, Hashing.mix(key.hashCode()));
+        return slot >= 0 ? (V)slots[2 * slot + 1] : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int hash = Hashing.mix(key.hashCode());
+        int slot = indexOf(key, hash);
+        if (slot >= 0) {
+            V oldValue = (V)slots[2 * slot + 1];
+            slots[2 * slot + 1] = value;
+            return oldValue;
+        }
+        if (numEntries + numDeleted >= threshold) {
+            makeRoom();
+        }
+        slot = findInsertSlot(hash);
+        if (controlAt(slot) == DELETED) {
+            numDeleted--;
+        }
+        setControl(slot, hash & 0x7F);
+        slots[2 * slot] = key;
+        slots[2 * slot + 1] = value;
+        numEntries++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int slot = indexOf(key, Hashing.mix(key.hashCode()));
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V)slots[2 * slot + 1];
+        slots[2 * slot] = null;
+        slots[2 * slot + 1] = null;
+        if (matchEmpty(control[slot / GROUP_WIDTH]) != 0) {
+            setControl(slot, EMPTY);
+        } else {
+            setControl(slot, DELETED);
+            numDeleted++;
+        }
+        numEntries--;
+        return oldValue;
+    }
+
+    /**
+     * Returns the slot holding the key, or -1 if the key is not in the map.
+     * Groups are probed in triangular order, which visits every group of a
+     * power-of-two table, until a group with an EMPTY slot is reached.
+     */
+    @SuppressWarnings("unchecked")
+    private int indexOf(K key, int hash) {
+        long tagBytes = LSBS * (hash & 0x7F);
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long word = control[group];
+            for (long match = matchByte(word, tagBytes); match != 0;
+                    match &= match - 1) {
+                int slot = group * GROUP_WIDTH
+                        + (Long.numberOfTrailingZeros(match) >>> 3);
+                if (((K)slots[2 * slot]).compareTo(key) == 0) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns the first EMPTY or DELETED slot on the probe sequence of the
+     * given hash. The load limit guarantees that there is one.
+     */
+    private int findInsertSlot(int hash) {
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            long free = control[group] & MSBS;
+            if (free != 0) {
+                return group * GROUP_WIDTH
+                        + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Returns a word with the high bit set in each byte of word equal to the
+     * corresponding byte of tagBytes. This is the classic "has zero byte"
+     * test applied to word ^ tagBytes. It can also flag a byte just above a
+     * true match, so callers must still compare the keys.
+     */
+    private static long matchByte(long word, long tagBytes) {
+        long x = word ^ tagBytes;
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a word with the high bit set in each byte of word that is
+     * EMPTY. EMPTY (1000 0000) is the only control byte with its high bit set
+     * and bit 1 clear, so shifting the complement left by 6 lines bit 1 of
+     * each byte up with its high bit.
+     */
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSBS;
+    }
+
+    private int controlAt(int slot) {
+        return (int)(control[slot / GROUP_WIDTH] >>> (8 * (slot % GROUP_WIDTH)))
+                & 0xFF;
+    }
+
+    private void setControl(int slot, int value) {
+        int shift = 8 * (slot % GROUP_WIDTH);
+        int group = slot / GROUP_WIDTH;
+        control[group] = control[group] & ~(0xFFL << shift)
+                | (long)value << shift;
+    }
+
+    /**
+     * Doubles the table, or rehashes it at the same size when tombstones
+     * make up most of the load, since that alone clears them.
+     */
+    private void makeRoom() {
+        int tableSize = getTableSize();
+        if (numEntries < threshold / 2) {
+            resize(tableSize);
+        } else if (tableSize < MAX_TABLE_SIZE) {
+            resize(tableSize << 1);
+        } else if (numEntries < threshold) {
+            resize(tableSize);
+        } else {
+            throw new IllegalStateException("SwissHashMap is full.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int newSize) {
+        long[] oldControl = control;
+        Object[] oldSlots = slots;
+        allocate(newSize);
+        for (int group = 0; group < oldControl.length; group++) {
+            // Full slots are the ones whose high bit is clear.
+            for (long full = ~oldControl[group] & MSBS; full != 0;
+                    full &= full - 1) {
+                int slot = group * GROUP_WIDTH
+                        + (Long.numberOfTrailingZeros(full) >>> 3);
+                K key = (K)oldSlots[2 * slot];
+                int hash = Hashing.mix(key.hashCode());
+                int newSlot = findInsertSlot(hash);
+                setControl(newSlot, hash & 0x7F);
+                slots[2 * newSlot] = key;
+                slots[2 * newSlot + 1] = oldSlots[2 * slot + 1];
+            }
+        }
+    }
+
+    /**
+     * Returns the load factor of this map, defined as the number of
+     * entries / table size.
+     * @return the load factor of this map
+     */
+    public double getLoadFactor() {
+        return (double)numEntries / getTableSize();
+    }
+
+    /**
+     * Returns the maximum number of groups a successful get must examine.
+     * A key found in its home group has probe length 1, and an empty map has
+     * a maximum probe length of 0.
+     * @return the maximum probe length, in groups, in this map
+     */
+    @SuppressWarnings("unchecked")
+    public int computeMaxProbeLength() {
+        int maxProbeLength = 0;
+        for (int slot = 0; slot < getTableSize(); slot++) {
+            if (controlAt(slot) < EMPTY) {
+                int hash = Hashing.mix(((K)slots[2 * slot]).hashCode());
+                int group = (hash >>> 7) & groupMask;
+                int probeLength = 1;
+                for (int step = 1; group != slot / GROUP_WIDTH; step++) {
+                    group = (group + step) & groupMask;
+                    probeLength++;
+                }
+                maxProbeLength = Math.max(maxProbeLength, probeLength);
+            }
+        }
+        return maxProbeLength;
+    }
+
+    /**
+     * Returns a string representation of this map for tables with up to and
+     * including 1000 entries.
+     * @return a string representation of this map
+     */
+    public String toString() {
+        if (numEntries > 1000) {
+            return "HashMap too large to represent as a string.";
+        }
+        if (numEntries == 0) {
+            return "HashMap is empty.";
+        }
+        int maxIndexWidth = String.valueOf(getTableSize() - 1).length();
+        StringBuilder builder = new StringBuilder();
+        String newLine = System.getProperty("line.separator");
+        for (int i = 0; i < getTableSize(); i++) {
+            if (controlAt(i) < EMPTY) {
+                int indexWidth = String.valueOf(i).length();
+                builder.append(" ".repeat(maxIndexWidth - indexWidth));
+                builder.append(i);
+                builder.append(": <");
+                builder.append(slots[2 * i]);
+                builder.append(", ");
+                builder.append(slots[2 * i + 1]);
+                builder.append(">");
+                builder.append(newLine);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns an iterator over the mappings in this map in the order in which
+     * they appear in the table. Each call to next() returns a new Entry that
+     * holds the current key and value.
+     * @return an iterator over the mappings in this map
+     */
+    public Iterator<Entry<K, V>> iterator() {
+        return new MapItr();
+    }
+
+    private class MapItr implements Iterator<Entry<K, V>> {
+        private int index;
+
+        MapItr() {
+            advanceToNextEntry();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < getTableSize();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> e = new Entry<>((K)slots[2 * index],
+                                        (V)slots[2 * index + 1]);
+            index++;
+            advanceToNextEntry();
+            return e;
+        }
+
+        private void advanceToNextEntry() {
+            while (index < getTableSize() && controlAt(index) >= EMPTY) {
+                index++;
+            }
+        }
+    }
+}
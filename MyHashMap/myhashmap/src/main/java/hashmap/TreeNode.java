@@ -0,0 +1,310 @@
+package hashmap;
+
+/**
+ * Class for an entry of a MyHashMap bucket that has been converted from a
+ * chain into a red-black tree ordered by key. The nodes of a tree bucket are
+ * also doubly linked through next and prev, so code that only walks chains,
+ * such as the iterator and toString(), works on tree buckets unchanged. The
+ * bucket itself holds the head of that list, not necessarily the root of the
+ * tree; root() finds the root by following parent links.
+ * <p>
+ * The insertion and deletion algorithms are those of CLRS, 4e, Chapter 13, as
+ * in bstreemap.RBTreeMap, with null children instead of a sentinel. Since a
+ * bucket has no field to hold its root, each operation takes the current root
+ * and returns the new one.
+ * @version 1.1 October 18, 2026
+ */
+final class TreeNode<K extends Comparable<K>, V> extends Entry<K, V> {
+    TreeNode<K, V> parent, left, right, prev;
+    boolean red;
+
+    TreeNode(K key, V value) {
+        super(key, value);
+    }
+
+    /**
+     * Returns the root of the tree containing this node.
+     */
+    TreeNode<K, V> root() {
+        TreeNode<K, V> node = this;
+        while (node.parent != null) {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    /**
+     * Builds a tree bucket holding the same mappings as the given chain, in the
+     * same list order.
+     * @param head the first entry of the chain
+     * @return     the first node of the tree bucket
+     */
+    static <K extends Comparable<K>, V> TreeNode<K, V> treeify(
+            Entry<K, V> head) {
+        TreeNode<K, V> first = null, last = null, root = null;
+        for (Entry<K, V> entry = head; entry != null; entry = entry.next) {
+            TreeNode<K, V> node = new TreeNode<>(entry.key, entry.value);
+            if (last == null) {
+                first = node;
+            } else {
+                node.prev = last;
+                last.next = node;
+            }
+            last = node;
+            root = insert(root, node);
+        }
+        return first;
+    }
+
+    /**
+     * Builds a chain of plain entries holding the same mappings as the given
+     * tree bucket, in the same list order.
+     * @param head the first node of the tree bucket
+     * @return     the first entry of the chain
+     */
+    static <K extends Comparable<K>, V> Entry<K, V> untreeify(
+            TreeNode<K, V> head) {
+        Entry<K, V> first = null, last = null;
+        for (Entry<K, V> node = head; node != null; node = node.next) {
+            Entry<K, V> entry = new Entry<>(node.key, node.value);
+            if (last == null) {
+                first = entry;
+            } else {
+                last.next = entry;
+            }
+            last = entry;
+        }
+        return first;
+    }
+
+    /**
+     * Inserts a new node, whose key is not yet in the tree, and restores the
+     * red-black properties as described on p. 339 of CLRS, 4e.
+     * @param root the root of the tree, or null if it is empty
+     * @param z    the node to insert
+     * @return     the new root of the tree
+     */
+    static <K extends Comparable<K>, V> TreeNode<K, V> insert(
+            TreeNode<K, V> root, TreeNode<K, V> z) {
+        if (root == null) {
+            z.red = false;
+            return z;
+        }
+        TreeNode<K, V> y = root;
+        while (true) {
+            TreeNode<K, V> child = z.key.compareTo(y.key) < 0 ? y.left : y.right;
+            if (child == null) {
+                break;
+            }
+            y = child;
+        }
+        z.parent = y;
+        if (z.key.compareTo(y.key) < 0) {
+            y.left = z;
+        } else {
+            y.right = z;
+        }
+        z.red = true;
+        while (z.parent != null && z.parent.red) {
+            TreeNode<K, V> p = z.parent, g = p.parent;
+            if (p == g.left) {
+                TreeNode<K, V> uncle = g.right;
+                if (uncle != null && uncle.red) {
+                    p.red = false;
+                    uncle.red = false;
+                    g.red = true;
+                    z = g;
+                } else {
+                    if (z == p.right) {
+                        z = p;
+                        root = rotateLeft(root, z);
+                        p = z.parent;
+                    }
+                    p.red = false;
+                    g.red = true;
+                    root = rotateRight(root, g);
+                }
+            } else {
+                TreeNode<K, V> uncle = g.left;
+                if (uncle != null && uncle.red) {
+                    p.red = false;
+                    uncle.red = false;
+                    g.red = true;
+                    z = g;
+                } else {
+                    if (z == p.left) {
+                        z = p;
+                        root = rotateRight(root, z);
+                        p = z.parent;
+                    }
+                    p.red = false;
+                    g.red = true;
+                    root = rotateLeft(root, g);
+                }
+            }
+        }
+        root.red = false;
+        return root;
+    }
+
+    /**
+     * Unlinks a node from the tree and restores the red-black properties as
+     * described on p. 348 of CLRS, 4e. A node with two children is replaced
+     * by its successor node itself rather than by a copy of the successor's
+     * key and value, so that no other node changes its mapping.
+     * @param root the root of the tree
+     * @param z    the node to remove
+     * @return     the new root of the tree, or null if it is now empty
+     */
+    static <K extends Comparable<K>, V> TreeNode<K, V> delete(
+            TreeNode<K, V> root, TreeNode<K, V> z) {
+        TreeNode<K, V> x, xParent;
+        boolean removedRed = z.red;
+        if (z.left == null) {
+            x = z.right;
+            xParent = z.parent;
+            root = transplant(root, z, z.right);
+        } else if (z.right == null) {
+            x = z.left;
+            xParent = z.parent;
+            root = transplant(root, z, z.left);
+        } else {
+            TreeNode<K, V> y = z.right;
+            while (y.left != null) {
+                y = y.left;
+            }
+            removedRed = y.red;
+            x = y.right;
+            if (y.parent == z) {
+                xParent = y;
+            } else {
+                xParent = y.parent;
+                root = transplant(root, y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            }
+            root = transplant(root, z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.red = z.red;
+        }
+        z.parent = z.left = z.right = null;
+        if (!removedRed) {
+            root = deleteFixup(root, x, xParent);
+        }
+        return root;
+    }
+
+    /**
+     * Fixup method described on p. 351 of CLRS, 4e. Since x may be null, its
+     * parent is tracked separately.
+     */
+    private static <K extends Comparable<K>, V> TreeNode<K, V> deleteFixup(
+            TreeNode<K, V> root, TreeNode<K, V> x, TreeNode<K, V> xParent) {
+        while (x != root && isBlack(x)) {
+            if (x == xParent.left) {
+                TreeNode<K, V> w = xParent.right;
+                if (w.red) {
+                    w.red = false;
+                    xParent.red = true;
+                    root = rotateLeft(root, xParent);
+                    w = xParent.right;
+                }
+                if (isBlack(w.left) && isBlack(w.right)) {
+                    w.red = true;
+                    x = xParent;
+                    xParent = x.parent;
+                } else {
+                    if (isBlack(w.right)) {
+                        w.left.red = false;
+                        w.red = true;
+                        root = rotateRight(root, w);
+                        w = xParent.right;
+                    }
+                    w.red = xParent.red;
+                    xParent.red = false;
+                    w.right.red = false;
+                    root = rotateLeft(root, xParent);
+                    x = root;
+                }
+            } else {
+                TreeNode<K, V> w = xParent.left;
+                if (w.red) {
+                    w.red = false;
+                    xParent.red = true;
+                    root = rotateRight(root, xParent);
+                    w = xParent.left;
+                }
+                if (isBlack(w.left) && isBlack(w.right)) {
+                    w.red = true;
+                    x = xParent;
+                    xParent = x.parent;
+                } else {
+                    if (isBlack(w.left)) {
+                        w.right.red = false;
+                        w.red = true;
+                        root = rotateLeft(root, w);
+                        w = xParent.left;
+                    }
+                    w.red = xParent.red;
+                    xParent.red = false;
+                    w.left.red = false;
+                    root = rotateRight(root, xParent);
+                    x = root;
+                }
+            }
+        }
+        if (x != null) {
+            x.red = false;
+        }
+        return root;
+    }
+
+    private static boolean isBlack(TreeNode<?, ?> node) {
+        return node == null || !node.red;
+    }
+
+    /**
+     * Replaces the subtree rooted at u with the subtree rooted at v.
+     */
+    private static <K extends Comparable<K>, V> TreeNode<K, V> transplant(
+            TreeNode<K, V> root, TreeNode<K, V> u, TreeNode<K, V> v) {
+        if (u.parent == null) {
+            root = v;
+        } else if (u == u.parent.left) {
+            u.parent.left = v;
+        } else {
+            u.parent.right = v;
+        }
+        if (v != null) {
+            v.parent = u.parent;
+        }
+        return root;
+    }
+
+    private static <K extends Comparable<K>, V> TreeNode<K, V> rotateLeft(
+            TreeNode<K, V> root, TreeNode<K, V> x) {
+        TreeNode<K, V> y = x.right;
+        x.right = y.left;
+        if (y.left != null) {
+            y.left.parent = x;
+        }
+        root = transplant(root, x, y);
+        y.left = x;
+        x.parent = y;
+        return root;
+    }
+
+    private static <K extends Comparable<K>, V> TreeNode<K, V> rotateRight(
+            TreeNode<K, V> root, TreeNode<K, V> x) {
+        TreeNode<K, V> y = x.left;
+        x.left = y.right;
+        if (y.right != null) {
+            y.right.parent = x;
+        }
+        root = transplant(root, x, y);
+        y.right = x;
+        x.parent = y;
+        return root;
+    }
+}
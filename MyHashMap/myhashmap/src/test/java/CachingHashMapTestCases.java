@@ -0,0 +1,151 @@
+/**
+ * Test cases for CachingHashMap under both eviction policies.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import hashmap.CachingHashMap;
+import hashmap.MyMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingHashMapTestCases {
+
+    @Test
+    public void testBasics() {
+        for (int policy : new int[] {CachingHashMap.LRU,
+                                     CachingHashMap.TINY_LFU}) {
+            MyMap<String, Integer> cache = new CachingHashMap<>(10, policy);
+            assertTrue(cache.isEmpty());
+            assertNull(cache.put("a", 1));
+            assertEquals(1, cache.put("a", 2));
+            assertEquals(2, cache.get("a"));
+            assertNull(cache.get("b"));
+            assertEquals(2, cache.remove("a"));
+            assertNull(cache.remove("a"));
+            assertTrue(cache.isEmpty());
+        }
+        assertThrows(IllegalArgumentException.class,
+                     () -> new CachingHashMap<String, Integer>(0));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new CachingHashMap<String, Integer>(10, 2));
+    }
+
+    @Test
+    public void testLruOrder() {
+        CachingHashMap<Integer, Integer> cache = new CachingHashMap<>(3);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+        // 2 was the least recently used.
+        assertNull(cache.get(2));
+        assertEquals(1, cache.get(1));
+        assertEquals(3, cache.get(3));
+        assertEquals(4, cache.get(4));
+        cache.put(3, 30);
+        cache.put(5, 5);
+        assertNull(cache.get(1));
+        assertEquals(30, cache.get(3));
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(5, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(5.0 / 7, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testSizeStaysBounded() {
+        for (int policy : new int[] {CachingHashMap.LRU,
+                                     CachingHashMap.TINY_LFU}) {
+            for (int capacity : new int[] {1, 2, 7, 100, 1000}) {
+                CachingHashMap<Integer, Integer> cache =
+                        new CachingHashMap<>(capacity, policy);
+                Set<Integer> present = new HashSet<>();
+                Random random = new Random(capacity);
+                for (int i = 0; i < 50000; i++) {
+                    int key = random.nextInt(3 * capacity + 10);
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            Integer value = cache.get(key);
+                            assertTrue(value == null || value == key);
+                            break;
+                        case 1:
+                            cache.put(key, key);
+                            break;
+                        default:
+                            cache.remove(key);
+                            break;
+                    }
+                    assertTrue(cache.size() <= capacity);
+                }
+                for (int key = 0; key < 3 * capacity + 10; key++) {
+                    if (cache.get(key) != null) {
+                        present.add(key);
+                    }
+                }
+                assertTrue(present.size() <= capacity);
+            }
+        }
+    }
+
+    @Test
+    public void testTinyLfuResistsScans() {
+        int capacity = 1000;
+        CachingHashMap<Integer, Integer> lru = new CachingHashMap<>(capacity,
+                CachingHashMap.LRU, key -> key);
+        CachingHashMap<Integer, Integer> lfu = new CachingHashMap<>(capacity,
+                CachingHashMap.TINY_LFU, key -> key);
+        // A hot set of 500 keys, each used repeatedly, interleaved with a
+        // scan over keys that are never used again.
+        int scanKey = 1000000;
+        for (int round = 0; round < 20; round++) {
+            for (int key = 0; key < 500; key++) {
+                lru.get(key);
+                lfu.get(key);
+                for (int s = 0; s < 4; s++) {
+                    lru.get(scanKey);
+                    lfu.get(scanKey);
+                    scanKey++;
+                }
+            }
+        }
+        long lruMisses = lru.getMissCount(), lfuMisses = lfu.getMissCount();
+        for (int key = 0; key < 500; key++) {
+            lru.get(key);
+            lfu.get(key);
+        }
+        // The scan flushes most hot keys out of the LRU cache, while TinyLFU
+        // keeps almost all of them.
+        assertTrue(lru.getMissCount() - lruMisses > 300);
+        assertTrue(lfu.getMissCount() - lfuMisses < 50);
+        assertTrue(lfu.getHitRatio() > lru.getHitRatio());
+    }
+
+    @Test
+    public void testLoader() {
+        int[] calls = new int[1];
+        CachingHashMap<Integer, String> cache = new CachingHashMap<>(2,
+                CachingHashMap.LRU, key -> {
+                    calls[0]++;
+                    return key < 0 ? null : "v" + key;
+                });
+        assertEquals("v1", cache.get(1));
+        assertEquals("v1", cache.get(1));
+        assertEquals(1, calls[0]);
+        assertNull(cache.get(-1));
+        assertNull(cache.get(-1));
+        assertEquals(3, calls[0]);
+        assertEquals(1, cache.size());
+        cache.get(2);
+        cache.get(3);
+        assertEquals("v1", cache.get(1));
+        assertEquals(6, cache.getLoadCount());
+        assertEquals(6, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Test cases for ConcurrentMyHashMap. The stress tests run several writer
+ * threads against one map and check the results against MyHashMap run on a
+ * single thread.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import hashmap.ConcurrentMyHashMap;
+import hashmap.Entry;
+import hashmap.GrowthMode;
+import hashmap.MyHashMap;
+import hashmap.MyMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentMyHashMapTestCases {
+    private static final int THREADS = 8;
+
+    @Test
+    public void test01() {
+        MyMap<String, Integer> map = new ConcurrentMyHashMap<>();
+        assertEquals(0, map.size());
+        assertEquals(true, map.isEmpty());
+        assertEquals(null, map.put("ten", 10));
+        assertEquals(10, map.get("ten"));
+        assertEquals(10, map.put("ten", 11));
+        assertEquals(1, map.size());
+        assertEquals(11, map.remove("ten"));
+        assertEquals(null, map.remove("ten"));
+        assertEquals(true, map.isEmpty());
+    }
+
+    @Test
+    public void test02() {
+        ConcurrentMyHashMap<String, Integer> map = new ConcurrentMyHashMap<>();
+        for (int i = 1; i <= 10000; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        assertEquals(10000, map.size());
+        assertEquals(16384, map.getTableSize());
+        for (int i = 1; i <= 10000; i++) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+        Set<String> seen = new HashSet<>();
+        Iterator<Entry<String, Integer>> iter = map.iterator();
+        while (iter.hasNext()) {
+            assertTrue(seen.add(iter.next().toString()));
+        }
+        assertEquals(10000, seen.size());
+        for (int i = 1; i <= 10000; i += 2) {
+            assertEquals(i, map.remove(String.valueOf(i)));
+        }
+        assertEquals(5000, map.size());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrentMyHashMap<String, Integer>(0, 0));
+    }
+
+    /**
+     * Each thread runs a random mix of puts and removes over its own key
+     * range, so every key's history is sequential. Each return value must then
+     * match what MyHashMap returns when the same thread's operations are
+     * replayed on a single thread, and so must the final contents.
+     */
+    @Test
+    public void testDisjointKeysMatchSequentialReplay() throws Exception {
+        int opsPerThread = 40000, keysPerThread = 5000;
+        ConcurrentMyHashMap<Integer, Integer> map =
+                new ConcurrentMyHashMap<>(0, 4);
+        int[][] keys = new int[THREADS][opsPerThread];
+        boolean[][] isPut = new boolean[THREADS][opsPerThread];
+        Integer[][] results = new Integer[THREADS][opsPerThread];
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < opsPerThread; i++) {
+                keys[t][i] = t * keysPerThread + random.nextInt(keysPerThread);
+                isPut[t][i] = random.nextInt(4) != 0;
+            }
+        }
+        runConcurrently(t -> {
+            for (int i = 0; i < opsPerThread; i++) {
+                results[t][i] = isPut[t][i]
+                        ? map.put(keys[t][i], t * opsPerThread + i)
+                        : map.remove(keys[t][i]);
+            }
+        });
+
+        MyHashMap<Integer, Integer> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < opsPerThread; i++) {
+                Integer result = isPut[t][i]
+                        ? expected.put(keys[t][i], t * opsPerThread + i)
+                        : expected.remove(keys[t][i]);
+                assertEquals(result, results[t][i],
+                        "thread " + t + ", operation " + i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < THREADS * keysPerThread; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    /**
+     * All threads put unique values into and remove from a small set of shared
+     * keys. In any linearizable history every value written is returned by
+     * exactly one later put or remove on its key, or is still in the map at
+     * the end; none is lost and none is returned twice.
+     */
+    @Test
+    public void testSharedKeysConserveValues() throws Exception {
+        int opsPerThread = 50000, numKeys = 64;
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>();
+        List<List<Integer>> returned = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            returned.add(new ArrayList<>());
+        }
+        runConcurrently(t -> {
+            Random random = new Random(100 + t);
+            List<Integer> mine = returned.get(t);
+            for (int i = 0; i < opsPerThread; i++) {
+                int key = random.nextInt(numKeys);
+                Integer result = random.nextInt(3) != 0
+                        ? map.put(key, t * opsPerThread + i)
+                        : map.remove(key);
+                if (result != null) {
+                    mine.add(result);
+                }
+            }
+        });
+
+        Set<Integer> written = new HashSet<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(100 + t);
+            for (int i = 0; i < opsPerThread; i++) {
+                random.nextInt(numKeys);
+                if (random.nextInt(3) != 0) {
+                    written.add(t * opsPerThread + i);
+                }
+            }
+        }
+        Map<Integer, Integer> accounted = new HashMap<>();
+        for (List<Integer> values : returned) {
+            for (Integer value : values) {
+                assertNull(accounted.put(value, value), "returned twice");
+            }
+        }
+        int remaining = 0;
+        for (int key = 0; key < numKeys; key++) {
+            Integer value = map.get(key);
+            if (value != null) {
+                assertNull(accounted.put(value, value), "returned and kept");
+                remaining++;
+            }
+        }
+        assertEquals(written, accounted.keySet());
+        assertEquals(remaining, map.size());
+    }
+
+    /**
+     * Readers running alongside writers that grow the table through several
+     * resizes must always find the keys that were present before they began.
+     */
+    @Test
+    public void testReadersDuringResize() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(-i - 1, i);
+        }
+        runConcurrently(t -> {
+            if (t % 2 == 0) {
+                for (int i = t * 50000; i < (t + 1) * 50000; i++) {
+                    map.put(i, i);
+                }
+            } else {
+                for (int round = 0; round < 200; round++) {
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, map.get(-i - 1));
+                    }
+                }
+            }
+        });
+        assertEquals(1000 + THREADS / 2 * 50000, map.size());
+        assertTrue(map.getLoadFactor() <= 0.75);
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        Thread[] threads = new Thread[THREADS];
+        Throwable[] failures = new Throwable[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    barrier.await();
+                    worker.run(id);
+                } catch (Throwable e) {
+                    failures[id] = e;
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) {
+            threads[t].join();
+            if (failures[t] != null) {
+                throw new AssertionError("thread " + t + " failed",
+                                         failures[t]);
+            }
+        }
+    }
+}
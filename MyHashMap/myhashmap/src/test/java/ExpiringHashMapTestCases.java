@@ -0,0 +1,133 @@
+/**
+ * Test cases for ExpiringHashMap, driven by a clock that only moves when the
+ * test advances it.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import hashmap.ExpiringHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringHashMapTestCases {
+
+    private static void advance(AtomicLong clock, long duration,
+                                TimeUnit unit) {
+        clock.addAndGet(unit.toNanos(duration));
+    }
+
+    @Test
+    public void testLazyExpiry() {
+        AtomicLong clock = new AtomicLong(-5_000);
+        ExpiringHashMap<String, Integer> map =
+                new ExpiringHashMap<>(10, TimeUnit.MILLISECONDS, clock::get);
+        assertNull(map.put("a", 1));
+        assertNull(map.put("b", 2, 1, TimeUnit.HOURS));
+        advance(clock, 9, TimeUnit.MILLISECONDS);
+        assertEquals(1, map.get("a"));
+        advance(clock, 1, TimeUnit.MILLISECONDS);
+        // Well within the first bucket of the wheel, so only get() can tell.
+        assertEquals(2, map.size());
+        assertNull(map.get("a"));
+        assertEquals(1, map.size());
+        assertEquals(1, map.getExpirationCount());
+        assertEquals(2, map.get("b"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> map.put("c", 3, 0, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ExpiringHashMap<String, Integer>(
+                             -1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        AtomicLong clock = new AtomicLong();
+        ExpiringHashMap<String, Integer> map =
+                new ExpiringHashMap<>(0, TimeUnit.SECONDS, clock::get);
+        map.put("a", 1, 10, TimeUnit.SECONDS);
+        advance(clock, 8, TimeUnit.SECONDS);
+        // Putting again replaces the deadline.
+        assertEquals(1, map.put("a", 2, 10, TimeUnit.SECONDS));
+        advance(clock, 8, TimeUnit.SECONDS);
+        assertEquals(2, map.get("a"));
+        advance(clock, 3, TimeUnit.SECONDS);
+        assertNull(map.put("a", 3, 10, TimeUnit.SECONDS));
+        assertEquals(3, map.remove("a"));
+        assertNull(map.remove("a"));
+        // The default of 0 never expires.
+        map.put("b", 4);
+        advance(clock, 1000, TimeUnit.DAYS);
+        map.cleanUp();
+        assertEquals(4, map.get("b"));
+        map.put("c", 5, 1, TimeUnit.SECONDS);
+        advance(clock, 2, TimeUnit.SECONDS);
+        assertNull(map.remove("c"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testWheelRemovesExpiredEntries() {
+        AtomicLong clock = new AtomicLong(Long.MAX_VALUE - 1_000_000);
+        ExpiringHashMap<Integer, Integer> map =
+                new ExpiringHashMap<>(0, TimeUnit.SECONDS, clock::get);
+        long[] ttls = { 1, 5, 90, 3_000, 50_000, 200_000, 5_000_000 };
+        for (int i = 0; i < 7000; i++) {
+            map.put(i, i, ttls[i % ttls.length] + i % 13, TimeUnit.SECONDS);
+        }
+        map.put(-1, -1);
+        long elapsed = 0;
+        for (long step : new long[] { 1, 10, 100, 1_000, 10_000, 100_000 }) {
+            while (elapsed < 60 * step) {
+                advance(clock, step, TimeUnit.SECONDS);
+                elapsed += step;
+                map.cleanUp();
+                int live = 1;
+                for (int i = 0; i < 7000; i++) {
+                    if (ttls[i % ttls.length] + i % 13 > elapsed) {
+                        live++;
+                    }
+                }
+                // An expired entry goes within a couple of seconds.
+                int late = 0;
+                for (int i = 0; i < 7000; i++) {
+                    long ttl = ttls[i % ttls.length] + i % 13;
+                    if (ttl <= elapsed && ttl + 3 > elapsed) {
+                        late++;
+                    }
+                }
+                assertTrue(map.size() >= live && map.size() <= live + late,
+                           "size " + map.size() + " at " + elapsed + "s");
+            }
+        }
+        assertEquals(1, map.size());
+        assertEquals(7000, map.getExpirationCount());
+        assertEquals(-1, map.get(-1));
+    }
+
+    /**
+     * A deadline five days out starts on the day level and must fall one
+     * level at a time to the seconds, never wrapping around onto a bucket
+     * that comes due early and holds it on the same level again.
+     */
+    @Test
+    public void testCascadesOncePerLevel() {
+        AtomicLong clock = new AtomicLong();
+        ExpiringHashMap<Integer, Integer> map =
+                new ExpiringHashMap<>(0, TimeUnit.SECONDS, clock::get);
+        map.put(1, 1, 5, TimeUnit.DAYS);
+        long minutes = TimeUnit.DAYS.toMinutes(5);
+        for (long minute = 1; minute < minutes; minute++) {
+            advance(clock, 1, TimeUnit.MINUTES);
+            map.cleanUp();
+        }
+        assertEquals(1, map.get(1));
+        advance(clock, 2, TimeUnit.MINUTES);
+        map.cleanUp();
+        assertEquals(1, map.getExpirationCount());
+        assertEquals(0, map.size());
+        // Day, hour, minute, and second levels, each left once.
+        assertTrue(map.getRescheduleCount() <= 3,
+                   map.getRescheduleCount() + " reschedules");
+    }
+}
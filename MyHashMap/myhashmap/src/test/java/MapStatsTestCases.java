@@ -0,0 +1,167 @@
+/**
+ * Test cases for the metrics of MyHashMap and their MapStats snapshots.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import hashmap.GrowthMode;
+import hashmap.MapStats;
+import hashmap.MyHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapStatsTestCases {
+
+    @Test
+    public void testDisabledByDefault() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        assertFalse(map.isMetricsEnabled());
+        assertThrows(IllegalStateException.class, map::getStats);
+        map.setMetricsEnabled(true);
+        assertTrue(map.isMetricsEnabled());
+        map.setMetricsEnabled(false);
+        assertThrows(IllegalStateException.class, map::getStats);
+    }
+
+    @Test
+    public void testCounts() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        map.put("a", 1);
+        map.setMetricsEnabled(true);
+        map.put("b", 2);
+        map.put("b", 3);
+        assertEquals(1, map.get("a"));
+        assertEquals(3, map.get("b"));
+        assertNull(map.get("c"));
+        assertEquals(3, map.remove("b"));
+        assertNull(map.remove("b"));
+        MapStats stats = map.getStats();
+        assertEquals(1, stats.getSize());
+        assertEquals(101, stats.getTableSize());
+        assertEquals(3, stats.getGets());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(2.0 / 3, stats.getHitRatio(), 1e-9);
+        assertEquals(2, stats.getPuts());
+        assertEquals(2, stats.getRemoves());
+        assertEquals(0, stats.getResizeCount());
+        long[] probes = stats.getProbeHistogram();
+        long operations = 0;
+        for (long count : probes) {
+            operations += count;
+        }
+        assertEquals(7, operations);
+        // "a", "b", and "c" hash to different buckets of 101, so every
+        // lookup compares at most one key.
+        assertEquals(0, probes[2]);
+        assertArrayEquals(new long[] {100, 1, 0, 0, 0, 0, 0, 0, 0},
+                          stats.getBucketOccupancy());
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16);
+        map.setMetricsEnabled(true);
+        map.get(1);
+        MapStats stats = map.getStats();
+        stats.getProbeHistogram()[0] = 100;
+        map.get(2);
+        assertEquals(1, stats.getGets());
+        assertEquals(1, stats.getProbeHistogram()[0]);
+        assertEquals(2, map.getStats().getGets());
+    }
+
+    @Test
+    public void testOccupancyAcrossResizes() {
+        for (GrowthMode mode : GrowthMode.values()) {
+            for (boolean incremental : new boolean[] {false, true}) {
+                MyHashMap<Integer, Integer> map = new MyHashMap<>(0, mode);
+                map.setIncrementalRehash(incremental);
+                map.setMetricsEnabled(true);
+                Random random = new Random(mode.ordinal());
+                for (int i = 0; i < 50000; i++) {
+                    int key = random.nextInt(40000);
+                    if (random.nextInt(4) == 0) {
+                        map.remove(key);
+                    } else {
+                        map.put(key, i);
+                    }
+                }
+                map.setIncrementalRehash(false);
+                MapStats stats = map.getStats();
+                assertTrue(stats.getResizeCount() > 0);
+                assertTrue(stats.getResizeNanos() > 0);
+                assertTrue(stats.getMaxResizeNanos() > 0);
+                assertTrue(stats.getMaxResizeNanos() <= stats.getResizeNanos());
+                assertEquals(50000, stats.getPuts() + stats.getRemoves());
+                long[] occupancy = stats.getBucketOccupancy();
+                long buckets = 0, entries = 0;
+                for (int i = 0; i < occupancy.length; i++) {
+                    buckets += occupancy[i];
+                    entries += i * occupancy[i];
+                }
+                assertEquals(map.getTableSize(), buckets);
+                if (occupancy[occupancy.length - 1] == 0) {
+                    assertEquals(map.size(), entries);
+                }
+                // A fresh count from the table matches the running one.
+                map.setMetricsEnabled(false);
+                map.setMetricsEnabled(true);
+                assertArrayEquals(occupancy,
+                                  map.getStats().getBucketOccupancy());
+            }
+        }
+    }
+
+    @Test
+    public void testTreeBucketProbes() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        map.setMetricsEnabled(true);
+        // Strings built from "Aa" and "BB" all share one hash code.
+        String[] keys = new String[64];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+            map.put(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        MapStats stats = map.getStats();
+        long[] probes = stats.getProbeHistogram();
+        // A red-black tree of 64 nodes has height at most 2 lg 65 < 13.
+        for (int i = 13; i < probes.length; i++) {
+            assertEquals(0, probes[i]);
+        }
+        assertEquals(1, stats.getBucketOccupancy()[8]);
+        assertTrue(stats.getMeanProbeLength() > 1);
+    }
+
+    @Test
+    public void testMXBean() throws Exception {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16);
+        map.setMetricsEnabled(true);
+        map.put(1, 1);
+        map.get(1);
+        map.get(2);
+        ObjectName name = new ObjectName("hashmap:type=MapStats,name=test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        map.registerMXBean(name);
+        try {
+            assertEquals(1, server.getAttribute(name, "Size"));
+            assertEquals(2L, server.getAttribute(name, "Gets"));
+            assertEquals(0.5, (Double)server.getAttribute(name, "HitRatio"),
+                         1e-9);
+            map.get(1);
+            assertEquals(3L, server.getAttribute(name, "Gets"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
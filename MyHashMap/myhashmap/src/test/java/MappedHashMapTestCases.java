@@ -0,0 +1,193 @@
+/**
+ * Test cases for MappedHashMap. Random operation sequences are checked
+ * against MyHashMap, including across closing and reopening the file.
+ */
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+import hashmap.Codec;
+import hashmap.Entry;
+import hashmap.GrowthMode;
+import hashmap.MappedHashMap;
+import hashmap.MyHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedHashMapTestCases {
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testBasics() throws IOException {
+        Path file = dir.resolve("basics.map");
+        try (MappedHashMap<String, String> map = new MappedHashMap<>(file,
+                Codec.STRING, Codec.STRING)) {
+            assertTrue(map.isEmpty());
+            assertNull(map.put("ten", "10"));
+            assertEquals("10", map.get("ten"));
+            assertEquals("10", map.put("ten", "11"));
+            assertEquals(0, map.getWastedBytes());
+            assertEquals("11", map.put("ten", "eleven"));
+            assertTrue(map.getWastedBytes() > 0);
+            assertNull(map.put("null", null));
+            assertEquals(2, map.size());
+            assertNull(map.get("null"));
+            assertNull(map.put("null", "not null"));
+            assertEquals("not null", map.remove("null"));
+            assertNull(map.remove("null"));
+            assertNull(map.get("eleven"));
+            assertEquals(1, map.size());
+        }
+        try (MappedHashMap<String, String> map = new MappedHashMap<>(file,
+                Codec.STRING, Codec.STRING)) {
+            assertEquals(1, map.size());
+            assertEquals("eleven", map.get("ten"));
+        }
+    }
+
+    @Test
+    public void testMatchesMyHashMapAcrossReopen() throws IOException {
+        Path file = dir.resolve("random.map");
+        MyHashMap<Integer, String> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        Random random = new Random(3);
+        for (int round = 0; round < 3; round++) {
+            try (MappedHashMap<Integer, String> map = new MappedHashMap<>(file,
+                    Codec.INTEGER, Codec.STRING)) {
+                assertEquals(expected.size(), map.size());
+                for (int i = 0; i < 60000; i++) {
+                    int key = random.nextInt(40000) - 20000;
+                    if (random.nextInt(4) == 0) {
+                        assertEquals(expected.remove(key), map.remove(key));
+                    } else {
+                        // Values of varying length exercise both in-place
+                        // and relocating updates.
+                        String value = Integer.toString(random.nextInt(),
+                                                        2 + random.nextInt(35));
+                        assertEquals(expected.put(key, value),
+                                     map.put(key, value));
+                    }
+                }
+                assertTrue(map.getLoadFactor() <= 0.75);
+            }
+        }
+        try (MappedHashMap<Integer, String> map = new MappedHashMap<>(file,
+                Codec.INTEGER, Codec.STRING)) {
+            assertEquals(expected.size(), map.size());
+            for (int key = -20000; key < 20000; key++) {
+                assertEquals(expected.get(key), map.get(key));
+            }
+            Set<String> seen = new HashSet<>();
+            Iterator<Entry<Integer, String>> iter = map.iterator();
+            while (iter.hasNext()) {
+                assertTrue(seen.add(iter.next().toString()));
+            }
+            assertEquals(expected.size(), seen.size());
+            assertTrue(map.getUsedBytes() <= Files.size(file));
+            assertTrue(map.getWastedBytes() < map.getUsedBytes());
+        }
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        Path file = dir.resolve("compact.map");
+        MyHashMap<Integer, String> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        try (MappedHashMap<Integer, String> map = new MappedHashMap<>(file,
+                Codec.INTEGER, Codec.STRING)) {
+            for (int i = 0; i < 20000; i++) {
+                map.put(i, "v" + i);
+                map.put(i, "value " + i);
+                expected.put(i, "value " + i);
+            }
+            for (int i = 0; i < 20000; i += 3) {
+                assertEquals(expected.remove(i), map.remove(i));
+            }
+            assertNull(map.put(-1, null));
+            expected.put(-1, null);
+            long usedBytes = map.getUsedBytes();
+            assertTrue(map.getWastedBytes() > usedBytes / 2);
+            map.compact();
+            assertEquals(0, map.getWastedBytes());
+            assertTrue(map.getUsedBytes() < usedBytes / 2);
+            assertEquals(expected.size(), map.size());
+            for (int i = -1; i < 20000; i++) {
+                assertEquals(expected.get(i), map.get(i));
+            }
+            // The compacted map remains fully usable.
+            for (int i = 20000; i < 30000; i++) {
+                assertNull(map.put(i, "new " + i));
+                expected.put(i, "new " + i);
+            }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+        try (MappedHashMap<Integer, String> map = new MappedHashMap<>(file,
+                Codec.INTEGER, Codec.STRING)) {
+            assertEquals(expected.size(), map.size());
+            for (int i = -1; i < 30000; i++) {
+                assertEquals(expected.get(i), map.get(i));
+            }
+        }
+    }
+
+    /**
+     * Space past the end of the data may hold leftovers, such as a table
+     * filled by a resize that a crash kept from being switched to. Tables
+     * allocated there later must not follow those pointers.
+     */
+    @Test
+    public void testIgnoresStaleSpacePastData() throws IOException {
+        Path file = dir.resolve("stale.map");
+        long usedBytes;
+        try (MappedHashMap<Integer, Integer> map = new MappedHashMap<>(file,
+                Codec.INTEGER, Codec.INTEGER)) {
+            for (int i = 0; i < 10; i++) {
+                map.put(i, i);
+            }
+            usedBytes = map.getUsedBytes();
+        }
+        long fileSize = Files.size(file);
+        assertTrue(fileSize > usedBytes);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            byte[] garbage = new byte[(int)(fileSize - usedBytes)];
+            Arrays.fill(garbage, (byte)0x11);
+            channel.write(ByteBuffer.wrap(garbage), usedBytes);
+        }
+        try (MappedHashMap<Integer, Integer> map = new MappedHashMap<>(file,
+                Codec.INTEGER, Codec.INTEGER)) {
+            for (int i = 10; i < 5000; i++) {
+                assertNull(map.put(i, i));
+            }
+            assertEquals(5000, map.size());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i, map.get(i));
+            }
+            assertNull(map.get(-1));
+        }
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        Path file = dir.resolve("other.txt");
+        Files.writeString(file, "This is not a map, just a line of text.\n"
+                + "It is long enough to hold a header, though.\n");
+        assertThrows(IOException.class,
+                () -> new MappedHashMap<>(file, Codec.LONG, Codec.LONG));
+        assertTrue(Files.readString(file).startsWith("This is not a map"));
+    }
+}
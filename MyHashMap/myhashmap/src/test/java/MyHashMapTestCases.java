@@ -6,9 +6,27 @@
  * Last modified: 11/17/2022
  */
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
+import hashmap.Codec;
+import hashmap.GrowthMode;
 import hashmap.MyHashMap;
 import hashmap.MyMap;
 
@@ -112,4 +130,663 @@ public class MyHashMapTestCases {
         assertEquals(0.0, map.getLoadFactor(), 1e-7);
         assertEquals(0, map.computeMaxChainLength());
     }
+
+    @Test
+    public void test06() {
+        MyHashMap<String, Integer> map =
+                new MyHashMap<>(0, GrowthMode.UNBOUNDED_PRIMES);
+        assertEquals(101, map.getTableSize());
+        for (int i = 1; i <= 300000; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        assertEquals(300000, map.size());
+        assertEquals(444929, map.getTableSize());
+        assertEquals(0.6742648827116237, map.getLoadFactor(), 1e-7);
+        assertEquals(9, map.computeMaxChainLength());
+        for (int i = 1; i <= 300000; i++) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+    }
+
+    @Test
+    public void test07() {
+        MyHashMap<String, Integer> map =
+                new MyHashMap<>(0, GrowthMode.POWER_OF_TWO);
+        assertEquals(128, map.getTableSize());
+        for (int i = 1; i <= 300000; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        assertEquals(524288, map.getTableSize());
+        assertEquals(0.57220458984375, map.getLoadFactor(), 1e-7);
+        assertEquals(8, map.computeMaxChainLength());
+        for (int i = 300000; i >= 1; i--) {
+            assertEquals(i, map.remove(String.valueOf(i)));
+        }
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void test08() {
+        assertEquals(GrowthMode.BOUNDED_PRIMES,
+                     new MyHashMap<Integer, Integer>(10).getGrowthMode());
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(1000000,
+                GrowthMode.POWER_OF_TWO);
+        assertEquals(GrowthMode.POWER_OF_TWO, map.getGrowthMode());
+        assertEquals(2097152, map.getTableSize());
+        for (int i = 0; i < 1000000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(2097152, map.getTableSize());
+        assertEquals(1779761, new MyHashMap<Integer, Integer>(
+                1000000, GrowthMode.UNBOUNDED_PRIMES).getTableSize());
+        assertEquals(222461, new MyHashMap<Integer, Integer>(
+                1000000, GrowthMode.BOUNDED_PRIMES).getTableSize());
+    }
+
+    @Test
+    public void test09() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        for (int i = 1; i <= 100; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        assertEquals(211, map.getTableSize());
+        map.ensureCapacity(10000);
+        assertEquals(13901, map.getTableSize());
+        map.ensureCapacity(100);
+        assertEquals(13901, map.getTableSize());
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyHashMap<String, Integer>(10, null));
+    }
+
+    @Test
+    public void test10() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        map.setIncrementalRehash(true);
+        assertTrue(map.isIncrementalRehash());
+        for (int i = 1; i <= 76; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        assertEquals(211, map.getTableSize());
+        assertTrue(map.isRehashing());
+        assertEquals(76, map.size());
+        for (int i = 1; i <= 76; i++) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+        assertFalse(map.isRehashing());
+
+        for (int i = 77; i <= 10000; i++) {
+            map.put(String.valueOf(i), i);
+            if (i % 7 == 0) {
+                assertEquals(i, map.remove(String.valueOf(i)));
+                assertNull(map.get(String.valueOf(i)));
+            }
+        }
+        for (int i = 1; i <= 10000; i++) {
+            assertEquals(i > 76 && i % 7 == 0 ? null : i,
+                         map.get(String.valueOf(i)));
+            assertEquals(i > 76 && i % 7 == 0 ? null : i,
+                         map.put(String.valueOf(i), -i));
+        }
+        assertEquals(10000, map.size());
+        assertEquals(13901, map.getTableSize());
+        int sum = 0, count = 0;
+        Iterator<hashmap.Entry<String, Integer>> iter = map.iterator();
+        while (iter.hasNext()) {
+            sum += Integer.parseInt(iter.next().toString().split("[<,]")[1]);
+            count++;
+        }
+        assertEquals(10000, count);
+        assertEquals(50005000, sum);
+    }
+
+    @Test
+    public void test11() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        map.setIncrementalRehash(true);
+        for (int i = 0; i < 97; i++) {
+            map.put(i, i);
+        }
+        assertTrue(map.isRehashing());
+        assertEquals(256, map.getTableSize());
+        assertTrue(map.toString().contains("Rehashing"));
+        for (int i = 0; i < 97; i++) {
+            assertEquals(i, map.remove(i));
+        }
+        assertTrue(map.isEmpty());
+        map.put(1, 1);
+        map.setIncrementalRehash(false);
+        assertFalse(map.isRehashing());
+        assertEquals(1, map.get(1));
+    }
+
+    /**
+     * Returns the 2^length strings made of length blocks of "Aa" or "BB".
+     * Since "Aa" and "BB" have the same hash code, so do all of the strings.
+     */
+    private static String[] collidingKeys(int length) {
+        String[] keys = new String[1 << length];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int bit = 0; bit < length; bit++) {
+                builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+        }
+        return keys;
+    }
+
+    @Test
+    public void test12() {
+        String[] keys = collidingKeys(10);
+        for (GrowthMode mode : GrowthMode.values()) {
+            for (boolean incremental : new boolean[] { false, true }) {
+                MyHashMap<String, Integer> map = new MyHashMap<>(0, mode);
+                map.setIncrementalRehash(incremental);
+                Map<String, Integer> expected = new HashMap<>();
+                Random random = new Random(mode.ordinal());
+                for (int i = 0; i < 20000; i++) {
+                    String key = keys[random.nextInt(keys.length)];
+                    if (random.nextInt(3) == 0) {
+                        assertEquals(expected.remove(key), map.remove(key));
+                    } else {
+                        assertEquals(expected.put(key, i), map.put(key, i));
+                    }
+                    assertEquals(expected.size(), map.size());
+                }
+                for (String key : keys) {
+                    assertEquals(expected.get(key), map.get(key));
+                }
+                int count = 0;
+                Iterator<hashmap.Entry<String, Integer>> iter = map.iterator();
+                while (iter.hasNext()) {
+                    String[] parts = iter.next().toString().split("[<>, ]+");
+                    assertEquals(expected.get(parts[1]),
+                                 Integer.valueOf(parts[2]));
+                    count++;
+                }
+                assertEquals(expected.size(), count);
+                assertEquals(expected.size(), map.computeMaxChainLength());
+
+                map.setTreeifyBins(false);
+                assertFalse(map.isTreeifyBins());
+                for (String key : keys) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                }
+                assertTrue(map.isEmpty());
+            }
+        }
+    }
+
+    /**
+     * A key whose hash code is constant and which counts its comparisons.
+     */
+    private static class CollidingKey implements Comparable<CollidingKey> {
+        static int comparisons;
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey other) {
+            comparisons++;
+            return Integer.compare(id, other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey
+                    && ((CollidingKey)other).id == id;
+        }
+    }
+
+    @Test
+    public void test13() {
+        int n = 1 << 14;
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < n; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        // A red-black tree of n nodes has height at most 2 lg(n + 1).
+        int maxComparisons = 2 * 15;
+        for (int i = -1; i <= n; i++) {
+            CollidingKey.comparisons = 0;
+            assertEquals(i < 0 || i == n ? null : i,
+                         map.get(new CollidingKey(i)));
+            assertTrue(CollidingKey.comparisons <= maxComparisons);
+        }
+        for (int i = 0; i < n; i += 2) {
+            assertEquals(i, map.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < n; i++) {
+            CollidingKey.comparisons = 0;
+            assertEquals(i % 2 == 0 ? null : i, map.get(new CollidingKey(i)));
+            assertTrue(CollidingKey.comparisons <= maxComparisons);
+        }
+
+        map.setTreeifyBins(false);
+        CollidingKey.comparisons = 0;
+        assertNull(map.get(new CollidingKey(n)));
+        assertEquals(n / 2, CollidingKey.comparisons);
+    }
+
+    @Test
+    public void test14() {
+        for (GrowthMode mode : GrowthMode.values()) {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>(0, mode);
+            map.setIncrementalRehash(true);
+            Map<Integer, Integer> expected = new HashMap<>();
+            Random random = new Random(mode.ordinal());
+            for (int round = 0; round < 40; round++) {
+                // Some single puts leave an incremental rehash in progress.
+                for (int i = 0; i < 100; i++) {
+                    int key = random.nextInt(400000);
+                    assertEquals(expected.put(key, -i), map.put(key, -i));
+                }
+                int batchSize = 1 + random.nextInt(20000);
+                Integer[] keys = new Integer[batchSize];
+                Integer[] values = new Integer[batchSize];
+                for (int i = 0; i < batchSize; i++) {
+                    keys[i] = random.nextInt(400000);
+                    values[i] = round * 100000 + i;
+                    expected.put(keys[i], values[i]);
+                }
+                map.putAll(keys, values);
+                assertEquals(expected.size(), map.size());
+                if (mode != GrowthMode.BOUNDED_PRIMES) {
+                    assertTrue(map.getLoadFactor() <= 0.75);
+                }
+
+                Integer[] found = new Integer[batchSize];
+                map.getAll(keys, found);
+                for (int i = 0; i < batchSize; i++) {
+                    assertEquals(expected.get(keys[i]), found[i]);
+                }
+
+                Integer[] toRemove = Arrays.copyOf(keys, batchSize / 2);
+                int removed = 0;
+                for (Integer key : toRemove) {
+                    if (expected.remove(key) != null) {
+                        removed++;
+                    }
+                }
+                assertEquals(removed, map.removeAll(toRemove));
+                assertEquals(expected.size(), map.size());
+            }
+            for (int key = 0; key < 400000; key++) {
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new MyHashMap<Integer, Integer>().putAll(new Integer[1],
+                                                               new Integer[2]));
+    }
+
+    @Test
+    public void test15() {
+        for (GrowthMode mode : GrowthMode.values()) {
+            MyHashMap<CollidingKey, Integer> map = new MyHashMap<>(0, mode);
+            Map<Integer, Integer> expected = new HashMap<>();
+            // One tree bucket, which shrinks back into a chain as entries are
+            // removed during the pass, plus plenty of ordinary entries.
+            for (int i = 0; i < 20; i++) {
+                map.put(new CollidingKey(i), i);
+                expected.put(i, i);
+            }
+            MyHashMap<Integer, Integer> plain = new MyHashMap<>(0, mode);
+            for (int i = 0; i < 5000; i++) {
+                plain.put(i, i);
+            }
+            int seen = 0;
+            Iterator<hashmap.Entry<CollidingKey, Integer>> iter = map.iterator();
+            while (iter.hasNext()) {
+                hashmap.Entry<CollidingKey, Integer> entry = iter.next();
+                seen++;
+                if (entry.getValue() % 3 != 0) {
+                    iter.remove();
+                    expected.remove(entry.getValue());
+                    assertThrows(IllegalStateException.class, iter::remove);
+                }
+            }
+            assertEquals(20, seen);
+            assertEquals(expected.size(), map.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(expected.get(i), map.get(new CollidingKey(i)));
+            }
+            assertThrows(NoSuchElementException.class, iter::next);
+
+            Iterator<hashmap.Entry<Integer, Integer>> it = plain.iterator();
+            while (it.hasNext()) {
+                if (it.next().getKey() % 2 == 0) {
+                    it.remove();
+                }
+            }
+            assertEquals(2500, plain.size());
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(i % 2 == 0 ? null : i, plain.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void test16() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+        Iterator<hashmap.Entry<Integer, Integer>> iter = map.iterator();
+        iter.next();
+        map.put(100, 100);
+        assertThrows(ConcurrentModificationException.class, iter::next);
+
+        iter = map.iterator();
+        iter.next();
+        map.put(0, -1);
+        iter.next();
+        map.remove(100);
+        assertThrows(ConcurrentModificationException.class, iter::remove);
+
+        // A put that triggers a rehash invalidates the iterator, even when it
+        // happens through an incremental rehash.
+        map.setIncrementalRehash(true);
+        iter = map.iterator();
+        for (int i = 10; i < 200; i++) {
+            map.put(i, i);
+        }
+        assertThrows(ConcurrentModificationException.class, iter::next);
+
+        Spliterator<hashmap.Entry<Integer, Integer>> spliterator =
+                map.spliterator();
+        map.remove(0);
+        assertThrows(ConcurrentModificationException.class,
+                () -> spliterator.forEachRemaining(e -> { }));
+    }
+
+    @Test
+    public void test17() {
+        for (GrowthMode mode : GrowthMode.values()) {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>(0, mode);
+            map.setIncrementalRehash(true);
+            long expectedSum = 0;
+            for (int i = 0; i < 100000; i++) {
+                map.put(i, i * 7);
+                expectedSum += i * 7;
+            }
+            long sum = StreamSupport.stream(map.spliterator(), true)
+                    .mapToLong(hashmap.Entry::getValue).sum();
+            assertEquals(expectedSum, sum);
+            assertEquals(100000, StreamSupport.stream(map.spliterator(), true)
+                    .map(hashmap.Entry::getKey).distinct().count());
+
+            // Splitting covers every bucket exactly once.
+            Spliterator<hashmap.Entry<Integer, Integer>> right = map.spliterator();
+            Spliterator<hashmap.Entry<Integer, Integer>> left = right.trySplit();
+            assertNotNull(left);
+            Spliterator<hashmap.Entry<Integer, Integer>> leftLeft =
+                    left.trySplit();
+            long[] count = new long[1];
+            assertTrue(left.tryAdvance(e -> count[0]++));
+            left.forEachRemaining(e -> count[0]++);
+            leftLeft.forEachRemaining(e -> count[0]++);
+            right.forEachRemaining(e -> count[0]++);
+            assertFalse(right.tryAdvance(e -> count[0]++));
+            assertEquals(100000, count[0]);
+        }
+        assertEquals(0, StreamSupport.stream(new MyHashMap<Integer, Integer>()
+                .spliterator(), true).count());
+    }
+
+    @Test
+    public void test18() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (GrowthMode mode : GrowthMode.values()) {
+                for (boolean treeify : new boolean[] {true, false}) {
+                    MyHashMap<String, Integer> map = new MyHashMap<>(0, mode);
+                    map.setTreeifyBins(treeify);
+                    map.setParallelRehash(pool);
+                    assertTrue(map.isParallelRehash());
+                    // Strings built from "Aa" and "BB" all share one hash
+                    // code, so one bucket must stay a tree across rehashes.
+                    String[] colliding = new String[64];
+                    for (int i = 0; i < colliding.length; i++) {
+                        StringBuilder builder = new StringBuilder();
+                        for (int bit = 0; bit < 6; bit++) {
+                            builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+                        }
+                        colliding[i] = builder.toString();
+                        map.put(colliding[i], -i);
+                    }
+                    for (int i = 0; i < 300000; i++) {
+                        map.put("k" + i, i);
+                    }
+                    // Grows again through the parallel path.
+                    map.ensureCapacity(1000000);
+                    assertEquals(300064, map.size());
+                    for (int i = 0; i < colliding.length; i++) {
+                        assertEquals(-i, map.get(colliding[i]));
+                    }
+                    for (int i = 0; i < 300000; i++) {
+                        assertEquals(i, map.get("k" + i));
+                    }
+                    int count = 0;
+                    for (hashmap.Entry<String, Integer> entry : map) {
+                        count++;
+                    }
+                    assertEquals(300064, count);
+                    assertTrue(map.computeMaxChainLength() >= 64);
+                    for (int i = 0; i < colliding.length; i += 2) {
+                        assertEquals(-i, map.remove(colliding[i]));
+                    }
+                    for (int i = 0; i < colliding.length; i++) {
+                        assertEquals(i % 2 == 0 ? null : -i,
+                                     map.get(colliding[i]));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        map.setParallelRehash(true);
+        map.setParallelRehash(false);
+        assertFalse(map.isParallelRehash());
+    }
+
+    @Test
+    public void test19(@TempDir Path dir) throws IOException {
+        for (GrowthMode mode : GrowthMode.values()) {
+            MyHashMap<String, Integer> map = new MyHashMap<>(0, mode);
+            for (int i = 0; i < 50000; i++) {
+                map.put("key" + i, i % 7 == 0 ? null : i);
+            }
+            // A tree bucket of keys sharing one hash code.
+            for (int i = 0; i < 16; i++) {
+                StringBuilder builder = new StringBuilder();
+                for (int bit = 0; bit < 4; bit++) {
+                    builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+                }
+                map.put(builder.toString(), -i);
+            }
+            Path file = dir.resolve("map" + mode + ".snapshot");
+            map.writeSnapshot(file, Codec.STRING, Codec.INTEGER);
+            MyHashMap<String, Integer> copy = MyHashMap.readSnapshot(file,
+                    Codec.STRING, Codec.INTEGER);
+            assertEquals(mode, copy.getGrowthMode());
+            assertEquals(map.getTableSize(), copy.getTableSize());
+            assertEquals(map.size(), copy.size());
+            assertEquals(map.computeMaxChainLength(),
+                         copy.computeMaxChainLength());
+            for (hashmap.Entry<String, Integer> entry : map) {
+                assertEquals(entry.getValue(), copy.get(entry.getKey()));
+            }
+            // Loading must not have rehashed, and the copy keeps working.
+            copy.put("new", -1);
+            assertEquals(-1, copy.get("new"));
+            assertEquals(map.size() + 1, copy.size());
+
+            Files.write(file, Arrays.copyOf(Files.readAllBytes(file),
+                                            (int)Files.size(file) + 1));
+            assertThrows(IOException.class,
+                    () -> MyHashMap.readSnapshot(file, Codec.STRING,
+                                                 Codec.INTEGER));
+        }
+    }
+
+    @Test
+    public void test20() throws IOException {
+        MyHashMap<Long, String> map = new MyHashMap<>(16,
+                GrowthMode.POWER_OF_TWO);
+        map.setIncrementalRehash(true);
+        String large = "x".repeat(200000);
+        for (long i = 0; i < 1000; i++) {
+            map.put(i << 40, i == 500 ? large : "v" + i);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        map.writeSnapshot(out, Codec.LONG, Codec.STRING);
+        byte[] bytes = out.toByteArray();
+        MyHashMap<Long, String> copy = MyHashMap.readSnapshot(
+                new ByteArrayInputStream(bytes), Codec.LONG, Codec.STRING);
+        assertEquals(1000, copy.size());
+        assertEquals(GrowthMode.POWER_OF_TWO, copy.getGrowthMode());
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(map.get(i << 40), copy.get(i << 40));
+        }
+
+        assertThrows(EOFException.class, () -> MyHashMap.readSnapshot(
+                new ByteArrayInputStream(bytes, 0, bytes.length - 1),
+                Codec.LONG, Codec.STRING));
+        byte[] wrongMagic = bytes.clone();
+        wrongMagic[0]++;
+        assertThrows(IOException.class, () -> MyHashMap.readSnapshot(
+                new ByteArrayInputStream(wrongMagic), Codec.LONG,
+                Codec.STRING));
+        MyHashMap<Long, String> empty = MyHashMap.readSnapshot(
+                new ByteArrayInputStream(snapshotOf(new MyHashMap<>())),
+                Codec.LONG, Codec.STRING);
+        assertTrue(empty.isEmpty());
+        assertEquals(101, empty.getTableSize());
+    }
+
+    @Test
+    public void test21() throws IOException {
+        // The header is the magic number, the version, the growth mode, the
+        // table size, and the number of entries.
+        MyHashMap<Long, String> map = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (long i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        byte[] bytes = snapshotOf(map);
+        assertEquals(2048, ByteBuffer.wrap(bytes).getInt(16));
+        assertEquals(1000, readSnapshot(bytes).size());
+        // A table too small for the entries.
+        assertCorrupt(withInt(bytes, 16, 1024));
+        // Table sizes that the growth mode never produces.
+        assertCorrupt(withInt(bytes, 16, 64));
+        byte[] bounded = withInt(bytes, 12,
+                                 GrowthMode.BOUNDED_PRIMES.ordinal());
+        assertCorrupt(withInt(bounded, 16, 2053));
+        assertCorrupt(withInt(bounded, 16, 444929));
+        byte[] unbounded = withInt(bytes, 12,
+                                   GrowthMode.UNBOUNDED_PRIMES.ordinal());
+        assertCorrupt(withInt(unbounded, 16, 2048));
+        assertCorrupt(withInt(unbounded, 16, Integer.MAX_VALUE));
+        assertEquals(1000, readSnapshot(withInt(unbounded, 16, 2053)).size());
+
+        // A snapshot holding the same key twice.
+        MyHashMap<Long, String> one = new MyHashMap<>();
+        one.put(7L, "seven");
+        byte[] single = snapshotOf(one);
+        byte[] twice = Arrays.copyOf(single, 2 * single.length - 24);
+        System.arraycopy(single, 24, twice, single.length, single.length - 24);
+        assertCorrupt(withInt(twice, 20, 2));
+    }
+
+    @Test
+    public void test22(@TempDir Path dir) throws IOException {
+        // A record length past the end of the data must be rejected without
+        // allocating an array of that length.
+        MyHashMap<Long, String> map = new MyHashMap<>();
+        for (long i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        byte[] bytes = snapshotOf(map);
+        // The first key length follows the 24-byte header.
+        assertEquals(Long.BYTES, ByteBuffer.wrap(bytes).getInt(24));
+        assertCorrupt(withInt(bytes, 24, -2));
+        assertCorrupt(withInt(bytes, 24, bytes.length));
+        assertCorrupt(withInt(bytes, 24, Integer.MAX_VALUE));
+
+        Path file = dir.resolve("map.snapshot");
+        for (int length : new int[] {bytes.length, Integer.MAX_VALUE}) {
+            Files.write(file, withInt(bytes, 24, length));
+            IOException e = assertThrows(IOException.class,
+                    () -> MyHashMap.readSnapshot(file, Codec.LONG,
+                                                 Codec.STRING));
+            assertTrue(e.getMessage().startsWith("Corrupt snapshot"));
+        }
+        Files.write(file, bytes);
+        assertEquals(100, MyHashMap.readSnapshot(file, Codec.LONG,
+                                                 Codec.STRING).size());
+    }
+
+    @Test
+    public void test23() {
+        // A whole-table rehash invalidates iterators on either path.
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (boolean parallel : new boolean[] {false, true}) {
+                MyHashMap<Integer, Integer> map = new MyHashMap<>();
+                if (parallel) {
+                    map.setParallelRehash(pool);
+                }
+                for (int i = 0; i < 70000; i++) {
+                    map.put(i, i);
+                }
+                Iterator<hashmap.Entry<Integer, Integer>> it = map.iterator();
+                it.next();
+                map.ensureCapacity(1000000);
+                assertThrows(ConcurrentModificationException.class, it::next);
+                assertEquals(70000, map.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static byte[] withInt(byte[] bytes, int offset, int value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).putInt(offset, value);
+        return copy;
+    }
+
+    private static MyHashMap<Long, String> readSnapshot(byte[] bytes)
+            throws IOException {
+        return MyHashMap.readSnapshot(new ByteArrayInputStream(bytes),
+                                      Codec.LONG, Codec.STRING);
+    }
+
+    private static void assertCorrupt(byte[] bytes) {
+        IOException e = assertThrows(IOException.class,
+                                     () -> readSnapshot(bytes));
+        assertTrue(e.getMessage().startsWith("Corrupt snapshot"));
+    }
+
+    private static byte[] snapshotOf(MyHashMap<Long, String> map)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        map.writeSnapshot(out, Codec.LONG, Codec.STRING);
+        return out.toByteArray();
+    }
 }
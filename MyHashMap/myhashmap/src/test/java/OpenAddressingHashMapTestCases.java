@@ -0,0 +1,156 @@
+/**
+ * Test cases for OpenAddressingHashMap. The first five tests mirror
+ * MyHashMapTestCases so the open addressing map can be checked as a drop-in
+ * replacement for MyHashMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import hashmap.Entry;
+import hashmap.MyMap;
+import hashmap.OpenAddressingHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpenAddressingHashMapTestCases {
+
+    @Test
+    public void test01() {
+        MyMap<String, Integer> map = new OpenAddressingHashMap<>();
+        assertEquals(0, map.size());
+        assertEquals(true, map.isEmpty());
+        Integer returnVal = map.put("ten", 10);
+        assertEquals(null, returnVal);
+        assertEquals(1, map.size());
+        assertEquals(false, map.isEmpty());
+        returnVal = map.put("ten", 10);
+        assertEquals(10, returnVal);
+        assertEquals(1, map.size());
+        assertEquals(false, map.isEmpty());
+    }
+
+    @Test
+    public void test02() {
+        MyMap<String, Integer> map = new OpenAddressingHashMap<>();
+        assertEquals(null, map.get("ten"));
+        assertEquals(null, map.put("ten", 10));
+        assertEquals(10, map.get("ten"));
+        assertEquals(1, map.size());
+        assertEquals(false, map.isEmpty());
+    }
+
+    @Test
+    public void test03() {
+        OpenAddressingHashMap<String, Integer> map =
+                new OpenAddressingHashMap<>();
+        for (int i = 1; i <= 1000; i++) {
+            map.put(String.valueOf(i), i);
+        }
+        for (int i = 1000; i >= 1; i--) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+        assertEquals(1000, map.size());
+        assertEquals(2048, map.getTableSize());
+    }
+
+    @Test
+    public void test04() {
+        OpenAddressingHashMap<String, Integer> map =
+                new OpenAddressingHashMap<>();
+        for (int i = 1; i <= 10000; i++) {
+            map.put(String.valueOf(i), i - 1);
+        }
+        assertEquals(10000, map.size());
+        assertEquals(16384, map.getTableSize());
+        for (int i = 1; i <= 10000; i++) {
+            assertEquals(i - 1, map.put(String.valueOf(i), i));
+        }
+        for (int i = 10000; i >= 1; i--) {
+            assertEquals(i, map.get(String.valueOf(i)));
+        }
+        assertEquals(10000, map.size());
+        assertEquals(0.6103515625, map.getLoadFactor(), 1e-7);
+        assertEquals(8, map.computeMaxChainLength());
+    }
+
+    @Test
+    public void test05() {
+        OpenAddressingHashMap<String, Integer> map =
+                new OpenAddressingHashMap<>();
+        for (int i = 1; i <= 300000; i++) {
+            map.put(String.valueOf(i), i - 1);
+        }
+        assertEquals(300000, map.size());
+        assertEquals(524288, map.getTableSize());
+        assertEquals(0.57220458984375, map.getLoadFactor(), 1e-7);
+        assertEquals(11, map.computeMaxChainLength());
+        for (int i = 300000; i >= 1; i--) {
+            assertEquals(i - 1, map.get(String.valueOf(i)));
+            assertEquals(i - 1, map.remove(String.valueOf(i)));
+            assertEquals(null, map.remove(String.valueOf(i)));
+            assertEquals(i - 1, map.size());
+        }
+        assertEquals(0, map.size());
+        assertEquals(0.0, map.getLoadFactor(), 1e-7);
+        assertEquals(0, map.computeMaxChainLength());
+    }
+
+    @Test
+    public void testExpectedSizeAvoidsResize() {
+        OpenAddressingHashMap<Integer, Integer> map =
+                new OpenAddressingHashMap<>(100000);
+        int tableSize = map.getTableSize();
+        assertEquals(262144, tableSize);
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(tableSize, map.getTableSize());
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        // "Aa" and "BB" share a hash code, so every concatenation of them
+        // collides as well.
+        String[] keys = new String[64];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                builder.append((i & (1 << bit)) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+        }
+        OpenAddressingHashMap<String, Integer> map =
+                new OpenAddressingHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        assertEquals(64, map.computeMaxChainLength());
+        for (int i = 0; i < keys.length; i += 2) {
+            assertEquals(i, map.remove(keys[i]));
+        }
+        assertEquals(32, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(keys[i]));
+        }
+        assertEquals(32, map.computeMaxChainLength());
+    }
+
+    @Test
+    public void testIterator() {
+        OpenAddressingHashMap<Integer, Integer> map =
+                new OpenAddressingHashMap<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= 500; i++) {
+            map.put(i, i * 2);
+            expected.add("<" + i + ", " + i * 2 + ">");
+        }
+        Set<String> received = new HashSet<>();
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        while (iter.hasNext()) {
+            assertTrue(received.add(iter.next().toString()));
+        }
+        assertEquals(expected, received);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Test cases for the primitive-keyed maps IntIntMyHashMap,
+ * IntObjectMyHashMap, and LongObjectMyHashMap. Random operation sequences are
+ * checked against MyHashMap with boxed keys.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import hashmap.GrowthMode;
+import hashmap.IntIntMyHashMap;
+import hashmap.IntObjectMyHashMap;
+import hashmap.LongObjectMyHashMap;
+import hashmap.MyHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveMyHashMapTestCases {
+
+    @Test
+    public void testIntIntBasics() {
+        IntIntMyHashMap map = new IntIntMyHashMap(0, -1);
+        assertTrue(map.isEmpty());
+        assertEquals(-1, map.get(10));
+        assertEquals(-1, map.put(10, 100));
+        assertEquals(100, map.put(10, 101));
+        assertEquals(-1, map.put(0, 5));
+        assertTrue(map.containsKey(0));
+        assertEquals(5, map.get(0));
+        assertEquals(2, map.size());
+        assertEquals(5, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.remove(0));
+        assertEquals(101, map.remove(10));
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.computeMaxChainLength());
+    }
+
+    @Test
+    public void testIntIntCounters() {
+        IntIntMyHashMap counts = new IntIntMyHashMap();
+        for (int i = 0; i < 100000; i++) {
+            counts.addTo(i % 1000, 1);
+        }
+        assertEquals(1000, counts.size());
+        for (int key = 0; key < 1000; key++) {
+            assertEquals(100, counts.get(key));
+        }
+        assertEquals(2048, counts.getTableSize());
+        assertEquals(1000.0 / 2048, counts.getLoadFactor(), 1e-9);
+        assertTrue(counts.computeMaxChainLength() >= 1);
+    }
+
+    @Test
+    public void testIntIntMatchesMyHashMap() {
+        Random random = new Random(7);
+        IntIntMyHashMap map = new IntIntMyHashMap(0, Integer.MIN_VALUE);
+        MyHashMap<Integer, Integer> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(20000) - 10000;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? Integer.MIN_VALUE : removed,
+                             map.remove(key));
+            } else {
+                int value = random.nextInt();
+                Integer replaced = expected.put(key, value);
+                assertEquals(replaced == null ? Integer.MIN_VALUE : replaced,
+                             map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -10000; key < 10000; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value != null, map.containsKey(key));
+            assertEquals(value == null ? Integer.MIN_VALUE : value,
+                         map.get(key));
+        }
+    }
+
+    @Test
+    public void testIntObjectMatchesMyHashMap() {
+        Random random = new Random(11);
+        IntObjectMyHashMap<String> map = new IntObjectMyHashMap<>();
+        MyHashMap<Integer, String> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(30000) - 15000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = String.valueOf(random.nextInt(1000));
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -15000; key < 15000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    public void testLongObjectMatchesMyHashMap() {
+        Random random = new Random(13);
+        LongObjectMyHashMap<Long> map = new LongObjectMyHashMap<>(1000);
+        assertEquals(2048, map.getTableSize());
+        MyHashMap<Long, Long> expected = new MyHashMap<>(0,
+                GrowthMode.POWER_OF_TWO);
+        long[] keys = new long[5000];
+        for (int i = 0; i < keys.length; i++) {
+            // Even keys differ only in their high 32 bits, which the mix must
+            // still spread across the table.
+            keys[i] = i % 2 == 0 ? (long)i << 32 : -i;
+        }
+        keys[0] = 0;
+        for (int i = 0; i < 100000; i++) {
+            long key = keys[random.nextInt(keys.length)];
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                long value = random.nextLong();
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.get(key) != null, map.containsKey(key));
+        }
+        assertTrue(map.computeMaxChainLength() < 32);
+    }
+}
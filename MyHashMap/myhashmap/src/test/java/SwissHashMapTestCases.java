@@ -0,0 +1,143 @@
+/**
+ * Test cases for SwissHashMap. Random operation sequences, including long
+ * runs of removals that leave tombstones, are checked against
+ * java.util.HashMap.
+ */
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import hashmap.Entry;
+import hashmap.MyMap;
+import hashmap.SwissHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SwissHashMapTestCases {
+
+    @Test
+    public void testBasics() {
+        MyMap<String, Integer> map = new SwissHashMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("ten"));
+        assertNull(map.put("ten", 10));
+        assertEquals(10, map.put("ten", 11));
+        assertEquals(11, map.get("ten"));
+        assertEquals(1, map.size());
+        assertNull(map.remove("eleven"));
+        assertEquals(11, map.remove("ten"));
+        assertNull(map.remove("ten"));
+        assertTrue(map.isEmpty());
+        assertEquals("HashMap is empty.", map.toString());
+        assertThrows(IllegalArgumentException.class,
+                     () -> new SwissHashMap<String, Integer>(-1));
+    }
+
+    @Test
+    public void testTableSize() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>(1000);
+        assertEquals(2048, map.getTableSize());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(2048, map.getTableSize());
+        assertEquals(1000.0 / 2048, map.getLoadFactor(), 1e-9);
+        SwissHashMap<Integer, Integer> growing = new SwissHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            growing.put(i, i);
+            assertTrue(growing.getLoadFactor() <= 0.875);
+        }
+        assertTrue(growing.computeMaxProbeLength() >= 1);
+        assertEquals(0, new SwissHashMap<Integer, Integer>()
+                .computeMaxProbeLength());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        for (int keyRange : new int[] {50, 5000, 200000}) {
+            Random random = new Random(keyRange);
+            SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 300000; i++) {
+                int key = random.nextInt(keyRange);
+                // Phases of mostly removals fill the table with tombstones.
+                boolean removing = (i / 20000) % 2 == 1
+                        ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+                if (removing) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            for (int key = -1; key <= keyRange; key++) {
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+    }
+
+    @Test
+    public void testTombstonesDoNotGrowTable() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>(100);
+        int tableSize = map.getTableSize();
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+            if (i >= 50) {
+                assertEquals(i - 50, map.remove(i - 50));
+            }
+        }
+        assertEquals(50, map.size());
+        assertEquals(tableSize, map.getTableSize());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i >= 99950 ? i : null, map.get(i));
+        }
+    }
+
+    @Test
+    public void testCollidingHashCodes() {
+        SwissHashMap<String, Integer> map = new SwissHashMap<>();
+        // Strings built from "Aa" and "BB" all share one hash code, and so
+        // one tag and one probe sequence.
+        String[] keys = new String[512];
+        for (int i = 0; i < keys.length; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int bit = 0; bit < 9; bit++) {
+                builder.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            keys[i] = builder.toString();
+            map.put(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i += 2) {
+            assertEquals(i, map.remove(keys[i]));
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get(keys[i]));
+        }
+        assertEquals(256, map.size());
+    }
+
+    @Test
+    public void testIterator() {
+        SwissHashMap<Integer, Integer> map = new SwissHashMap<>();
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i <= 500; i++) {
+            map.put(i, i * 2);
+            expected.add("<" + i + ", " + i * 2 + ">");
+        }
+        for (int i = 1; i <= 500; i += 3) {
+            map.remove(i);
+            expected.remove("<" + i + ", " + i * 2 + ">");
+        }
+        Set<String> received = new HashSet<>();
+        Iterator<Entry<Integer, Integer>> iter = map.iterator();
+        while (iter.hasNext()) {
+            assertTrue(received.add(iter.next().toString()));
+        }
+        assertEquals(expected, received);
+        assertEquals(expected.size(), map.toString().split("\n").length);
+    }
+}